@@ -536,6 +536,10 @@ interface JTTree<Tree extends JTTree<Tree>> {
   readonly className: string;
   readonly classSimpleName: string;
   readonly kind: JTKind;
+  /**
+   * Parent tree.
+   * It is not enumerable, so that `{ ...tree }` and `JSON.stringify(tree)` do not walk back up.
+   */
   readonly parentTree: JTTree<?>;
   isActionChange(): boolean;
   isActionIgnore(): boolean;
@@ -543,6 +547,7 @@ interface JTTree<Tree extends JTTree<Tree>> {
   setActionChange(): boolean;
   setActionIgnore(): boolean;
   setActionNoChange(): boolean;
+  snapshot(depth?: number): any;
   toString(): string;
 }
 
@@ -601,6 +606,32 @@ interface JTYield extends JTStatement<JTYield> {
   value: JTExpression<?>;
 }
 
+interface RuntimePool {
+  module: string;
+  runtimes: Array<RuntimePoolRuntime>;
+  size: number;
+}
+
+interface RuntimePoolRuntime {
+  fileCount: number;
+  index: number;
+  taskCount: number;
+  /**
+   * Time spent in the transform in milliseconds
+   */
+  transformTime: number;
+  /**
+   * Time spent in creating the runtime, loading the module and the warm-up in milliseconds
+   */
+  warmUpTime: number;
+}
+
+interface TransformCache {
+  directory: string;
+  hitCount: number;
+  missCount: number;
+}
+
 interface TransformOptions {
   /**
    * Include the AST in the returned object
@@ -608,6 +639,15 @@ interface TransformOptions {
    * Default: `false`
    */
   ast?: boolean | null | undefined;
+  /**
+   * Directory of the incremental transform cache.
+   * The code of an unchanged source is read from the cache
+   * if the plugins, the context and the style are unchanged as well.
+   * It is ignored if `ast`, `diff`, `edits` or `sourceMap` is `true`, `code` is `false`, or `outputDirectory` is set.
+   *
+   * Default: `undefined`
+   */
+  cacheDirectory?: string | null | undefined;
   /**
    * Enable code generation
    *
@@ -615,23 +655,85 @@ interface TransformOptions {
    */
   code?: boolean | null | undefined;
   /**
-   * Context for evaluation
+   * Context for evaluation.
+   * The results of the JaspilerContract condition and instruction scripts are memoized per context object
+   * within a transform, so the scripts are expected to depend on the context only.
+   * Every transform evaluates the scripts again, so the context may be changed between two transforms.
+   * A plugin that changes the context during a transform is expected to call `helpers.clearScriptResults()`.
    *
    * Default: undefined
    */
   context?: object | null | undefined;
+  /**
+   * Enable the unified diff against the original code.
+   * It disables the incremental transform cache.
+   *
+   * Default: `false`
+   */
+  diff?: boolean | null | undefined;
+  /**
+   * Enable the minimal text edits against the original code.
+   * Only the changed nodes are reprinted.
+   * It disables the incremental transform cache.
+   *
+   * Default: `false`
+   */
+  edits?: boolean | null | undefined;
+  /**
+   * What to do when a plugin throws.
+   * `collect` visits all the files and throws the first error at the end.
+   * `failFast` aborts the transform on the first error.
+   * `quarantine` aborts the failing file, reports the error in its result and continues with the rest.
+   *
+   * Default: `collect`
+   */
+  errorMode?: 'collect' | 'failFast' | 'quarantine' | null | undefined;
   /**
    * Specify the file name in source type 'string' mode
    *
    * Default: `undefined`
    */
   fileName?: string | null | undefined;
+  /**
+   * Apply JaspilerContract.Ignore and JaspilerContract.Change in Java
+   * instead of PluginContractIgnore and PluginContractChangeMethod.
+   * Only the condition and instruction scripts are evaluated in V8 with the context,
+   * through the same script cache as the plugins if jaspiler.js is loaded.
+   *
+   * Default: `false`
+   */
+  nativeContracts?: boolean | null | undefined;
+  /**
+   * Directory the code is streamed to line by line instead of being returned in `code`.
+   * A relative source file keeps its directories in the output directory.
+   * It disables the incremental transform cache.
+   *
+   * Default: `undefined`
+   */
+  outputDirectory?: string | null | undefined;
   /**
    * List of plugins to load and use
    *
    * Default: `[]`
    */
   plugins?: TransformOptionsPlugin[] | null | undefined;
+  /**
+   * Pool of runtimes that transforms the sources in parallel in transformBatchSync.
+   * Each runtime loads the plugins from the module
+   * and the plugins in the options are ignored.
+   *
+   * Default: `undefined`
+   */
+  runtimePool?: TransformOptionsRuntimePool | null | undefined;
+  /**
+   * Enable the source map v3 of the code, recorded while the code is generated.
+   * If `outputDirectory` is set, the source map is written next to the output file as `<outputFile>.map`
+   * instead of being returned. The output file has no `//# sourceMappingURL` comment.
+   * It disables the incremental transform cache.
+   *
+   * Default: `false`
+   */
+  sourceMap?: boolean | null | undefined;
   /**
    * Type of the source
    *
@@ -652,72 +754,159 @@ interface TransformOptionsPlugin {
 
 interface TransformOptionsPluginVisitor {
   AnnotatedType(node: JTAnnotatedType, context?: object | null | undefined): void;
+  AnnotatedTypeExit(node: JTAnnotatedType, context?: object | null | undefined): void;
   Annotation(node: JTAnnotation, context?: object | null | undefined): void;
+  AnnotationExit(node: JTAnnotation, context?: object | null | undefined): void;
   ArrayAccess(node: JTArrayAccess, context?: object | null | undefined): void;
+  ArrayAccessExit(node: JTArrayAccess, context?: object | null | undefined): void;
   ArrayType(node: JTArrayType, context?: object | null | undefined): void;
+  ArrayTypeExit(node: JTArrayType, context?: object | null | undefined): void;
   Assert(node: JTAssert, context?: object | null | undefined): void;
+  AssertExit(node: JTAssert, context?: object | null | undefined): void;
   Assignment(node: JTAssign, context?: object | null | undefined): void;
+  AssignmentExit(node: JTAssign, context?: object | null | undefined): void;
   Binary(node: JTBinary, context?: object | null | undefined): void;
+  BinaryExit(node: JTBinary, context?: object | null | undefined): void;
   BindingPattern(node: JTBindingPattern, context?: object | null | undefined): void;
+  BindingPatternExit(node: JTBindingPattern, context?: object | null | undefined): void;
   Block(node: JTBlock, context?: object | null | undefined): void;
+  BlockExit(node: JTBlock, context?: object | null | undefined): void;
   Break(node: JTBreak, context?: object | null | undefined): void;
+  BreakExit(node: JTBreak, context?: object | null | undefined): void;
   Case(node: JTCase, context?: object | null | undefined): void;
+  CaseExit(node: JTCase, context?: object | null | undefined): void;
   Catch(node: JTCatch, context?: object | null | undefined): void;
+  CatchExit(node: JTCatch, context?: object | null | undefined): void;
   Class(node: JTClassDecl, context?: object | null | undefined): void;
+  ClassExit(node: JTClassDecl, context?: object | null | undefined): void;
   CompilationUnit(node: JTCompilationUnit, context?: object | null | undefined): void;
+  CompilationUnitExit(node: JTCompilationUnit, context?: object | null | undefined): void;
   CompoundAssignment(node: JTAssignOp, context?: object | null | undefined): void;
+  CompoundAssignmentExit(node: JTAssignOp, context?: object | null | undefined): void;
   ConditionalExpression(node: JTConditional, context?: object | null | undefined): void;
+  ConditionalExpressionExit(node: JTConditional, context?: object | null | undefined): void;
   Continue(node: JTContinue, context?: object | null | undefined): void;
+  ContinueExit(node: JTContinue, context?: object | null | undefined): void;
   DefaultCaseLabel(node: JTDefaultCaseLabel, context?: object | null | undefined): void;
+  DefaultCaseLabelExit(node: JTDefaultCaseLabel, context?: object | null | undefined): void;
   DoWhileLoop(node: JTDoWhileLoop, context?: object | null | undefined): void;
+  DoWhileLoopExit(node: JTDoWhileLoop, context?: object | null | undefined): void;
   EmptyStatement(node: JTSkip, context?: object | null | undefined): void;
+  EmptyStatementExit(node: JTSkip, context?: object | null | undefined): void;
   EnhancedForLoop(node: JTEnhancedForLoop, context?: object | null | undefined): void;
+  EnhancedForLoopExit(node: JTEnhancedForLoop, context?: object | null | undefined): void;
   Erroneous(node: JTErroneous, context?: object | null | undefined): void;
+  ErroneousExit(node: JTErroneous, context?: object | null | undefined): void;
   Exports(node: JTExports, context?: object | null | undefined): void;
+  ExportsExit(node: JTExports, context?: object | null | undefined): void;
   ExpressionStatement(node: JTExpressionStatement, context?: object | null | undefined): void;
+  ExpressionStatementExit(node: JTExpressionStatement, context?: object | null | undefined): void;
   ForLoop(node: JTForLoop, context?: object | null | undefined): void;
+  ForLoopExit(node: JTForLoop, context?: object | null | undefined): void;
   GuardedPattern(node: JTGuardedPattern, context?: object | null | undefined): void;
+  GuardedPatternExit(node: JTGuardedPattern, context?: object | null | undefined): void;
   Identifier(node: JTIdent, context?: object | null | undefined): void;
+  IdentifierExit(node: JTIdent, context?: object | null | undefined): void;
   If(node: JTIf, context?: object | null | undefined): void;
+  IfExit(node: JTIf, context?: object | null | undefined): void;
   Import(node: JTImport, context?: object | null | undefined): void;
+  ImportExit(node: JTImport, context?: object | null | undefined): void;
   InstanceOf(node: JTInstanceOf, context?: object | null | undefined): void;
+  InstanceOfExit(node: JTInstanceOf, context?: object | null | undefined): void;
   IntersectionType(node: JTTypeIntersection, context?: object | null | undefined): void;
+  IntersectionTypeExit(node: JTTypeIntersection, context?: object | null | undefined): void;
   LabeledStatement(node: JTLabeledStatement, context?: object | null | undefined): void;
+  LabeledStatementExit(node: JTLabeledStatement, context?: object | null | undefined): void;
   LambdaExpression(node: JTLambda, context?: object | null | undefined): void;
+  LambdaExpressionExit(node: JTLambda, context?: object | null | undefined): void;
   Literal(node: JTLiteral, context?: object | null | undefined): void;
+  LiteralExit(node: JTLiteral, context?: object | null | undefined): void;
   MemberReference(node: JTMemberReference, context?: object | null | undefined): void;
+  MemberReferenceExit(node: JTMemberReference, context?: object | null | undefined): void;
   MemberSelect(node: JTFieldAccess, context?: object | null | undefined): void;
+  MemberSelectExit(node: JTFieldAccess, context?: object | null | undefined): void;
   Method(node: JTMethodDecl, context?: object | null | undefined): void;
+  MethodExit(node: JTMethodDecl, context?: object | null | undefined): void;
   MethodInvocation(node: JTMethodInvocation, context?: object | null | undefined): void;
+  MethodInvocationExit(node: JTMethodInvocation, context?: object | null | undefined): void;
   Modifiers(node: JTModifiers, context?: object | null | undefined): void;
+  ModifiersExit(node: JTModifiers, context?: object | null | undefined): void;
   Module(node: JTModuleDecl, context?: object | null | undefined): void;
+  ModuleExit(node: JTModuleDecl, context?: object | null | undefined): void;
   NewArray(node: JTNewArray, context?: object | null | undefined): void;
+  NewArrayExit(node: JTNewArray, context?: object | null | undefined): void;
   NewClass(node: JTNewClass, context?: object | null | undefined): void;
+  NewClassExit(node: JTNewClass, context?: object | null | undefined): void;
   Opens(node: JTOpens, context?: object | null | undefined): void;
+  OpensExit(node: JTOpens, context?: object | null | undefined): void;
   Other(node: JTTree, context?: object | null | undefined): void;
+  OtherExit(node: JTTree, context?: object | null | undefined): void;
   Package(node: JTPackageDecl, context?: object | null | undefined): void;
+  PackageExit(node: JTPackageDecl, context?: object | null | undefined): void;
   ParameterizedType(node: JTTypeApply, context?: object | null | undefined): void;
+  ParameterizedTypeExit(node: JTTypeApply, context?: object | null | undefined): void;
   Parenthesized(node: JTParens, context?: object | null | undefined): void;
+  ParenthesizedExit(node: JTParens, context?: object | null | undefined): void;
   ParenthesizedPattern(node: JTParenthesizedPattern, context?: object | null | undefined): void;
+  ParenthesizedPatternExit(node: JTParenthesizedPattern, context?: object | null | undefined): void;
   PrimitiveType(node: JTPrimitiveType, context?: object | null | undefined): void;
+  PrimitiveTypeExit(node: JTPrimitiveType, context?: object | null | undefined): void;
   Provides(node: JTProvides, context?: object | null | undefined): void;
+  ProvidesExit(node: JTProvides, context?: object | null | undefined): void;
   Requires(node: JTRequires, context?: object | null | undefined): void;
+  RequiresExit(node: JTRequires, context?: object | null | undefined): void;
   Return(node: JTReturn, context?: object | null | undefined): void;
+  ReturnExit(node: JTReturn, context?: object | null | undefined): void;
   Scan(node: JTTree, context?: object | null | undefined): void;
+  ScanExit(node: JTTree, context?: object | null | undefined): void;
   Switch(node: JTSwitch, context?: object | null | undefined): void;
+  SwitchExit(node: JTSwitch, context?: object | null | undefined): void;
   SwitchExpression(node: JTSwitchExpression, context?: object | null | undefined): void;
+  SwitchExpressionExit(node: JTSwitchExpression, context?: object | null | undefined): void;
   Synchronized(node: JTSynchronized, context?: object | null | undefined): void;
+  SynchronizedExit(node: JTSynchronized, context?: object | null | undefined): void;
   Throw(node: JTThrow, context?: object | null | undefined): void;
+  ThrowExit(node: JTThrow, context?: object | null | undefined): void;
   Try(node: JTTry, context?: object | null | undefined): void;
+  TryExit(node: JTTry, context?: object | null | undefined): void;
   TypeCast(node: JTTypeCast, context?: object | null | undefined): void;
+  TypeCastExit(node: JTTypeCast, context?: object | null | undefined): void;
   TypeParameter(node: JTTypeParameter, context?: object | null | undefined): void;
+  TypeParameterExit(node: JTTypeParameter, context?: object | null | undefined): void;
   Unary(node: JTUnary, context?: object | null | undefined): void;
+  UnaryExit(node: JTUnary, context?: object | null | undefined): void;
   UnionType(node: JTTypeUnion, context?: object | null | undefined): void;
+  UnionTypeExit(node: JTTypeUnion, context?: object | null | undefined): void;
   Uses(node: JTUses, context?: object | null | undefined): void;
+  UsesExit(node: JTUses, context?: object | null | undefined): void;
   Variable(node: JTVariableDecl, context?: object | null | undefined): void;
+  VariableExit(node: JTVariableDecl, context?: object | null | undefined): void;
   WhileLoop(node: JTWhileLoop, context?: object | null | undefined): void;
+  WhileLoopExit(node: JTWhileLoop, context?: object | null | undefined): void;
   Wildcard(node: JTWildcard, context?: object | null | undefined): void;
+  WildcardExit(node: JTWildcard, context?: object | null | undefined): void;
   Yield(node: JTYield, context?: object | null | undefined): void;
+  YieldExit(node: JTYield, context?: object | null | undefined): void;
+}
+
+interface TransformOptionsRuntimePool {
+  /**
+   * Path of the module that exports the array of plugins.
+   * The context is passed to the runtimes as JSON, so its functions are dropped.
+   */
+  module: string;
+  /**
+   * Number of the runtimes
+   *
+   * Default: number of the processors
+   */
+  size?: number | null | undefined;
+  /**
+   * Run a dummy transform in each runtime when the pool is created
+   *
+   * Default: `true`
+   */
+  warmUp?: boolean | null | undefined;
 }
 
 interface TransformOptionStyle {
@@ -753,13 +942,67 @@ interface TransformOptionStyle {
   wordWrapColumn?: number | null | undefined;
 }
 
+interface TextEdit {
+  length: number;
+  offset: number;
+  replacement: string;
+}
+
 interface TransformResult {
   ast?: JTCompilationUnit | undefined;
+  cached?: boolean | undefined;
+  /**
+   * Whether the transform changed the compilation unit,
+   * also kept in the cache so that a cached result reports the same verdict
+   */
+  changed?: boolean | undefined;
   code?: string | undefined;
+  /**
+   * Unified diff against the original code
+   */
+  diff?: string | undefined;
+  /**
+   * Text edits against the original code, in the order of the offset
+   */
+  edits?: Array<TextEdit> | undefined;
+  /**
+   * Error of the quarantined file, or of the duplicate source in transformBatchSync
+   */
+  error?: string | undefined;
+  /**
+   * Output file of the code if `outputDirectory` is set
+   */
+  outputFile?: string | undefined;
+  sourceFile?: string | undefined;
+  /**
+   * Source map v3 of the code in JSON
+   */
+  sourceMap?: string | undefined;
+  /**
+   * Source map file next to the output file if `outputDirectory` is set
+   */
+  sourceMapFile?: string | undefined;
+  /**
+   * Transform time of the file in milliseconds
+   */
+  transformTime?: number | undefined;
+}
+
+interface ContractEvaluator {
+  /**
+   * Drop the memoized results. It is called at the beginning of every transform.
+   */
+  clearScriptResults(): void;
+  /**
+   * Evaluate the condition or instruction script in the context.
+   */
+  runScriptInContext(source: string, context?: object | null | undefined): any;
 }
 
 declare namespace jaspiler {
   export const argv: Array<string>;
+  export const runtimePools: Array<RuntimePool>;
+  export const transformCaches: Array<TransformCache>;
 
   export function createCharacter(value: string): JTCharacter;
   export function createFieldAccess(...values: string[]): JTFieldAccess;
@@ -833,5 +1076,11 @@ declare namespace jaspiler {
   export function newWildcard(): JTWildcard;
   export function newYield(): JTYield;
 
+  /**
+   * Called by jaspiler.js to share its script cache with the native contracts.
+   */
+  export function setContractEvaluator(contractEvaluator: ContractEvaluator): void;
+
+  export function transformBatchSync(sources: string | string[], options?: TransformOptions): TransformResult[];
   export function transformSync(source: string, options?: TransformOptions): TransformResult;
 }
@@ -201,23 +201,44 @@ const JTTypeKind = Object.freeze({
   MODULE: 'MODULE',
 });
 
+/*
+ * The compiled scripts are cached by the source in LRU order and shared across the files in a run.
+ * The results are memoized per context object within a transform. Every transform clears the memoized results,
+ * so a context mutated between two transforms is evaluated again. A plugin that mutates the context
+ * during a transform is expected to call clearScriptResults().
+ * The cache is registered to jaspiler so that the native contracts evaluate the scripts through it as well.
+ */
+const scriptCache = {
+  capacity: 1000,
+  hitCount: 0,
+  missCount: 0,
+  resultHitCount: 0,
+  results: new WeakMap(),
+  scripts: new Map(),
+};
+
 function canBeIgnoredByAnnotations(annotations, context) {
   const annotation = findAnnotation(annotations, 'JaspilerContract.Ignore');
   return evaluateAnnotationAttribute(annotation, context, 'condition', true, false);
 }
 
+function clearScriptCache() {
+  scriptCache.hitCount = 0;
+  scriptCache.missCount = 0;
+  scriptCache.resultHitCount = 0;
+  scriptCache.results = new WeakMap();
+  scriptCache.scripts.clear();
+}
+
+function clearScriptResults() {
+  scriptCache.results = new WeakMap();
+}
+
 function evaluateAnnotationAttribute(annotation, context, attributeName, defaultValueForAttributeFound, defaultValueForAttributeNotFound) {
   if (annotation) {
     const attributeValue = getAnnotationAttributeValueByName(annotation, attributeName);
     if (attributeValue && attributeValue.kind == JTKind.STRING_LITERAL) {
-      const script = new vm.Script(attributeValue.value);
-      if (!(context instanceof Object)) {
-        context = {};
-      }
-      if (!vm.isContext(context)) {
-        vm.createContext(context);
-      }
-      return script.runInContext(context);
+      return runScriptInContext(attributeValue.value, context);
     }
     return defaultValueForAttributeFound;
   }
@@ -252,6 +273,62 @@ function getChangeInstructionByAnnotations(annotations, context) {
   return undefined;
 }
 
+function getScript(source) {
+  const scripts = scriptCache.scripts;
+  let script = scripts.get(source);
+  if (script) {
+    // Move the script to the end as the most recently used one.
+    scripts.delete(source);
+    ++scriptCache.hitCount;
+  } else {
+    script = new vm.Script(source);
+    ++scriptCache.missCount;
+    while (scripts.size >= scriptCache.capacity) {
+      scripts.delete(scripts.keys().next().value);
+    }
+  }
+  scripts.set(source, script);
+  return script;
+}
+
+function getScriptCacheStatistics() {
+  return {
+    capacity: scriptCache.capacity,
+    hitCount: scriptCache.hitCount,
+    missCount: scriptCache.missCount,
+    resultHitCount: scriptCache.resultHitCount,
+    size: scriptCache.scripts.size,
+  };
+}
+
+function runScriptInContext(source, context) {
+  if (!(context instanceof Object)) {
+    // The script runs in a new context every time, so the result is not memoized.
+    return getScript(source).runInContext(vm.createContext({}));
+  }
+  if (!vm.isContext(context)) {
+    vm.createContext(context);
+  }
+  let results = scriptCache.results.get(context);
+  if (!results) {
+    results = new Map();
+    scriptCache.results.set(context, results);
+  } else if (results.has(source)) {
+    ++scriptCache.resultHitCount;
+    return results.get(source);
+  }
+  const result = getScript(source).runInContext(context);
+  results.set(source, result);
+  return result;
+}
+
+function setScriptCacheCapacity(capacity) {
+  scriptCache.capacity = Math.max(1, capacity);
+  while (scriptCache.scripts.size > scriptCache.capacity) {
+    scriptCache.scripts.delete(scriptCache.scripts.keys().next().value);
+  }
+}
+
 const PluginContractIgnore = Object.freeze({
   visitor: Object.freeze({
     AnnotatedType(node, context) {
@@ -351,11 +428,21 @@ const PluginContractChangeMethod = Object.freeze({
   }),
 });
 
+jaspiler.setContractEvaluator(Object.freeze({
+  clearScriptResults: clearScriptResults,
+  runScriptInContext: runScriptInContext,
+}));
+
 module.exports = Object.freeze({
   helpers: Object.freeze({
+    clearScriptCache: clearScriptCache,
+    clearScriptResults: clearScriptResults,
     evaluateAnnotationAttribute: evaluateAnnotationAttribute,
     findAnnotation: findAnnotation,
     getAnnotationAttributeValueByName: getAnnotationAttributeValueByName,
+    getScriptCacheStatistics: getScriptCacheStatistics,
+    runScriptInContext: runScriptInContext,
+    setScriptCacheCapacity: setScriptCacheCapacity,
   }),
   JTBodyKind: JTBodyKind,
   JTCaseKind: JTCaseKind,
@@ -17,9 +17,11 @@
 /// <reference types="../jaspiler/index.d.ts"/>
 
 const { assert } = require('chai');
+const fs = require('fs');
+const os = require('os');
 const path = require('path');
 const process = require('process');
-const { JTKind, PluginContractIgnore, PluginContractChangeMethod } = require('../jaspiler/jaspiler');
+const { helpers, JTKind, PluginContractIgnore, PluginContractChangeMethod } = require('../jaspiler/jaspiler');
 
 const workingDirectory = process.cwd();
 const pathMockAllInOnePublicClass = path.join(
@@ -80,6 +82,104 @@ function testAstForString() {
   assert.equal(JTKind.COMPILATION_UNIT, ast.kind);
 }
 
+// Batch
+
+function testBatchForFiles() {
+  const sourceFiles = [pathMockPublicAnnotation, pathMockForScan];
+  const results = jaspiler.transformBatchSync(sourceFiles);
+  assert.isArray(results);
+  assert.equal(2, results.length);
+  results.forEach((result, index) => {
+    assert.equal(sourceFiles[index], result.sourceFile, 'The results should be in the order of the sources');
+    assert.isString(result.code);
+  });
+  assert.include(results[0].code, 'public @interface MockPublicAnnotation {');
+  assert.include(results[1].code, 'public class MockForScan');
+}
+
+function testBatchWithDuplicates() {
+  const sourceFiles = [pathMockPublicAnnotation, pathMockForScan, pathMockPublicAnnotation];
+  const results = jaspiler.transformBatchSync(sourceFiles);
+  assert.equal(3, results.length);
+  assert.include(results[0].code, 'public @interface MockPublicAnnotation {');
+  assert.include(results[1].code, 'public class MockForScan');
+  assert.equal(pathMockPublicAnnotation, results[2].sourceFile);
+  assert.isUndefined(results[2].code);
+  assert.include(results[2].error, 'Duplicate source');
+}
+
+function testBatchWithGlob() {
+  const mockDirectory = path.dirname(pathMockPublicAnnotation);
+  const expectedSourceFiles = [pathMockAllInOnePublicClass, pathMockForScan, pathMockPublicAnnotation];
+  ['*.java', '**/*.java'].forEach(glob => {
+    const results = jaspiler.transformBatchSync(path.join(mockDirectory, glob), { code: false });
+    const sourceFiles = results.map(result => path.resolve(result.sourceFile));
+    expectedSourceFiles.forEach(sourceFile => assert.include(sourceFiles, path.resolve(sourceFile), glob));
+  });
+}
+
+function testBatchForStrings() {
+  const results = jaspiler.transformBatchSync(
+    ['public class A {\n}\n', 'public class B {\n}\n'],
+    { fileName: 'A', sourceType: 'string' });
+  assert.isArray(results);
+  assert.equal(2, results.length);
+  assert.include(results[0].code, 'public class A');
+  assert.include(results[1].code, 'public class B');
+}
+
+function testBatchWithErrorMode() {
+  const sourceFiles = [pathMockPublicAnnotation, pathMockForScan];
+  let classCount = 0;
+  const plugin = {
+    visitor: {
+      Class(node) {
+        classCount++;
+        if (node.simpleName.value == 'MockPublicAnnotation') {
+          throw new Error('Broken plugin');
+        }
+      },
+    },
+  };
+  // Fail fast aborts the transform on the first error.
+  assert.throws(() => jaspiler.transformBatchSync(sourceFiles, {
+    errorMode: 'failFast',
+    plugins: [plugin],
+  }), /Broken plugin/);
+  assert.equal(1, classCount);
+  // Quarantine reports the error in the result of the failing file and continues with the rest.
+  const results = jaspiler.transformBatchSync(sourceFiles, {
+    errorMode: 'quarantine',
+    plugins: [plugin],
+  });
+  assert.equal(2, results.length);
+  assert.include(results[0].error, 'Broken plugin');
+  assert.isUndefined(results[0].code);
+  assert.isNumber(results[0].transformTime);
+  assert.isUndefined(results[1].error);
+  assert.include(results[1].code, 'public class MockForScan');
+  assert.isNumber(results[1].transformTime);
+}
+
+function testBatchWithRuntimePool() {
+  const sourceFiles = [pathMockAllInOnePublicClass, pathMockPublicAnnotation, pathMockForScan];
+  const expectedResults = jaspiler.transformBatchSync(sourceFiles, {
+    plugins: [PluginContractIgnore, PluginContractChangeMethod],
+  });
+  const results = jaspiler.transformBatchSync(sourceFiles, {
+    runtimePool: { module: path.join(workingDirectory, 'plugin_contracts.js'), size: 2 },
+  });
+  assert.equal(3, results.length);
+  results.forEach((result, index) => {
+    assert.equal(sourceFiles[index], result.sourceFile, 'The results should be in the order of the sources');
+    assert.equal(expectedResults[index].code, result.code);
+  });
+  const runtimePools = jaspiler.runtimePools;
+  assert.equal(1, runtimePools.length);
+  assert.equal(2, runtimePools[0].size);
+  assert.equal(3, runtimePools[0].runtimes.reduce((fileCount, runtime) => fileCount + runtime.fileCount, 0));
+}
+
 // Contract.Ignore
 
 function testContractIgnoreCompilationUnit() {
@@ -184,6 +284,96 @@ function testContractChangeMethod() {
   assert.include(result.code, 'public String testString() {\n        return null;\n    }');
 }
 
+function testContractNative() {
+  const sourceFiles = [pathMockAllInOnePublicClass, pathMockPublicAnnotation, pathMockForScan];
+  const context = { options: { enabled: true } };
+  const expectedResults = jaspiler.transformBatchSync(sourceFiles, {
+    context: context,
+    plugins: [PluginContractIgnore, PluginContractChangeMethod],
+  });
+  const results = jaspiler.transformBatchSync(sourceFiles, {
+    context: context,
+    nativeContracts: true,
+  });
+  results.forEach((result, index) => {
+    assert.equal(expectedResults[index].code, result.code);
+  });
+  // The native contracts share the script cache of jaspiler.js.
+  helpers.clearScriptCache();
+  const result = jaspiler.transformSync(
+    `package a.b.c;
+    public class A {
+        @JaspilerContract.Ignore(condition = "options.enabled")
+        private int a1;
+        @JaspilerContract.Ignore(condition = "options.enabled")
+        private int a2;
+        private int b;
+    }
+    `,
+    { context: context, nativeContracts: true, fileName: 'A', sourceType: 'string' });
+  assert.notInclude(result.code, 'private int a1;');
+  assert.notInclude(result.code, 'private int a2;');
+  assert.include(result.code, 'private int b;');
+  const statistics = helpers.getScriptCacheStatistics();
+  assert.equal(1, statistics.missCount);
+  assert.equal(1, statistics.resultHitCount);
+  helpers.clearScriptCache();
+}
+
+function testContractScriptCache() {
+  helpers.clearScriptCache();
+  const context = { hideA: true };
+  const result = jaspiler.transformSync(
+    `package a.b.c;
+    public class A {
+        @JaspilerContract.Ignore(condition = "hideA")
+        private int a1;
+        @JaspilerContract.Ignore(condition = "hideA")
+        private int a2;
+        @JaspilerContract.Ignore(condition = "!hideA")
+        private int b;
+    }
+    `,
+    { plugins: [PluginContractIgnore], context: context, fileName: 'A', sourceType: 'string' });
+  assert.notInclude(result.code, 'private int a1;');
+  assert.notInclude(result.code, 'private int a2;');
+  assert.include(result.code, 'private int b;');
+  // Assert { capacity, hitCount, missCount, resultHitCount, size }
+  const statistics = helpers.getScriptCacheStatistics();
+  assert.equal(2, statistics.missCount);
+  assert.equal(2, statistics.size);
+  assert.isAbove(statistics.hitCount + statistics.resultHitCount, 0);
+  // The memoized results are dropped once the context is changed.
+  context.hideA = false;
+  const resultAfterChange = jaspiler.transformSync(
+    `package a.b.c;
+    public class A {
+        @JaspilerContract.Ignore(condition = "hideA")
+        private int a1;
+        @JaspilerContract.Ignore(condition = "!hideA")
+        private int b;
+    }
+    `,
+    { plugins: [PluginContractIgnore], context: context, fileName: 'A', sourceType: 'string' });
+  assert.include(resultAfterChange.code, 'private int a1;');
+  assert.notInclude(resultAfterChange.code, 'private int b;');
+  // The state that is not in the JSON of the context is evaluated again as well.
+  let hidden = true;
+  const contextWithFunction = { isHidden: () => hidden };
+  const code = `package a.b.c;
+    public class A {
+        @JaspilerContract.Ignore(condition = "isHidden()")
+        private int a1;
+    }
+    `;
+  const options = { plugins: [PluginContractIgnore], context: contextWithFunction, fileName: 'A', sourceType: 'string' };
+  assert.notInclude(jaspiler.transformSync(code, options).code, 'private int a1;');
+  hidden = false;
+  assert.include(jaspiler.transformSync(code, options).code, 'private int a1;');
+  helpers.clearScriptCache();
+  assert.equal(0, helpers.getScriptCacheStatistics().size);
+}
+
 // Package
 
 function testIgnorePackage() {
@@ -357,6 +547,29 @@ function testIdentifier() {
   assert.include(result.code, '@NotInherited');
 }
 
+// Identity
+
+function testIdentity() {
+  let count = 0;
+  jaspiler.transformSync(pathMockPublicAnnotation, {
+    plugins: [{
+      visitor: {
+        Class(node) {
+          assert.strictEqual(node.modifiers, node.modifiers);
+          assert.strictEqual(node.parentTree, node.parentTree);
+          assert.strictEqual(node, node.modifiers.parentTree);
+          ++count;
+        },
+        CompilationUnit(node) {
+          assert.strictEqual(node.package, node.package);
+          assert.strictEqual(node.imports[0], node.imports[0]);
+        },
+      },
+    }],
+  });
+  assert.isAbove(count, 0);
+}
+
 // Import
 
 function testImport() {
@@ -411,6 +624,96 @@ function testVariable() {
   assert.include(result.code, '\n        int cc = 5;\n');
 }
 
+// List
+
+function testLiveList() {
+  const result = jaspiler.transformSync(pathMockPublicAnnotation, {
+    plugins: [{
+      visitor: {
+        Class(node) {
+          const members = node.members;
+          assert.equal(2, members.length);
+          const memberName = members.find(member => member.name.value == 'name');
+          assert.isObject(memberName);
+          // Self assignment keeps the members.
+          node.members = node.members;
+          assert.equal(2, node.members.length);
+          // The mutation goes to the Java list directly.
+          members.splice(members.indexOf(memberName), 1);
+          assert.equal(1, node.members.length);
+          assert.equal('value', node.members[0].name.value);
+        },
+      },
+    }],
+  });
+  assert.notInclude(result.code, 'String name()');
+  assert.include(result.code, 'String[] value()');
+}
+
+// Snapshot
+
+function testSnapshot() {
+  jaspiler.transformSync(pathMockPublicAnnotation, {
+    plugins: [{
+      visitor: {
+        Class(node) {
+          const snapshot = node.snapshot();
+          assert.equal('JTClassDecl', snapshot.classSimpleName);
+          assert.equal(node.simpleName.value, snapshot.simpleName.value);
+          assert.equal(2, snapshot.members.length);
+          assert.equal('value', snapshot.members[1].name.value);
+          assert.notProperty(snapshot, 'parentTree');
+          const shallowSnapshot = node.snapshot(0);
+          assert.equal(2, shallowSnapshot.members.length);
+          assert.isNull(shallowSnapshot.members[0]);
+        },
+      },
+    }],
+  });
+}
+
+// Own Keys
+
+function testOwnKeys() {
+  let visited = false;
+  jaspiler.transformSync(pathMockPublicAnnotation, {
+    plugins: [{
+      visitor: {
+        Class(node) {
+          visited = true;
+          const keys = Object.keys(node);
+          ['className', 'classSimpleName', 'kind', 'members', 'modifiers', 'simpleName', 'isActionChange']
+            .forEach(key => assert.include(keys, key));
+          assert.notInclude(keys, 'parentTree');
+          assert.equal(node.parentTree.kind, Object.getOwnPropertyDescriptor(node, 'parentTree').value.kind);
+          assert.isFalse(Object.getOwnPropertyDescriptor(node, 'parentTree').enumerable);
+          const descriptor = Object.getOwnPropertyDescriptor(node, 'kind');
+          assert.equal(node.kind, descriptor.value);
+          assert.isTrue(descriptor.enumerable);
+          assert.isUndefined(Object.getOwnPropertyDescriptor(node, 'notExisting'));
+          const clone = { ...node };
+          assert.equal(keys.length, Object.keys(clone).length);
+          assert.equal('JTClassDecl', clone.classSimpleName);
+          assert.equal(node.simpleName.value, clone.simpleName.value);
+          const json = JSON.parse(JSON.stringify(node));
+          assert.equal('JTClassDecl', json.classSimpleName);
+          assert.equal(node.simpleName.value, json.simpleName.value);
+          assert.notProperty(json, 'parentTree');
+          const simpleName = node.simpleName;
+          assert.deepEqual(['toString', 'value'], Object.keys(simpleName).sort());
+          assert.equal(simpleName.value, Object.getOwnPropertyDescriptor(simpleName, 'value').value);
+          assert.equal(simpleName.value, { ...simpleName }.value);
+          assert.equal(JSON.stringify({ value: simpleName.value }), JSON.stringify(simpleName));
+          assert.equal(simpleName.value, `${simpleName}`);
+          assert.isUndefined(simpleName[Symbol('Symbol.toPrimitive')]);
+          assert.isUndefined(node[Symbol('Symbol.toPrimitive')]);
+        },
+      },
+    }],
+  });
+  assert.isTrue(visited);
+}
+
 // Method
 
 function testMethod() {
@@ -497,6 +800,35 @@ function testOther() {
 
 // Scan
 
+function testExit() {
+  const events = [];
+  const result = jaspiler.transformSync(pathMockPublicAnnotation, {
+    plugins: [{
+      visitor: {
+        Class(node) {
+          events.push('Class');
+        },
+        ClassExit(node) {
+          events.push('ClassExit');
+          // The members are visited before the exit of the class.
+          if (node.members.every(member => member.isActionIgnore())) {
+            node.setActionIgnore();
+          }
+        },
+        Method(node) {
+          events.push('Method');
+        },
+        MethodExit(node) {
+          events.push('MethodExit');
+          node.setActionIgnore();
+        },
+      },
+    }],
+  });
+  assert.deepEqual(['Class', 'Method', 'MethodExit', 'Method', 'MethodExit', 'ClassExit'], events);
+  assert.notInclude(result.code, '@interface');
+}
+
 function testScan() {
   const classSimpleNameSet = new Set();
   jaspiler.transformSync(pathMockForScan, {
@@ -524,15 +856,183 @@ function testScan() {
     'Unexpected [\'' + unexpectedClassSimpleNames.join('\',\'') + '\']');
 }
 
+// Edits
+
+function testEdits() {
+  const code = 'package a;\npublic class A {\n    void f() {\n        int a = 1;\n    }\n}\n';
+  const result = jaspiler.transformSync(code, {
+    plugins: [{
+      visitor: {
+        Variable(node) {
+          node.name = jaspiler.createName('b');
+        },
+      },
+    }],
+    diff: true,
+    edits: true,
+    fileName: 'A',
+    sourceType: 'string',
+  });
+  assert.isArray(result.edits);
+  assert.equal(1, result.edits.length);
+  const edit = result.edits[0];
+  assert.equal(code.indexOf('int a = 1;'), edit.offset);
+  assert.equal('int a = 1;'.length, edit.length);
+  assert.equal('int b = 1;', edit.replacement);
+  assert.include(result.diff, '\n-        int a = 1;\n+        int b = 1;\n');
+  assert.notInclude(result.diff, 'a//');
+  // The absolute path of the file is not kept in the diff header.
+  const resultForFile = jaspiler.transformSync(pathMockPublicAnnotation, {
+    plugins: [{
+      visitor: {
+        Class(node) {
+          node.simpleName = jaspiler.createName('B');
+        },
+      },
+    }],
+    code: false,
+    diff: true,
+  });
+  const header = resultForFile.diff.split('\n')[0];
+  assert.include(header, 'src/test/java/com/caoccao/jaspiler/mock/MockPublicAnnotation.java');
+  assert.notInclude(header, 'a//');
+}
+
+// Transform Cache
+
+function testTransformCache() {
+  const cacheDirectory = fs.mkdtempSync(path.join(os.tmpdir(), 'jaspiler-'));
+  try {
+    const options = {
+      cacheDirectory: cacheDirectory,
+      plugins: [{ visitor: { Class(node) { } } }],
+    };
+    const result1 = jaspiler.transformSync(pathMockPublicAnnotation, options);
+    assert.isFalse(result1.cached);
+    const result2 = jaspiler.transformSync(pathMockPublicAnnotation, options);
+    assert.isTrue(result2.cached);
+    assert.equal(result1.code, result2.code);
+    assert.isFalse(result1.changed);
+    assert.isFalse(result2.changed);
+  } finally {
+    fs.rmSync(cacheDirectory, { recursive: true, force: true });
+  }
+}
+
+function testTransformCacheWithIdenticalFiles() {
+  const directory = fs.mkdtempSync(path.join(os.tmpdir(), 'jaspiler-'));
+  try {
+    const sourceFiles = ['a', 'b'].map(name => {
+      const sourceDirectory = path.join(directory, name);
+      fs.mkdirSync(sourceDirectory);
+      const sourceFile = path.join(sourceDirectory, 'MockPublicAnnotation.java');
+      fs.copyFileSync(pathMockPublicAnnotation, sourceFile);
+      return sourceFile;
+    });
+    const options = {
+      cacheDirectory: path.join(directory, 'cache'),
+      plugins: [{
+        visitor: {
+          Class(node) {
+            // The output depends on the directory of the source file.
+            const name = path.basename(path.dirname(node.parentTree.sourceFile));
+            node.simpleName = jaspiler.createName('Mock' + name.toUpperCase());
+          },
+        },
+      }],
+    };
+    const [resultA, resultB] = sourceFiles.map(sourceFile => jaspiler.transformSync(sourceFile, options));
+    assert.isFalse(resultA.cached);
+    assert.isFalse(resultB.cached, 'The identical file at another path should not hit the cache');
+    assert.include(resultA.code, 'MockA');
+    assert.include(resultB.code, 'MockB');
+    const resultB2 = jaspiler.transformSync(sourceFiles[1], options);
+    assert.isTrue(resultB2.cached);
+    assert.equal(resultB.code, resultB2.code);
+    assert.isTrue(resultB.changed);
+    assert.isTrue(resultB2.changed, 'The changed verdict should be read from the cache');
+  } finally {
+    fs.rmSync(directory, { recursive: true, force: true });
+  }
+}
+
+// Output Directory
+
+function testOutputDirectory() {
+  const outputDirectory = fs.mkdtempSync(path.join(os.tmpdir(), 'jaspiler-'));
+  try {
+    const expectedResult = jaspiler.transformSync(pathMockAllInOnePublicClass);
+    const result = jaspiler.transformSync(pathMockAllInOnePublicClass, { outputDirectory: outputDirectory });
+    assert.isUndefined(result.code);
+    assert.equal(path.join(outputDirectory, 'MockAllInOnePublicClass.java'), result.outputFile);
+    assert.equal(expectedResult.code, fs.readFileSync(result.outputFile, 'utf8'));
+  } finally {
+    fs.rmSync(outputDirectory, { recursive: true, force: true });
+  }
+}
+
+// Source Map
+
+function testSourceMap() {
+  const code = 'package a;\npublic class A {\n    void f() {\n        int a = 1;\n    }\n}\n';
+  const result = jaspiler.transformSync(code, {
+    plugins: [{
+      visitor: {
+        Variable(node) {
+          node.name = jaspiler.createName('b');
+        },
+      },
+    }],
+    fileName: 'A',
+    sourceMap: true,
+    sourceType: 'string',
+  });
+  assert.include(result.code, 'int b = 1;');
+  assert.isString(result.sourceMap);
+  const sourceMap = JSON.parse(result.sourceMap);
+  assert.equal(3, sourceMap.version);
+  assert.equal(1, sourceMap.sources.length);
+  assert.isNotEmpty(sourceMap.mappings);
+}
+
+function testSourceMapWithOutputDirectory() {
+  const outputDirectory = fs.mkdtempSync(path.join(os.tmpdir(), 'jaspiler-'));
+  try {
+    const expectedResult = jaspiler.transformSync(pathMockAllInOnePublicClass, { sourceMap: true });
+    const result = jaspiler.transformSync(pathMockAllInOnePublicClass, {
+      outputDirectory: outputDirectory,
+      sourceMap: true,
+    });
+    assert.isUndefined(result.sourceMap);
+    assert.equal(result.outputFile + '.map', result.sourceMapFile);
+    assert.notInclude(fs.readFileSync(result.outputFile, 'utf8'), 'sourceMappingURL');
+    const sourceMap = JSON.parse(fs.readFileSync(result.sourceMapFile, 'utf8'));
+    assert.equal(3, sourceMap.version);
+    assert.equal('MockAllInOnePublicClass.java', sourceMap.file);
+    assert.equal(JSON.parse(expectedResult.sourceMap).mappings, sourceMap.mappings);
+  } finally {
+    fs.rmSync(outputDirectory, { recursive: true, force: true });
+  }
+}
+
 // AST
 testAstForFile();
 testAstForString();
+// Batch
+testBatchForFiles();
+testBatchForStrings();
+testBatchWithDuplicates();
+testBatchWithGlob();
+testBatchWithErrorMode();
+testBatchWithRuntimePool();
 // Contract.Ignore
 testContractIgnoreCompilationUnit();
 testContractIgnoreClass();
 testContractIgnoreMethod();
 testContractIgnoreProperty();
 testContractChangeMethod();
+testContractNative();
+testContractScriptCache();
 // Package
 testIgnorePackage();
 testReplacePackage();
@@ -543,10 +1043,18 @@ testImports();
 testClass();
 // Identifier
 testIdentifier();
+// Identity
+testIdentity();
 // Import
 testImport();
 // Variable
 testVariable();
+// List
+testLiveList();
+// Snapshot
+testSnapshot();
+// Own Keys
+testOwnKeys();
 // Method
 testMethod();
 // Block
@@ -555,3 +1063,15 @@ testBlock();
 testOther();
 // Scan
 testScan();
+// Exit
+testExit();
+// Edits
+testEdits();
+// Transform Cache
+testTransformCache();
+testTransformCacheWithIdenticalFiles();
+// Output Directory
+testOutputDirectory();
+// Source Map
+testSourceMap();
+testSourceMapWithOutputDirectory();
@@ -30,9 +30,15 @@ import javax.tools.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,9 +48,23 @@ import java.util.stream.Stream;
  * Limitations:
  * 1. Some comments may be lost due to the technical limitations.
  * Please refer to <a href="https://openjdk.org/groups/compiler/analyzing-doc-comments/analyze-doc-comments.html">Analyzing Documentation Comments</a> for detail.
+ * <p>
+ * Parallel transform:
+ * When the parallelism is greater than 1, the files are partitioned into contiguous chunks
+ * that are transformed by worker threads, each with its own javac task and scanners.
+ * The contexts are returned in the same order as the files were added.
+ * <p>
+ * Streaming transform:
+ * The files are transformed in batches and each transformed compilation unit is passed to a sink in order,
+ * then dropped, so that the memory usage is bounded by the batch size and the queue capacity
+ * instead of the project size.
  */
 public final class JaspilerCompiler extends BaseLoggingObject {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int DEFAULT_BATCH_SIZE = 16;
+    private static final int DEFAULT_QUEUE_CAPACITY = 8;
     private static final int MIN_FILE_SIZE = 10;
+    private static final String URI_SCHEME_FILE = "file";
     private final DiagnosticCollector<JavaFileObject> diagnosticCollector;
     private final List<JaspilerDocContext> docContexts;
     private final JavaCompiler javaCompiler;
@@ -52,6 +72,9 @@ public final class JaspilerCompiler extends BaseLoggingObject {
     private final List<JavaFileObject> javaFileObjects;
     private final List<JaspilerParseContext> parseContexts;
     private final List<JaspilerTransformContext> transformContexts;
+    private int batchSize;
+    private int parallelism;
+    private int queueCapacity;
 
     public JaspilerCompiler() {
         this(ToolProvider.getSystemJavaCompiler());
@@ -59,12 +82,15 @@ public final class JaspilerCompiler extends BaseLoggingObject {
 
     public JaspilerCompiler(JavaCompiler javaCompiler) {
         super();
+        batchSize = DEFAULT_BATCH_SIZE;
         diagnosticCollector = new DiagnosticCollector<>();
         docContexts = new ArrayList<>();
         this.javaCompiler = javaCompiler;
         javaFileObjects = new ArrayList<>();
         javaFileManager = javaCompiler.getStandardFileManager(diagnosticCollector, null, null);
+        parallelism = 1;
         parseContexts = new ArrayList<>();
+        queueCapacity = DEFAULT_QUEUE_CAPACITY;
         transformContexts = new ArrayList<>();
     }
 
@@ -106,14 +132,53 @@ public final class JaspilerCompiler extends BaseLoggingObject {
                 .collect(Collectors.toList());
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
     public List<JaspilerDocContext> getDocContexts() {
         return docContexts;
     }
 
+    public List<JavaFileObject> getJavaFileObjects() {
+        return javaFileObjects;
+    }
+
+    /**
+     * Gets java file objects owned by the given file manager.
+     * The file objects of local files are re-created because
+     * the content cache of the shared file manager is not thread-safe.
+     *
+     * @param javaFileManager the java file manager
+     * @param javaFileObjects the java file objects
+     * @return the java file objects
+     */
+    private List<JavaFileObject> getJavaFileObjects(
+            StandardJavaFileManager javaFileManager,
+            List<JavaFileObject> javaFileObjects) {
+        final List<JavaFileObject> newJavaFileObjects = new ArrayList<>(javaFileObjects.size());
+        for (var javaFileObject : javaFileObjects) {
+            if (URI_SCHEME_FILE.equals(javaFileObject.toUri().getScheme())) {
+                javaFileManager.getJavaFileObjects(Path.of(javaFileObject.toUri())).forEach(newJavaFileObjects::add);
+            } else {
+                newJavaFileObjects.add(javaFileObject);
+            }
+        }
+        return newJavaFileObjects;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
     public List<JaspilerParseContext> getParseContexts() {
         return parseContexts;
     }
 
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
     public List<JaspilerTransformContext> getTransformContexts() {
         return transformContexts;
     }
@@ -134,6 +199,34 @@ public final class JaspilerCompiler extends BaseLoggingObject {
         return this;
     }
 
+    private IOException rethrow(ExecutionException e) {
+        if (e.getCause() instanceof IOException ioException) {
+            return ioException;
+        }
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return new IOException(e.getCause());
+    }
+
+    public JaspilerCompiler setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    public JaspilerCompiler setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    public JaspilerCompiler setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+        return this;
+    }
+
     public <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>,
             DocScanner extends DocTreeScanner<DocScanner, JaspilerDocContext>> JaspilerCompiler transform(
             TransformScanner transformScanner,
@@ -142,22 +235,198 @@ public final class JaspilerCompiler extends BaseLoggingObject {
         transformContexts.clear();
         docContexts.clear();
         if (CollectionUtils.isNotEmpty(javaFileObjects)) {
-            var task = (JavacTask) javaCompiler.getTask(
-                    null, javaFileManager, diagnosticCollector, null, null, javaFileObjects);
-            var trees = Trees.instance(task);
-            var docTrees = DocTrees.instance(task);
-            for (var compilationUnit : task.parse()) {
-                var jtCompilationUnit = new JTCompilationUnit(trees, docTrees, compilationUnit).analyze();
-                var transformContext = new JaspilerTransformContext(jtCompilationUnit);
-                transformContexts.add(transformContext);
-                transformScanner.scan(jtCompilationUnit, transformContext);
-                if (docScanner != null) {
-                    var docContext = new JaspilerDocContext(jtCompilationUnit);
-                    docContexts.add(docContext);
-                    docScanner.scan(jtCompilationUnit.getDocCommentTree(), docContext);
+            transform(
+                    javaFileObjects, javaFileManager, diagnosticCollector,
+                    transformScanner, docScanner,
+                    transformContexts, docContexts);
+        }
+        return this;
+    }
+
+    private <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>,
+            DocScanner extends DocTreeScanner<DocScanner, JaspilerDocContext>> void transform(
+            List<JavaFileObject> javaFileObjects,
+            JavaFileManager javaFileManager,
+            DiagnosticCollector<JavaFileObject> diagnosticCollector,
+            TransformScanner transformScanner,
+            DocScanner docScanner,
+            List<JaspilerTransformContext> transformContexts,
+            List<JaspilerDocContext> docContexts)
+            throws IOException {
+        var task = (JavacTask) javaCompiler.getTask(
+                null, javaFileManager, diagnosticCollector, null, null, javaFileObjects);
+        var trees = Trees.instance(task);
+        var docTrees = DocTrees.instance(task);
+        for (var compilationUnit : task.parse()) {
+            final long startTime = System.nanoTime();
+            var jtCompilationUnit = new JTCompilationUnit(trees, docTrees, compilationUnit).analyze();
+            var transformContext = new JaspilerTransformContext(jtCompilationUnit);
+            transformContexts.add(transformContext);
+            transformScanner.scan(jtCompilationUnit, transformContext);
+            if (docScanner != null) {
+                var docContext = new JaspilerDocContext(jtCompilationUnit);
+                docContexts.add(docContext);
+                docScanner.scan(jtCompilationUnit.getDocCommentTree(), docContext);
+            }
+            transformContext.setTransformTime(System.nanoTime() - startTime);
+        }
+    }
+
+    private <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>,
+            DocScanner extends DocTreeScanner<DocScanner, JaspilerDocContext>> Chunk transform(
+            List<JavaFileObject> chunkJavaFileObjects,
+            Supplier<TransformScanner> transformScannerSupplier,
+            Supplier<DocScanner> docScannerSupplier)
+            throws IOException {
+        var chunk = new Chunk();
+        var chunkDiagnosticCollector = new DiagnosticCollector<JavaFileObject>();
+        try (var chunkJavaFileManager = javaCompiler.getStandardFileManager(chunkDiagnosticCollector, null, null)) {
+            transform(
+                    getJavaFileObjects(chunkJavaFileManager, chunkJavaFileObjects),
+                    chunkJavaFileManager, chunkDiagnosticCollector,
+                    transformScannerSupplier.get(),
+                    docScannerSupplier == null ? null : docScannerSupplier.get(),
+                    chunk.transformContexts, chunk.docContexts);
+            // The original code is read before the file manager of the chunk is closed.
+            chunk.transformContexts.forEach(
+                    transformContext -> transformContext.getCompilationUnitTree().getOriginalCode());
+        }
+        return chunk;
+    }
+
+    /**
+     * Transform the files with a new pair of scanners per worker thread.
+     * It falls back to the sequential transform if the parallelism is 1.
+     *
+     * @param <TransformScanner>       the type of the transform scanner
+     * @param <DocScanner>             the type of the doc scanner
+     * @param transformScannerSupplier the transform scanner supplier
+     * @param docScannerSupplier       the doc scanner supplier, or null
+     * @return the self
+     * @throws IOException the io exception
+     */
+    public <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>,
+            DocScanner extends DocTreeScanner<DocScanner, JaspilerDocContext>> JaspilerCompiler transformInParallel(
+            Supplier<TransformScanner> transformScannerSupplier,
+            Supplier<DocScanner> docScannerSupplier)
+            throws IOException {
+        Objects.requireNonNull(transformScannerSupplier);
+        if (parallelism <= 1 || javaFileObjects.size() <= 1) {
+            return transform(
+                    transformScannerSupplier.get(),
+                    docScannerSupplier == null ? null : docScannerSupplier.get());
+        }
+        transformContexts.clear();
+        docContexts.clear();
+        final int chunkCount = Math.min(javaFileObjects.size(), parallelism * CHUNKS_PER_THREAD);
+        final int threadCount = Math.min(chunkCount, parallelism);
+        final List<Future<Chunk>> futures = new ArrayList<>(chunkCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (int i = 0; i < chunkCount; i++) {
+                final var chunkJavaFileObjects = javaFileObjects.subList(
+                        javaFileObjects.size() * i / chunkCount,
+                        javaFileObjects.size() * (i + 1) / chunkCount);
+                futures.add(executorService.submit(() -> transform(
+                        chunkJavaFileObjects, transformScannerSupplier, docScannerSupplier)));
+            }
+            for (var future : futures) {
+                var chunk = future.get();
+                transformContexts.addAll(chunk.transformContexts);
+                docContexts.addAll(chunk.docContexts);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        return this;
+    }
+
+    /**
+     * Transform the files in batches and pass each compilation unit to the sink in the order
+     * the files were added. Up to the queue capacity batches are transformed ahead of the sink
+     * by the worker threads, and a compilation unit is dropped once the sink returns,
+     * so the transform contexts and doc contexts are left empty.
+     *
+     * @param <TransformScanner>       the type of the transform scanner
+     * @param <DocScanner>             the type of the doc scanner
+     * @param transformScannerSupplier the transform scanner supplier
+     * @param docScannerSupplier       the doc scanner supplier, or null
+     * @param sink                     the sink
+     * @return the self
+     * @throws IOException the io exception
+     */
+    public <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>,
+            DocScanner extends DocTreeScanner<DocScanner, JaspilerDocContext>> JaspilerCompiler transformStreaming(
+            Supplier<TransformScanner> transformScannerSupplier,
+            Supplier<DocScanner> docScannerSupplier,
+            ITransformSink sink)
+            throws IOException {
+        Objects.requireNonNull(transformScannerSupplier);
+        Objects.requireNonNull(sink);
+        transformContexts.clear();
+        docContexts.clear();
+        if (CollectionUtils.isEmpty(javaFileObjects)) {
+            return this;
+        }
+        final int fileCount = javaFileObjects.size();
+        final var futures = new ArrayDeque<Future<Chunk>>(queueCapacity);
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            int fromIndex = 0;
+            while (fromIndex < fileCount || !futures.isEmpty()) {
+                while (fromIndex < fileCount && futures.size() < queueCapacity) {
+                    final var batchJavaFileObjects = javaFileObjects.subList(
+                            fromIndex, Math.min(fileCount, fromIndex + batchSize));
+                    futures.add(executorService.submit(() -> transform(
+                            batchJavaFileObjects, transformScannerSupplier, docScannerSupplier)));
+                    fromIndex += batchJavaFileObjects.size();
+                }
+                var chunk = futures.poll().get();
+                final int length = chunk.transformContexts.size();
+                for (int i = 0; i < length; i++) {
+                    sink.accept(
+                            chunk.transformContexts.get(i),
+                            chunk.docContexts.isEmpty() ? null : chunk.docContexts.get(i));
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        } finally {
+            executorService.shutdownNow();
         }
         return this;
     }
+
+    /**
+     * The interface Transform sink receives the transformed compilation units of the streaming transform.
+     */
+    @FunctionalInterface
+    public interface ITransformSink {
+        /**
+         * Accept a transformed compilation unit.
+         *
+         * @param transformContext the transform context
+         * @param docContext       the doc context, or null if there is no doc scanner
+         * @throws IOException the io exception
+         */
+        void accept(JaspilerTransformContext transformContext, JaspilerDocContext docContext) throws IOException;
+    }
+
+    private static final class Chunk {
+        private final List<JaspilerDocContext> docContexts;
+        private final List<JaspilerTransformContext> transformContexts;
+
+        private Chunk() {
+            docContexts = new ArrayList<>();
+            transformContexts = new ArrayList<>();
+        }
+    }
 }
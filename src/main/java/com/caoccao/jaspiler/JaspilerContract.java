@@ -25,6 +25,7 @@ import java.lang.annotation.RetentionPolicy;
  * @since 0.1.0
  */
 public final class JaspilerContract {
+    public static final String ANNOTATION_CHANGE = "JaspilerContract.Change";
     public static final String ANNOTATION_IGNORE = "JaspilerContract.Ignore";
     public static final String DESCRIPTION = "Jaspiler is a Java to Java transpiler.";
     public static final String NAME = "Jaspiler";
@@ -19,20 +19,49 @@ package com.caoccao.jaspiler;
 import com.caoccao.jaspiler.enums.JaspilerExitCode;
 import com.caoccao.jaspiler.utils.BaseLoggingObject;
 import com.caoccao.jaspiler.v8.V8Jaspiler;
+import com.caoccao.jaspiler.v8.V8JaspilerProxyConverter;
 import com.caoccao.jaspiler.v8.V8PatchedFileExecutor;
 import com.caoccao.javet.exceptions.JavetException;
 import com.caoccao.javet.interop.NodeRuntime;
 import com.caoccao.javet.interop.V8Host;
-import com.caoccao.javet.interop.converters.JavetProxyConverter;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class JaspilerMain extends BaseLoggingObject {
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
     public static void main(String[] args) {
         JaspilerExitCode jaspilerExitCode = new JaspilerMain().execute(args);
         System.exit(jaspilerExitCode.getExitCode());
     }
 
+    /**
+     * Create the Node.js runtime and log the startup time.
+     * The first start in the JVM is cold because it loads the Node.js library, which takes most of the startup.
+     * The later starts are warm because they only create the runtime.
+     * The scripts are not code cached because they compile in well under a millisecond.
+     *
+     * @return the Node.js runtime
+     * @throws JavetException the javet exception
+     */
+    private NodeRuntime createNodeRuntime() throws JavetException {
+        final boolean coldStart = !STARTED.getAndSet(true);
+        final long startTime = System.nanoTime();
+        final V8Host v8Host = V8Host.getNodeInstance();
+        final long libraryTime = System.nanoTime();
+        final NodeRuntime nodeRuntime = v8Host.createV8Runtime();
+        final long runtimeTime = System.nanoTime();
+        logger.info(
+                "Started the Node.js runtime in {} ms ({} start: loaded the library in {} ms, created the runtime in {} ms).",
+                (runtimeTime - startTime) / NANOS_PER_MILLI,
+                coldStart ? "cold" : "warm",
+                (libraryTime - startTime) / NANOS_PER_MILLI,
+                (runtimeTime - libraryTime) / NANOS_PER_MILLI);
+        return nodeRuntime;
+    }
+
     public JaspilerExitCode execute(String[] args) {
         JaspilerExitCode jaspilerExitCode = JaspilerExitCode.NoError;
         if (args.length == 0) {
@@ -48,9 +77,10 @@ public final class JaspilerMain extends BaseLoggingObject {
                 // Covert the file to an absolute file to avoid the impact from the working directory changes.
                 file = file.getAbsoluteFile();
                 logger.info("Executing [{}]...", file.getPath());
-                try (NodeRuntime nodeRuntime = V8Host.getNodeInstance().createV8Runtime()) {
-                    var javetProxyConverter = new JavetProxyConverter();
-                    nodeRuntime.setConverter(javetProxyConverter);
+                final long startTime = System.nanoTime();
+                try (NodeRuntime nodeRuntime = createNodeRuntime()) {
+                    var proxyConverter = new V8JaspilerProxyConverter();
+                    nodeRuntime.setConverter(proxyConverter);
                     try (V8Jaspiler v8Jaspiler = new V8Jaspiler(args, nodeRuntime)) {
                         nodeRuntime.getGlobalObject().set(V8Jaspiler.NAME, v8Jaspiler);
                         var executor = new V8PatchedFileExecutor(nodeRuntime, file);
@@ -67,6 +97,7 @@ public final class JaspilerMain extends BaseLoggingObject {
                     logger.error(JaspilerExitCode.UnknownError.getMessageFormat(), t.getMessage());
                     jaspilerExitCode = JaspilerExitCode.UnknownError;
                 }
+                logger.info("Executed [{}] in {} ms.", file.getPath(), (System.nanoTime() - startTime) / NANOS_PER_MILLI);
             }
         }
         return jaspilerExitCode;
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler;
+
+import com.caoccao.jaspiler.styles.StyleOptions;
+import com.caoccao.jaspiler.utils.BaseLoggingObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Jaspiler transform cache persists the transformed code in a cache directory.
+ * The key is the hash of the source name, the source code, the script key (e.g. the hash of the plugins)
+ * and the style options, so that an unchanged file can skip the parse, transform and serialize entirely.
+ * The source name is part of the key because the plugins may depend on the file name,
+ * so two files with the same content do not share an entry.
+ */
+public final class JaspilerTransformCache extends BaseLoggingObject {
+    private static final String ALGORITHM = "SHA-256";
+    private static final String ENTRY_HEADER = "JTC1";
+    private static final String ENTRY_SUFFIX = ".cache";
+    private static final char SEPARATOR = '\0';
+    private final Path directory;
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+    private final Map<Path, ModuleHash> moduleHashMap;
+
+    public JaspilerTransformCache(Path directory) {
+        super();
+        this.directory = Objects.requireNonNull(directory).toAbsolutePath().normalize();
+        hitCount = new AtomicLong();
+        missCount = new AtomicLong();
+        moduleHashMap = new ConcurrentHashMap<>();
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compute the key of a source.
+     *
+     * @param sourceName   the normalized absolute path of a file, or the file name of a string source
+     * @param code         the source code
+     * @param scriptKey    the script key
+     * @param styleOptions the style options
+     * @return the key
+     */
+    public String computeKey(String sourceName, String code, String scriptKey, StyleOptions styleOptions) {
+        final MessageDigest messageDigest = createMessageDigest();
+        final var stringBuilder = new StringBuilder();
+        stringBuilder.append(ENTRY_HEADER).append(SEPARATOR);
+        stringBuilder.append(Objects.requireNonNullElse(sourceName, "")).append(SEPARATOR);
+        stringBuilder.append(Objects.requireNonNull(code)).append(SEPARATOR);
+        stringBuilder.append(Objects.requireNonNullElse(scriptKey, "")).append(SEPARATOR);
+        stringBuilder.append(styleOptions.getContinuationIndentSize()).append(SEPARATOR);
+        stringBuilder.append(styleOptions.getIndentSize()).append(SEPARATOR);
+        stringBuilder.append(styleOptions.isPreserveCopyrights()).append(SEPARATOR);
+        stringBuilder.append(styleOptions.getWordWrapColumn());
+        return HexFormat.of().formatHex(messageDigest.digest(stringBuilder.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Compute the module key from the Jaspiler version and the content of the script and module files,
+     * so that a change to a helper or to the closure state of the plugins invalidates the cache.
+     * The hash of a file is reused until its size or last modified time changes.
+     *
+     * @param paths the paths of the script and module files, the missing ones are skipped
+     * @return the module key
+     * @throws IOException the io exception
+     */
+    public String computeModuleKey(Collection<Path> paths) throws IOException {
+        final MessageDigest messageDigest = createMessageDigest();
+        messageDigest.update(JaspilerContract.VERSION.getBytes(StandardCharsets.UTF_8));
+        for (Path path : new TreeSet<>(Objects.requireNonNull(paths))) {
+            final Path absolutePath = path.toAbsolutePath().normalize();
+            if (!Files.isRegularFile(absolutePath)) {
+                continue;
+            }
+            final FileTime lastModifiedTime = Files.getLastModifiedTime(absolutePath);
+            final long size = Files.size(absolutePath);
+            ModuleHash moduleHash = moduleHashMap.get(absolutePath);
+            if (moduleHash == null
+                    || moduleHash.size() != size
+                    || !moduleHash.lastModifiedTime().equals(lastModifiedTime)) {
+                moduleHash = new ModuleHash(
+                        createMessageDigest().digest(Files.readAllBytes(absolutePath)), lastModifiedTime, size);
+                moduleHashMap.put(absolutePath, moduleHash);
+            }
+            messageDigest.update((byte) SEPARATOR);
+            messageDigest.update(absolutePath.toString().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) SEPARATOR);
+            messageDigest.update(moduleHash.hash());
+        }
+        return HexFormat.of().formatHex(messageDigest.digest());
+    }
+
+    public Entry get(String key) {
+        Path path = getPath(key);
+        if (Files.isRegularFile(path)) {
+            try {
+                String content = Files.readString(path, StandardCharsets.UTF_8);
+                int index = content.indexOf('\n');
+                String[] headers = index < 0 ? new String[0] : content.substring(0, index).split(" ");
+                if (headers.length == 3 && ENTRY_HEADER.equals(headers[0])) {
+                    hitCount.incrementAndGet();
+                    return new Entry(
+                            Boolean.parseBoolean(headers[1]),
+                            Boolean.parseBoolean(headers[2]),
+                            content.substring(index + 1));
+                }
+                logger.warn("Ignored invalid cache entry [{}].", path);
+            } catch (IOException e) {
+                logger.warn("Failed to read cache entry [{}].", path, e);
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private Path getPath(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    public void put(String key, Entry entry) throws IOException {
+        Objects.requireNonNull(entry);
+        Path path = getPath(key);
+        Files.createDirectories(path.getParent());
+        Path tempPath = Files.createTempFile(path.getParent(), key, null);
+        try {
+            Files.writeString(
+                    tempPath,
+                    ENTRY_HEADER + " " + entry.changed() + " " + entry.serialized() + "\n"
+                            + Objects.requireNonNullElse(entry.code(), ""),
+                    StandardCharsets.UTF_8);
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    public JaspilerTransformCache resetCounters() {
+        hitCount.set(0);
+        missCount.set(0);
+        return this;
+    }
+
+    /**
+     * The type Entry.
+     *
+     * @param changed    whether the compilation unit was changed by the transform
+     * @param serialized whether the compilation unit was serialized, false if it was ignored
+     * @param code       the serialized code
+     */
+    public record Entry(boolean changed, boolean serialized, String code) {
+    }
+
+    private record ModuleHash(byte[] hash, FileTime lastModifiedTime, long size) {
+    }
+}
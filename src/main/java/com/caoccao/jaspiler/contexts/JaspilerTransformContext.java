@@ -18,8 +18,38 @@ package com.caoccao.jaspiler.contexts;
 
 import com.caoccao.jaspiler.trees.JTCompilationUnit;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class JaspilerTransformContext extends BaseJaspilerContext<JTCompilationUnit> {
+    protected final List<Throwable> exceptions;
+    protected long transformTime;
+
     public JaspilerTransformContext(JTCompilationUnit compilationUnitTree) {
         super(compilationUnitTree);
+        exceptions = new ArrayList<>();
+        transformTime = 0L;
+    }
+
+    /**
+     * Gets the exceptions raised while this compilation unit was transformed.
+     *
+     * @return the exceptions
+     */
+    public List<Throwable> getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Gets the transform time in nanoseconds.
+     *
+     * @return the transform time
+     */
+    public long getTransformTime() {
+        return transformTime;
+    }
+
+    public void setTransformTime(long transformTime) {
+        this.transformTime = transformTime;
     }
 }
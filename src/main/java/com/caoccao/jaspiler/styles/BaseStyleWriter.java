@@ -18,7 +18,7 @@ package com.caoccao.jaspiler.styles;
 
 import com.caoccao.jaspiler.enums.JavaKeyword;
 import com.caoccao.jaspiler.trees.IJTTree;
-import org.apache.commons.lang3.StringUtils;
+import com.sun.source.tree.Tree;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,17 +27,26 @@ import java.util.Objects;
 @SuppressWarnings("unchecked")
 public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleWriter>>
         implements IStyleWriter<StyleWriter>, Appendable, CharSequence {
+    private static final char[] SPACES = " ".repeat(256).toCharArray();
     protected final List<String> lines;
     protected final StyleOptions options;
     protected int depth;
+    protected int generatedLine;
     protected int lengthOfLines;
+    protected int lineStartIndex;
+    protected int scannedIndex;
+    protected SourceMap sourceMap;
     protected StringBuilder stringBuilder;
 
     public BaseStyleWriter(StyleOptions options) {
         depth = 0;
+        generatedLine = 0;
         lines = new ArrayList<>();
         lengthOfLines = 0;
+        lineStartIndex = 0;
         this.options = options;
+        scannedIndex = 0;
+        sourceMap = null;
         stringBuilder = new StringBuilder();
     }
 
@@ -109,7 +118,7 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
 
     @Override
     public StyleWriter append(IJTTree<?, ?> jtTree) {
-        jtTree.serialize(this);
+        serialize(jtTree);
         return (StyleWriter) this;
     }
 
@@ -124,7 +133,7 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
     }
 
     protected StyleWriter appendContinuationIndent() {
-        return append(StringUtils.repeat(SPACE, options.getContinuationIndentSize()));
+        return appendSpaces(options.getContinuationIndentSize());
     }
 
     @Override
@@ -140,7 +149,7 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
     @Override
     public StyleWriter appendIndent(int depth) {
         if (depth > 0 && options.getIndentSize() > 0) {
-            stringBuilder.append(StringUtils.repeat(SPACE, depth * options.getIndentSize()));
+            appendSpaces(depth * options.getIndentSize());
         }
         return (StyleWriter) this;
     }
@@ -166,10 +175,15 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
 
     @Override
     public StyleWriter appendLineSeparator() {
-        String line = stringBuilder.toString();
-        lines.add(line);
-        lengthOfLines += line.length();
-        stringBuilder = new StringBuilder();
+        if (sourceMap != null) {
+            updateGeneratedPosition();
+            ++generatedLine;
+            lineStartIndex = 0;
+            scannedIndex = 0;
+        }
+        writeLine(stringBuilder);
+        lengthOfLines += stringBuilder.length();
+        stringBuilder.setLength(0);
         return (StyleWriter) this;
     }
 
@@ -212,6 +226,19 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
         return (StyleWriter) this;
     }
 
+    /**
+     * Append the spaces from a shared table, so that the indents do not allocate any string.
+     *
+     * @param count the count of the spaces
+     * @return the self
+     */
+    protected StyleWriter appendSpaces(int count) {
+        for (int remaining = count; remaining > 0; remaining -= SPACES.length) {
+            stringBuilder.append(SPACES, 0, Math.min(remaining, SPACES.length));
+        }
+        return (StyleWriter) this;
+    }
+
     @Override
     public char charAt(int index) {
         return stringBuilder.charAt(index);
@@ -238,11 +265,25 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
         return depth;
     }
 
+    /**
+     * Gets the length of the pending line that is measured for the word wrap.
+     * The original code appended as is stays in the pending line with its line feeds.
+     *
+     * @return the length of the pending line
+     */
+    protected int getLineLength() {
+        return stringBuilder.length();
+    }
+
     @Override
     public StyleOptions getOptions() {
         return options;
     }
 
+    public SourceMap getSourceMap() {
+        return sourceMap;
+    }
+
     @Override
     public int increaseDepth() {
         return ++depth;
@@ -253,6 +294,54 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
         return lengthOfLines + stringBuilder.length();
     }
 
+    /**
+     * Serialize the tree, and record the mapping from the generated position to its original position
+     * if the source map is set. The unchanged tree is appended as is,
+     * so its following lines are mapped line by line as well.
+     *
+     * @param jtTree the tree
+     * @return true : serialized, false : not serialized
+     */
+    public boolean serialize(IJTTree<?, ?> jtTree) {
+        if (sourceMap == null || jtTree.isActionIgnore()) {
+            return jtTree.serialize(this);
+        }
+        final var originalPosition = jtTree.getOriginalPosition();
+        if (!originalPosition.isValid()) {
+            return jtTree.serialize(this);
+        }
+        final boolean unchanged = !jtTree.isActionChange();
+        int originalLine = (int) originalPosition.lineNumber() - 1;
+        int originalColumn = (int) originalPosition.columnOffset();
+        if (unchanged && jtTree.getKind() == Tree.Kind.COMPILATION_UNIT) {
+            // The unchanged compilation unit is appended from the beginning of the original code.
+            originalLine = 0;
+            originalColumn = 0;
+        }
+        updateGeneratedPosition();
+        final int startLine = generatedLine;
+        sourceMap.addMapping(startLine, stringBuilder.length() - lineStartIndex, originalLine, originalColumn);
+        final boolean serialized = jtTree.serialize(this);
+        if (serialized && unchanged) {
+            updateGeneratedPosition();
+            for (int line = startLine + 1; line <= generatedLine; line++) {
+                sourceMap.addMapping(line, 0, originalLine + line - startLine, 0);
+            }
+        }
+        return serialized;
+    }
+
+    /**
+     * Set the source map. It has to be set before anything is appended.
+     *
+     * @param sourceMap the source map
+     * @return the self
+     */
+    public StyleWriter setSourceMap(SourceMap sourceMap) {
+        this.sourceMap = sourceMap;
+        return (StyleWriter) this;
+    }
+
     @Override
     public CharSequence subSequence(int start, int end) {
         return stringBuilder.subSequence(start, end);
@@ -264,4 +353,24 @@ public abstract class BaseStyleWriter<StyleWriter extends BaseStyleWriter<StyleW
         totalLines.add(stringBuilder.toString());
         return String.join(LINE_SEPARATOR, totalLines);
     }
+
+    protected void updateGeneratedPosition() {
+        final int length = stringBuilder.length();
+        for (int i = scannedIndex; i < length; i++) {
+            if (stringBuilder.charAt(i) == '\n') {
+                ++generatedLine;
+                lineStartIndex = i + 1;
+            }
+        }
+        scannedIndex = length;
+    }
+
+    /**
+     * Write a finished line. The line is reused after this call returns.
+     *
+     * @param line the line without the line separator
+     */
+    protected void writeLine(StringBuilder line) {
+        lines.add(line.toString());
+    }
 }
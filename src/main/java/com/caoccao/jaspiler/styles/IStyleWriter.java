@@ -52,6 +52,18 @@ public interface IStyleWriter<StyleWriter extends IStyleWriter<StyleWriter>> {
 
     StyleWriter append(Object object);
 
+    StyleWriter append(CharSequence csq);
+
+    /**
+     * Append a range of the char sequence without copying it to a new string first.
+     *
+     * @param csq   the char sequence
+     * @param start the start index, inclusive
+     * @param end   the end index, exclusive
+     * @return the self
+     */
+    StyleWriter append(CharSequence csq, int start, int end);
+
     StyleWriter append(IJTTree<?, ?> jtTree);
 
     StyleWriter append(char[] str);
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.caoccao.jaspiler.styles;
+
+import com.caoccao.jaspiler.exceptions.JaspilerExecutionException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Objects;
+
+/**
+ * The type Source map encodes the mappings of the source map v3 while the style writer serializes.
+ * Each segment is delta-encoded as base64 VLQ against the previous segment,
+ * so the mappings are built in one pass without holding the segments.
+ */
+public final class SourceMap {
+    public static final String FILE_EXTENSION = ".map";
+    private static final String BASE64_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String PROPERTY_FILE = "file";
+    private static final String PROPERTY_MAPPINGS = "mappings";
+    private static final String PROPERTY_NAMES = "names";
+    private static final String PROPERTY_SOURCES = "sources";
+    private static final String PROPERTY_VERSION = "version";
+    private static final int VERSION = 3;
+    private static final int VLQ_BASE = 32;
+    private static final int VLQ_BASE_MASK = VLQ_BASE - 1;
+    private static final int VLQ_BASE_SHIFT = 5;
+    private static final int VLQ_CONTINUATION_BIT = VLQ_BASE;
+    private final String file;
+    private final StringBuilder mappings;
+    private final String source;
+    private int generatedColumn;
+    private int generatedLine;
+    private int mappingCount;
+    private int originalColumn;
+    private int originalLine;
+    private boolean segmentInLine;
+
+    public SourceMap(String file, String source) {
+        this.file = file;
+        generatedColumn = 0;
+        generatedLine = 0;
+        mappingCount = 0;
+        mappings = new StringBuilder();
+        originalColumn = 0;
+        originalLine = 0;
+        segmentInLine = false;
+        this.source = Objects.requireNonNull(source);
+    }
+
+    static void appendVlq(StringBuilder stringBuilder, int value) {
+        int vlq = value < 0 ? ((-value) << 1) | 1 : value << 1;
+        do {
+            int digit = vlq & VLQ_BASE_MASK;
+            vlq >>>= VLQ_BASE_SHIFT;
+            if (vlq > 0) {
+                digit |= VLQ_CONTINUATION_BIT;
+            }
+            stringBuilder.append(BASE64_DIGITS.charAt(digit));
+        } while (vlq > 0);
+    }
+
+    /**
+     * Add a mapping. All the lines and columns are 0-based.
+     * The mappings must be added in the order of the generated positions,
+     * and a mapping at an already mapped generated position is ignored.
+     *
+     * @param generatedLine   the generated line
+     * @param generatedColumn the generated column
+     * @param originalLine    the original line
+     * @param originalColumn  the original column
+     * @return the self
+     */
+    public SourceMap addMapping(int generatedLine, int generatedColumn, int originalLine, int originalColumn) {
+        if (generatedLine < this.generatedLine
+                || (generatedLine == this.generatedLine && segmentInLine && generatedColumn <= this.generatedColumn)) {
+            return this;
+        }
+        while (this.generatedLine < generatedLine) {
+            mappings.append(';');
+            ++this.generatedLine;
+            this.generatedColumn = 0;
+            segmentInLine = false;
+        }
+        if (segmentInLine) {
+            mappings.append(',');
+        }
+        appendVlq(mappings, generatedColumn - this.generatedColumn);
+        // There is only one source.
+        appendVlq(mappings, 0);
+        appendVlq(mappings, originalLine - this.originalLine);
+        appendVlq(mappings, originalColumn - this.originalColumn);
+        this.generatedColumn = generatedColumn;
+        this.originalColumn = originalColumn;
+        this.originalLine = originalLine;
+        segmentInLine = true;
+        ++mappingCount;
+        return this;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public int getMappingCount() {
+        return mappingCount;
+    }
+
+    public String getMappings() {
+        return mappings.toString();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String toJson() throws JaspilerExecutionException {
+        final var stringWriter = new StringWriter();
+        try (JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(stringWriter)) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeNumberField(PROPERTY_VERSION, VERSION);
+            if (file != null) {
+                jsonGenerator.writeStringField(PROPERTY_FILE, file);
+            }
+            jsonGenerator.writeArrayFieldStart(PROPERTY_SOURCES);
+            jsonGenerator.writeString(source);
+            jsonGenerator.writeEndArray();
+            jsonGenerator.writeArrayFieldStart(PROPERTY_NAMES);
+            jsonGenerator.writeEndArray();
+            jsonGenerator.writeStringField(PROPERTY_MAPPINGS, mappings.toString());
+            jsonGenerator.writeEndObject();
+        } catch (IOException e) {
+            throw new JaspilerExecutionException(e.getMessage(), e);
+        }
+        return stringWriter.toString();
+    }
+}
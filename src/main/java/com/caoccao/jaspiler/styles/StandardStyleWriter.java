@@ -70,7 +70,7 @@ public class StandardStyleWriter extends BaseStyleWriter<StandardStyleWriter> {
 
     @Override
     public StandardStyleWriter appendKeyword(JavaKeyword javaKeyword) {
-        if (stringBuilder.length() + javaKeyword.getLength() >= options.getWordWrapColumn()) {
+        if (getLineLength() + javaKeyword.getLength() >= options.getWordWrapColumn()) {
             appendLineSeparator().appendIndent(getDepth()).appendContinuationIndent();
         }
         return super.appendKeyword(javaKeyword);
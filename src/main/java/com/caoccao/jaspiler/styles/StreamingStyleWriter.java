@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.styles;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The type Streaming style writer writes every finished line to a writer instead of keeping it,
+ * so that a large compilation unit is serialized with the memory of its longest line.
+ * The original code appended as is (e.g. an unchanged tree) is split at its line feeds,
+ * and each of its lines is written with its own line separator.
+ * The pending line is written on close, and {@link #toString()} only returns the pending line.
+ */
+public class StreamingStyleWriter extends StandardStyleWriter implements Closeable, Flushable {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    protected final char[] buffer;
+    protected final Writer writer;
+    protected boolean closed;
+    protected int writtenLength;
+
+    public StreamingStyleWriter(StyleOptions options, Writer writer) {
+        this(options, writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    public StreamingStyleWriter(StyleOptions options, Writer writer, int bufferSize) {
+        super(options);
+        buffer = new char[Math.max(1, bufferSize)];
+        closed = false;
+        this.writer = Objects.requireNonNull(writer);
+        writtenLength = 0;
+    }
+
+    /**
+     * Create a streaming style writer that encodes UTF-8 to the file channel.
+     * The file channel is closed when the style writer is closed.
+     *
+     * @param options     the options
+     * @param fileChannel the file channel
+     * @return the streaming style writer
+     */
+    public static StreamingStyleWriter of(StyleOptions options, FileChannel fileChannel) {
+        return new StreamingStyleWriter(
+                options,
+                Channels.newWriter(Objects.requireNonNull(fileChannel), StandardCharsets.UTF_8.newEncoder(), DEFAULT_BUFFER_SIZE));
+    }
+
+    @Override
+    public StandardStyleWriter append(CharSequence csq) {
+        return csq == null ? super.append(csq) : append(csq, 0, csq.length());
+    }
+
+    @Override
+    public StandardStyleWriter append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return super.append(csq, start, end);
+        }
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            if (csq.charAt(i) == '\n') {
+                super.append(csq, lineStart, i + 1);
+                writePendingLine();
+                lineStart = i + 1;
+            }
+        }
+        return lineStart < end ? super.append(csq, lineStart, end) : this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                write(stringBuilder);
+                lengthOfLines += stringBuilder.length();
+                stringBuilder.setLength(0);
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    protected int getLineLength() {
+        // The written lines of the original code are measured as if they were still pending.
+        return writtenLength + stringBuilder.length();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    protected void write(StringBuilder line) throws IOException {
+        final int length = line.length();
+        for (int start = 0; start < length; start += buffer.length) {
+            final int end = Math.min(length, start + buffer.length);
+            line.getChars(start, end, buffer, 0);
+            writer.write(buffer, 0, end - start);
+        }
+    }
+
+    @Override
+    protected void writeLine(StringBuilder line) {
+        if (closed) {
+            throw new IllegalStateException("Streaming style writer is closed.");
+        }
+        writtenLength = 0;
+        try {
+            write(line);
+            writer.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the pending line that ends with its own line feed, then start a new pending line.
+     */
+    private void writePendingLine() {
+        if (closed) {
+            throw new IllegalStateException("Streaming style writer is closed.");
+        }
+        if (sourceMap != null) {
+            updateGeneratedPosition();
+            lineStartIndex = 0;
+            scannedIndex = 0;
+        }
+        try {
+            write(stringBuilder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lengthOfLines += stringBuilder.length();
+        writtenLength += stringBuilder.length();
+        stringBuilder.setLength(0);
+    }
+}
@@ -25,16 +25,27 @@ public interface IJTAnnotatable {
     String PROPERTY_ANNOTATIONS = "annotations";
 
     default boolean contains(String annotationTypeString) {
-        if (StringUtils.isAllBlank(annotationTypeString)) {
-            return false;
-        }
-        return getAnnotations().stream()
-                .anyMatch(annotation -> annotationTypeString.equals(annotation.getAnnotationType().toString()));
+        return find(annotationTypeString) != null;
     }
 
     default boolean containsIgnore() {
         return contains(JaspilerContract.ANNOTATION_IGNORE);
     }
 
+    default JTAnnotation find(String annotationTypeString) {
+        if (StringUtils.isAllBlank(annotationTypeString)) {
+            return null;
+        }
+        final List<JTAnnotation> annotations = getAnnotations();
+        final int length = annotations.size();
+        for (int i = 0; i < length; i++) {
+            JTAnnotation annotation = annotations.get(i);
+            if (annotation.isAnnotationType(annotationTypeString)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
     List<JTAnnotation> getAnnotations();
 }
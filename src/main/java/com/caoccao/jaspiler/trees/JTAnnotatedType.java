@@ -16,20 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.AnnotatedTypeTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTAnnotatedType
         extends JTExpression<AnnotatedTypeTree, JTAnnotatedType>
         implements AnnotatedTypeTree, IJTAnnotatable {
 
     private static final String PROPERTY_UNDERLYING_TYPE = "underlyingType";
+    private static final JTProxyTable<JTAnnotatedType> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_UNDERLYING_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getUnderlyingType()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.replaceAnnotations(tree.annotations, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_UNDERLYING_TYPE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setUnderlyingType, propertyValue));
+    }
+
     private final List<JTAnnotation> annotations;
     private JTExpression<?, ?> underlyingType;
 
@@ -40,7 +47,7 @@ public final class JTAnnotatedType
 
     JTAnnotatedType(AnnotatedTypeTree annotatedTypeTree, JTTree<?, ?> parentTree) {
         super(annotatedTypeTree, parentTree);
-        annotations = new ArrayList<>();
+        annotations = new JTTreeList<>(this);
         underlyingType = null;
     }
 
@@ -59,12 +66,10 @@ public final class JTAnnotatedType
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        annotations.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(underlyingType).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChildren(annotations, predicate)
+                || matchChild(underlyingType, predicate);
     }
 
     @Override
@@ -78,28 +83,13 @@ public final class JTAnnotatedType
     }
 
     @Override
-    public JTExpression<?, ?> getUnderlyingType() {
-        return underlyingType;
+    JTProxyTable<JTAnnotatedType> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getAnnotations()));
-            registerStringGetter(PROPERTY_UNDERLYING_TYPE, propertyName -> v8Runtime.toV8Value(getUnderlyingType()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATIONS, (propertyName, propertyValue) -> replaceAnnotations(annotations, propertyValue));
-            registerStringSetter(PROPERTY_UNDERLYING_TYPE, (propertyName, propertyValue) -> replaceExpression(this::setUnderlyingType, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getUnderlyingType() {
+        return underlyingType;
     }
 
     public JTAnnotatedType setUnderlyingType(JTExpression<?, ?> underlyingType) {
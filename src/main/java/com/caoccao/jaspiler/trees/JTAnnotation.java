@@ -16,16 +16,13 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.AnnotationTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * The type Jt annotation tree.
@@ -36,6 +33,16 @@ public final class JTAnnotation
         implements AnnotationTree {
     private static final String PROPERTY_ANNOTATION_TYPE = "annotationType";
     private static final String PROPERTY_ARGUMENTS = "arguments";
+    private static final JTProxyTable<JTAnnotation> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATION_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotationType()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getArguments()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATION_TYPE, (tree, propertyName, propertyValue) -> tree.replaceTree(tree::setAnnotationType, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.arguments, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> arguments;
     private JTTree<?, ?> annotationType;
 
@@ -47,7 +54,7 @@ public final class JTAnnotation
     JTAnnotation(AnnotationTree originalTree, JTTree<?, ?> parentTree) {
         super(originalTree, parentTree);
         annotationType = null;
-        arguments = new ArrayList<>();
+        arguments = new JTTreeList<>(this);
     }
 
     @Override
@@ -65,12 +72,10 @@ public final class JTAnnotation
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(annotationType).ifPresent(nodes::add);
-        arguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(annotationType, predicate)
+                || matchChildren(arguments, predicate);
     }
 
     @Override
@@ -83,37 +88,75 @@ public final class JTAnnotation
         return arguments;
     }
 
+    /**
+     * Gets the value of the argument in the form of name = value, or null if the argument is not found.
+     *
+     * @param name the name
+     * @return the value
+     */
+    public JTExpression<?, ?> getArgumentValue(String name) {
+        final int length = arguments.size();
+        for (int i = 0; i < length; i++) {
+            if (arguments.get(i) instanceof JTAssign jtAssign
+                    && jtAssign.getVariable() instanceof JTIdent jtIdent
+                    && jtIdent.getName() != null
+                    && name.equals(jtIdent.getName().getValue())) {
+                return jtAssign.getExpression();
+            }
+        }
+        return null;
+    }
+
     @Override
     public Kind getKind() {
         return Kind.ANNOTATION;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATION_TYPE, propertyName -> v8Runtime.toV8Value(getAnnotationType()));
-            registerStringGetter(PROPERTY_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getArguments()));
+    JTProxyTable<JTAnnotation> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
+    /**
+     * Whether the annotation type is the given type string, e.g. JaspilerContract.Ignore.
+     * The identifiers and field accesses are compared in place without serializing the annotation type.
+     *
+     * @param annotationTypeString the annotation type string
+     * @return true : matched, false : not matched
+     */
+    public boolean isAnnotationType(String annotationTypeString) {
+        if (annotationTypeString == null || annotationType == null) {
+            return false;
+        }
+        if (annotationType instanceof JTIdent || annotationType instanceof JTFieldAccess) {
+            return isAnnotationType(annotationType, annotationTypeString, annotationTypeString.length());
         }
-        return stringGetterMap;
+        return annotationTypeString.equals(annotationType.toString());
     }
 
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATION_TYPE, (propertyName, propertyValue) -> replaceTree(this::setAnnotationType, propertyValue));
-            registerStringSetter(PROPERTY_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(arguments, propertyValue));
+    private static boolean isAnnotationType(JTTree<?, ?> tree, String annotationTypeString, int endIndex) {
+        if (tree instanceof JTIdent jtIdent && jtIdent.getName() != null) {
+            final String name = jtIdent.getName().getValue();
+            return name != null && name.length() == endIndex && annotationTypeString.startsWith(name);
+        }
+        if (tree instanceof JTFieldAccess jtFieldAccess && jtFieldAccess.getIdentifier() != null) {
+            final String identifier = jtFieldAccess.getIdentifier().getValue();
+            final int startIndex = identifier == null ? -1 : endIndex - identifier.length();
+            return startIndex > 0
+                    && annotationTypeString.charAt(startIndex - 1) == '.'
+                    && annotationTypeString.startsWith(identifier, startIndex)
+                    && isAnnotationType(jtFieldAccess.getExpression(), annotationTypeString, startIndex - 1);
         }
-        return stringSetterMap;
+        return false;
     }
 
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
             writer.appendAt().append(annotationType);
-            ForEachUtils.forEach(
-                    arguments.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    arguments,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace(),
                     trees -> writer.appendLeftParenthesis(),
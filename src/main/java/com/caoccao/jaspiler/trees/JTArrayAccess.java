@@ -16,17 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ArrayAccessTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTArrayAccess
         extends JTExpression<ArrayAccessTree, JTArrayAccess>
@@ -34,6 +28,16 @@ public final class JTArrayAccess
 
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_INDEX = "index";
+    private static final JTProxyTable<JTArrayAccess> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_INDEX, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getIndex()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_INDEX, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setIndex, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTExpression<?, ?> index;
 
@@ -62,12 +66,8 @@ public final class JTArrayAccess
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        Optional.ofNullable(index).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(expression, predicate) || matchChild(index, predicate);
     }
 
     @Override
@@ -86,23 +86,8 @@ public final class JTArrayAccess
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_INDEX, propertyName -> v8Runtime.toV8Value(getIndex()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_INDEX, (propertyName, propertyValue) -> replaceExpression(this::setIndex, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTArrayAccess> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTArrayAccess setExpression(JTExpression<?, ?> expression) {
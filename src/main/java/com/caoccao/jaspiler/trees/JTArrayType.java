@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ArrayTypeTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTArrayType
         extends JTExpression<ArrayTypeTree, JTArrayType>
         implements ArrayTypeTree {
     private static final String PROPERTY_TYPE = "type";
+    private static final JTProxyTable<JTArrayType> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getType()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setType, propertyValue));
+    }
+
     private JTExpression<?, ?> type;
 
     public JTArrayType() {
@@ -57,11 +59,8 @@ public final class JTArrayType
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(type).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(type, predicate);
     }
 
     @Override
@@ -70,26 +69,13 @@ public final class JTArrayType
     }
 
     @Override
-    public JTExpression<?, ?> getType() {
-        return type;
-    }
-
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_TYPE, propertyName -> v8Runtime.toV8Value(getType()));
-        }
-        return stringGetterMap;
+    JTProxyTable<JTArrayType> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_TYPE, (propertyName, propertyValue) -> replaceExpression(this::setType, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getType() {
+        return type;
     }
 
     public JTArrayType setType(JTExpression<?, ?> type) {
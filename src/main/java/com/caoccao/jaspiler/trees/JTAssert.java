@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.AssertTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTAssert
         extends JTStatement<AssertTree, JTAssert>
         implements AssertTree {
     private static final String PROPERTY_CONDITION = "condition";
     private static final String PROPERTY_DETAIL = "detail";
+    private static final JTProxyTable<JTAssert> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_CONDITION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCondition()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_DETAIL, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getDetail()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CONDITION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setCondition, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_DETAIL, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setDetail, propertyValue));
+    }
+
     private JTExpression<?, ?> condition;
     private JTExpression<?, ?> detail;
 
@@ -61,12 +65,8 @@ public final class JTAssert
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(condition).ifPresent(nodes::add);
-        Optional.ofNullable(detail).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(condition, predicate) || matchChild(detail, predicate);
     }
 
     @Override
@@ -85,23 +85,8 @@ public final class JTAssert
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_CONDITION, propertyName -> v8Runtime.toV8Value(getCondition()));
-            registerStringGetter(PROPERTY_DETAIL, propertyName -> v8Runtime.toV8Value(getDetail()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_CONDITION, (propertyName, propertyValue) -> replaceExpression(this::setCondition, propertyValue));
-            registerStringSetter(PROPERTY_DETAIL, (propertyName, propertyValue) -> replaceExpression(this::setDetail, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTAssert> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTAssert setCondition(JTExpression<?, ?> condition) {
@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.AssignmentTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTAssign
         extends JTExpression<AssignmentTree, JTAssign>
         implements AssignmentTree {
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_VARIABLE = "variable";
+    private static final JTProxyTable<JTAssign> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_VARIABLE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getVariable()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_VARIABLE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setVariable, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTExpression<?, ?> variable;
 
@@ -61,12 +65,8 @@ public final class JTAssign
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(variable).ifPresent(nodes::add);
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(variable, predicate) || matchChild(expression, predicate);
     }
 
     @Override
@@ -80,28 +80,13 @@ public final class JTAssign
     }
 
     @Override
-    public JTExpression<?, ?> getVariable() {
-        return variable;
+    JTProxyTable<JTAssign> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_VARIABLE, propertyName -> v8Runtime.toV8Value(getVariable()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_VARIABLE, (propertyName, propertyValue) -> replaceExpression(this::setVariable, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getVariable() {
+        return variable;
     }
 
     public JTAssign setExpression(JTExpression<?, ?> expression) {
@@ -16,18 +16,12 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.exceptions.JaspilerNotSupportedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.CompoundAssignmentTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTAssignOp
         extends JTOperatorExpression<CompoundAssignmentTree, JTAssignOp>
@@ -35,6 +29,17 @@ public final class JTAssignOp
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_KIND = "kind";
     private static final String PROPERTY_VARIABLE = "variable";
+    private static final JTProxyTable<JTAssignOp> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_VARIABLE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getVariable()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_KIND, (tree, propertyName, propertyValue) -> tree.replaceKind(tree::setKind, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_VARIABLE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setVariable, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private Kind kind;
     private JTExpression<?, ?> variable;
@@ -66,11 +71,8 @@ public final class JTAssignOp
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(variable).ifPresent(nodes::add);
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(variable, predicate) || matchChild(expression, predicate);
     }
 
     @Override
@@ -84,29 +86,13 @@ public final class JTAssignOp
     }
 
     @Override
-    public JTExpression<?, ?> getVariable() {
-        return variable;
+    JTProxyTable<JTAssignOp> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_VARIABLE, propertyName -> v8Runtime.toV8Value(getVariable()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_KIND, (propertyName, propertyValue) -> replaceKind(this::setKind, propertyValue));
-            registerStringSetter(PROPERTY_VARIABLE, (propertyName, propertyValue) -> replaceExpression(this::setVariable, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getVariable() {
+        return variable;
     }
 
     public JTAssignOp setExpression(JTExpression<?, ?> expression) {
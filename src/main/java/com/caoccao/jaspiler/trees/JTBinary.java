@@ -16,18 +16,12 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.exceptions.JaspilerNotSupportedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.BinaryTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTBinary
         extends JTOperatorExpression<BinaryTree, JTBinary>
@@ -35,6 +29,17 @@ public final class JTBinary
     private static final String PROPERTY_KIND = "kind";
     private static final String PROPERTY_LEFT_OPERAND = "leftOperand";
     private static final String PROPERTY_RIGHT_OPERAND = "rightOperand";
+    private static final JTProxyTable<JTBinary> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_LEFT_OPERAND, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getLeftOperand()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_RIGHT_OPERAND, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getRightOperand()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_LEFT_OPERAND, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setLeftOperand, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_KIND, (tree, propertyName, propertyValue) -> tree.replaceKind(tree::setKind, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_RIGHT_OPERAND, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setRightOperand, propertyValue));
+    }
+
     private Kind kind;
     private JTExpression<?, ?> leftOperand;
     private JTExpression<?, ?> rightOperand;
@@ -66,12 +71,10 @@ public final class JTBinary
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(leftOperand).ifPresent(nodes::add);
-        Optional.ofNullable(rightOperand).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(leftOperand, predicate)
+                || matchChild(rightOperand, predicate);
     }
 
     @Override
@@ -85,29 +88,13 @@ public final class JTBinary
     }
 
     @Override
-    public JTExpression<?, ?> getRightOperand() {
-        return rightOperand;
+    JTProxyTable<JTBinary> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_LEFT_OPERAND, propertyName -> v8Runtime.toV8Value(getLeftOperand()));
-            registerStringGetter(PROPERTY_RIGHT_OPERAND, propertyName -> v8Runtime.toV8Value(getRightOperand()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_LEFT_OPERAND, (propertyName, propertyValue) -> replaceExpression(this::setLeftOperand, propertyValue));
-            registerStringSetter(PROPERTY_KIND, (propertyName, propertyValue) -> replaceKind(this::setKind, propertyValue));
-            registerStringSetter(PROPERTY_RIGHT_OPERAND, (propertyName, propertyValue) -> replaceExpression(this::setRightOperand, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getRightOperand() {
+        return rightOperand;
     }
 
     public JTBinary setKind(Kind kind) {
@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.BindingPatternTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTBindingPattern
         extends JTPattern<BindingPatternTree, JTBindingPattern>
         implements BindingPatternTree {
     private static final String PROPERTY_VARIABLE = "variable";
+    private static final JTProxyTable<JTBindingPattern> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_VARIABLE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getVariable()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_VARIABLE, (tree, propertyName, propertyValue) -> tree.replaceVariableDecl(tree::setVariable, propertyValue));
+    }
+
     private JTVariableDecl variable;
 
     public JTBindingPattern() {
@@ -57,11 +59,8 @@ public final class JTBindingPattern
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(variable).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(variable, predicate);
     }
 
     @Override
@@ -70,26 +69,13 @@ public final class JTBindingPattern
     }
 
     @Override
-    public JTVariableDecl getVariable() {
-        return variable;
-    }
-
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_VARIABLE, propertyName -> v8Runtime.toV8Value(getVariable()));
-        }
-        return stringGetterMap;
+    JTProxyTable<JTBindingPattern> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_VARIABLE, (propertyName, propertyValue) -> replaceVariableDecl(this::setVariable, propertyValue));
-        }
-        return stringSetterMap;
+    public JTVariableDecl getVariable() {
+        return variable;
     }
 
     public JTBindingPattern setVariable(JTVariableDecl variable) {
@@ -17,25 +17,29 @@
 package com.caoccao.jaspiler.trees;
 
 import com.caoccao.jaspiler.enums.JavaKeyword;
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.BlockTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.function.Predicate;
 
 public final class JTBlock
         extends JTStatement<BlockTree, JTBlock>
         implements BlockTree {
     private static final String PROPERTY_STATEMENTS = "statements";
     private static final String PROPERTY_STATIC = "static";
+    private static final JTProxyTable<JTBlock> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATEMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getStatements()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATIC, (tree, propertyName) -> tree.v8Runtime.createV8ValueBoolean(tree.isStatic()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATEMENTS, (tree, propertyName, propertyValue) -> tree.replaceStatements(tree.statements, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATIC, (tree, propertyName, propertyValue) -> tree.replaceBoolean(tree::setStatic, propertyValue));
+    }
+
     private final List<JTStatement<?, ?>> statements;
     private boolean staticBlock;
 
@@ -46,7 +50,7 @@ public final class JTBlock
 
     JTBlock(BlockTree blockTree, JTTree<?, ?> parentTree) {
         super(blockTree, parentTree);
-        statements = new ArrayList<>();
+        statements = new JTTreeList<>(this);
     }
 
     @Override
@@ -64,11 +68,8 @@ public final class JTBlock
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        statements.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(statements, predicate);
     }
 
     @Override
@@ -76,6 +77,11 @@ public final class JTBlock
         return Kind.BLOCK;
     }
 
+    @Override
+    JTProxyTable<JTBlock> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public List<JTStatement<?, ?>> getStatements() {
         return statements;
@@ -86,26 +92,6 @@ public final class JTBlock
         return staticBlock;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_STATEMENTS, propertyName -> v8Runtime.toV8Value(getStatements()));
-            registerStringGetter(PROPERTY_STATIC, propertyName -> v8Runtime.createV8ValueBoolean(isStatic()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_STATEMENTS, (propertyName, propertyValue) -> replaceStatements(statements, propertyValue));
-            registerStringSetter(PROPERTY_STATIC, (propertyName, propertyValue) -> replaceBoolean(this::setStatic, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
@@ -114,8 +100,9 @@ public final class JTBlock
             }
             writer.appendBlockOpen();
             writer.increaseDepth();
-            ForEachUtils.forEach(
-                    statements.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    statements,
+                    JTTree::isSerializable,
                     tree -> writer.appendIndent().append(tree).appendLineSeparator());
             writer.decreaseDepth();
             writer.appendIndent().appendBlockClose();
@@ -16,19 +16,22 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.BreakTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.Map;
 
 public final class JTBreak
         extends JTStatement<BreakTree, JTBreak>
         implements BreakTree {
     private static final String PROPERTY_LABEL = "label";
+    private static final JTProxyTable<JTBreak> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_LABEL, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getLabel()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_LABEL, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setLabel, propertyValue));
+    }
+
     private JTName label;
 
     public JTBreak() {
@@ -57,21 +60,8 @@ public final class JTBreak
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_LABEL, propertyName -> v8Runtime.toV8Value(getLabel()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_LABEL, (propertyName, propertyValue) -> replaceName(this::setLabel, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTBreak> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTBreak setLabel(JTName label) {
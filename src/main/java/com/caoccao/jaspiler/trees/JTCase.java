@@ -16,15 +16,13 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueString;
 import com.sun.source.tree.CaseTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("preview")
@@ -35,6 +33,20 @@ public final class JTCase
     private static final String PROPERTY_CASE_KIND = "caseKind";
     private static final String PROPERTY_LABELS = "labels";
     private static final String PROPERTY_STATEMENTS = "statements";
+    private static final JTProxyTable<JTCase> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BODY, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBody()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_CASE_KIND, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getCaseKind().name()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_LABELS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getLabels()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATEMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getStatements()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BODY, (tree, propertyName, propertyValue) -> tree.replaceTree(tree::setBody, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CASE_KIND, (tree, propertyName, propertyValue) -> tree.setCaseKind(propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_LABELS, (tree, propertyName, propertyValue) -> tree.replaceCaseLabels(tree.labels, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATEMENTS, (tree, propertyName, propertyValue) -> tree.replaceStatements(tree.statements, propertyValue));
+    }
+
     private final List<JTCaseLabel<?, ?>> labels;
     private final List<JTStatement<?, ?>> statements;
     private JTTree<?, ?> body;
@@ -49,8 +61,8 @@ public final class JTCase
         super(caseTree, parentTree);
         body = null;
         caseKind = null;
-        labels = new ArrayList<>();
-        statements = new ArrayList<>();
+        labels = new JTTreeList<>(this);
+        statements = new JTTreeList<>(this);
     }
 
     @Override
@@ -74,15 +86,14 @@ public final class JTCase
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        labels.stream().filter(Objects::nonNull).forEach(nodes::add);
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        if (super.anyChildMatch(predicate) || matchChildren(labels, predicate)) {
+            return true;
+        }
         if (caseKind == CaseTree.CaseKind.RULE) {
-            Optional.ofNullable(body).ifPresent(nodes::add);
-        } else {
-            statements.stream().filter(Objects::nonNull).forEach(nodes::add);
+            return matchChild(body, predicate);
         }
-        return nodes;
+        return matchChildren(statements, predicate);
     }
 
     @Override
@@ -124,32 +135,13 @@ public final class JTCase
     }
 
     @Override
-    public List<JTStatement<?, ?>> getStatements() {
-        return caseKind == CaseKind.STATEMENT ? statements : null;
+    JTProxyTable<JTCase> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BODY, propertyName -> v8Runtime.toV8Value(getBody()));
-            registerStringGetter(PROPERTY_CASE_KIND, propertyName -> v8Runtime.createV8ValueString(getCaseKind().name()));
-            registerStringGetter(PROPERTY_LABELS, propertyName -> v8Runtime.toV8Value(getLabels()));
-            registerStringGetter(PROPERTY_STATEMENTS, propertyName -> v8Runtime.toV8Value(getStatements()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BODY, (propertyName, propertyValue) -> replaceTree(this::setBody, propertyValue));
-            registerStringSetter(PROPERTY_CASE_KIND, (propertyName, propertyValue) -> setCaseKind(propertyValue));
-            registerStringSetter(PROPERTY_LABELS, (propertyName, propertyValue) -> replaceCaseLabels(labels, propertyValue));
-            registerStringSetter(PROPERTY_STATEMENTS, (propertyName, propertyValue) -> replaceStatements(statements, propertyValue));
-        }
-        return stringSetterMap;
+    public List<JTStatement<?, ?>> getStatements() {
+        return caseKind == CaseKind.STATEMENT ? statements : null;
     }
 
     public JTCase setBody(JTTree<?, ?> body) {
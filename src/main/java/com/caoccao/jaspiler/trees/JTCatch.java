@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.CatchTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTCatch
         extends JTTree<CatchTree, JTCatch>
         implements CatchTree {
     private static final String PROPERTY_BLOCK = "block";
     private static final String PROPERTY_PARAMETER = "parameter";
+    private static final JTProxyTable<JTCatch> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BLOCK, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBlock()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PARAMETER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getParameter()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BLOCK, (tree, propertyName, propertyValue) -> tree.replaceBlock(tree::setBlock, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PARAMETER, (tree, propertyName, propertyValue) -> tree.replaceVariableDecl(tree::setParameter, propertyValue));
+    }
+
     private JTBlock block;
     private JTVariableDecl parameter;
 
@@ -63,12 +67,8 @@ public final class JTCatch
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(block).ifPresent(nodes::add);
-        Optional.ofNullable(parameter).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(block, predicate) || matchChild(parameter, predicate);
     }
 
     @Override
@@ -87,23 +87,8 @@ public final class JTCatch
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BLOCK, propertyName -> v8Runtime.toV8Value(getBlock()));
-            registerStringGetter(PROPERTY_PARAMETER, propertyName -> v8Runtime.toV8Value(getParameter()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BLOCK, (propertyName, propertyValue) -> replaceBlock(this::setBlock, propertyValue));
-            registerStringSetter(PROPERTY_PARAMETER, (propertyName, propertyValue) -> replaceVariableDecl(this::setParameter, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTCatch> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTCatch setBlock(JTBlock block) {
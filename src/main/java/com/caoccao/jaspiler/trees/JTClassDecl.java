@@ -17,17 +17,14 @@
 package com.caoccao.jaspiler.trees;
 
 import com.caoccao.jaspiler.enums.JavaKeyword;
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.exceptions.JaspilerNotSupportedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTClassDecl
         extends JTStatement<ClassTree, JTClassDecl>
@@ -40,6 +37,27 @@ public final class JTClassDecl
     private static final String PROPERTY_PERMITS_CLAUSES = "permitsClauses";
     private static final String PROPERTY_SIMPLE_NAME = "simpleName";
     private static final String PROPERTY_TYPE_PARAMETERS = "typeParameters";
+    private static final JTProxyTable<JTClassDecl> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXTENDS_CLAUSE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExtendsClause()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_IMPLEMENTS_CLAUSES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getImplementsClause()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_MEMBERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getMembers()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODIFIERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getModifiers()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PERMITS_CLAUSES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPermitsClause()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_SIMPLE_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getSimpleName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_PARAMETERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeParameters()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXTENDS_CLAUSE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExtendsClause, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_IMPLEMENTS_CLAUSES, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.implementsClauses, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_KIND, (tree, propertyName, propertyValue) -> tree.replaceKind(tree::setKind, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MEMBERS, (tree, propertyName, propertyValue) -> tree.replaceTrees(tree.members, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODIFIERS, (tree, propertyName, propertyValue) -> tree.replaceModifiers(tree::setModifiers, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PERMITS_CLAUSES, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.permitsClauses, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_SIMPLE_NAME, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setSimpleName, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_PARAMETERS, (tree, propertyName, propertyValue) -> tree.replaceTypeParameters(tree.typeParameters, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> implementsClauses;
     private final List<JTTree<?, ?>> members;
     private final List<JTExpression<?, ?>> permitsClauses;
@@ -56,13 +74,16 @@ public final class JTClassDecl
 
     JTClassDecl(ClassTree classTree, JTTree<?, ?> parentTree) {
         super(classTree, parentTree);
+        if (parentTree != null) {
+            parentTree.setClassDeclInDescendants();
+        }
         extendsClause = null;
-        implementsClauses = new ArrayList<>();
-        members = new ArrayList<>();
+        implementsClauses = new JTTreeList<>(this);
+        members = new JTTreeList<>(this);
         modifiers = null;
-        permitsClauses = new ArrayList<>();
+        permitsClauses = new JTTreeList<>(this);
         simpleName = null;
-        typeParameters = new ArrayList<>();
+        typeParameters = new JTTreeList<>(this);
     }
 
     @Override
@@ -90,16 +111,14 @@ public final class JTClassDecl
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(modifiers).ifPresent(nodes::add);
-        typeParameters.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(extendsClause).ifPresent(nodes::add);
-        implementsClauses.stream().filter(Objects::nonNull).forEach(nodes::add);
-        permitsClauses.stream().filter(Objects::nonNull).forEach(nodes::add);
-        members.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(modifiers, predicate)
+                || matchChildren(typeParameters, predicate)
+                || matchChild(extendsClause, predicate)
+                || matchChildren(implementsClauses, predicate)
+                || matchChildren(permitsClauses, predicate)
+                || matchChildren(members, predicate);
     }
 
     @Override
@@ -132,6 +151,11 @@ public final class JTClassDecl
         return permitsClauses;
     }
 
+    @Override
+    JTProxyTable<JTClassDecl> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTName getSimpleName() {
         return simpleName;
@@ -142,44 +166,14 @@ public final class JTClassDecl
         return typeParameters;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXTENDS_CLAUSE, propertyName -> v8Runtime.toV8Value(getExtendsClause()));
-            registerStringGetter(PROPERTY_IMPLEMENTS_CLAUSES, propertyName -> v8Runtime.toV8Value(getImplementsClause()));
-            registerStringGetter(PROPERTY_MEMBERS, propertyName -> v8Runtime.toV8Value(getMembers()));
-            registerStringGetter(PROPERTY_MODIFIERS, propertyName -> v8Runtime.toV8Value(getModifiers()));
-            registerStringGetter(PROPERTY_PERMITS_CLAUSES, propertyName -> v8Runtime.toV8Value(getPermitsClause()));
-            registerStringGetter(PROPERTY_SIMPLE_NAME, propertyName -> v8Runtime.toV8Value(getSimpleName()));
-            registerStringGetter(PROPERTY_TYPE_PARAMETERS, propertyName -> v8Runtime.toV8Value(getTypeParameters()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXTENDS_CLAUSE, (propertyName, propertyValue) -> replaceExpression(this::setExtendsClause, propertyValue));
-            registerStringSetter(PROPERTY_IMPLEMENTS_CLAUSES, (propertyName, propertyValue) -> replaceExpressions(implementsClauses, propertyValue));
-            registerStringSetter(PROPERTY_KIND, (propertyName, propertyValue) -> replaceKind(this::setKind, propertyValue));
-            registerStringSetter(PROPERTY_MEMBERS, (propertyName, propertyValue) -> replaceTrees(members, propertyValue));
-            registerStringSetter(PROPERTY_MODIFIERS, (propertyName, propertyValue) -> replaceModifiers(this::setModifiers, propertyValue));
-            registerStringSetter(PROPERTY_PERMITS_CLAUSES, (propertyName, propertyValue) -> replaceExpressions(permitsClauses, propertyValue));
-            registerStringSetter(PROPERTY_SIMPLE_NAME, (propertyName, propertyValue) -> replaceName(this::setSimpleName, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_PARAMETERS, (propertyName, propertyValue) -> replaceTypeParameters(typeParameters, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
             writer.increaseDepth();
             Optional.ofNullable(modifiers).ifPresent(writer::append);
-            ForEachUtils.forEach(
-                    typeParameters.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    typeParameters,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace(),
                     trees -> writer.appendSpaceIfNeeded().appendLeftArrow(),
@@ -200,19 +194,22 @@ public final class JTClassDecl
             writer.appendSpaceIfNeeded().append(simpleName);
             Optional.ofNullable(extendsClause)
                     .ifPresent(tree -> writer.appendKeyword(JavaKeyword.EXTENDS).appendSpace().append(tree));
-            ForEachUtils.forEach(
-                    implementsClauses.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    implementsClauses,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace(),
                     trees -> writer.appendKeyword(JavaKeyword.IMPLEMENTS).appendSpace());
-            ForEachUtils.forEach(
-                    permitsClauses.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    permitsClauses,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace(),
                     trees -> writer.appendKeyword(JavaKeyword.PERMITS).appendSpace());
             writer.appendSpaceIfNeeded().appendClassOpen();
-            ForEachUtils.forEach(
-                    members.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    members,
+                    JTTree::isSerializable,
                     tree -> writer.appendIndent().append(tree).appendLineSeparator(),
                     tree -> writer.appendLineSeparator());
             writer.decreaseDepth();
@@ -16,12 +16,8 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.doctree.DocCommentTree;
 import com.sun.source.doctree.DocTree;
 import com.sun.source.tree.*;
@@ -33,6 +29,7 @@ import com.sun.source.util.Trees;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * The type Jt compilation unit.
@@ -41,11 +38,27 @@ import java.util.*;
 public final class JTCompilationUnit
         extends JTTree<CompilationUnitTree, JTCompilationUnit>
         implements CompilationUnitTree {
+    private static final int ORIGINAL_POSITIONS_INITIAL_CAPACITY = 256;
     private static final String PROPERTY_IMPORTS = "imports";
     private static final String PROPERTY_MODULE = "module";
     private static final String PROPERTY_PACKAGE = "package";
     private static final String PROPERTY_SOURCE_FILE = "sourceFile";
     private static final String PROPERTY_TYPE_DECLS = "typeDecls";
+    private static final JTProxyTable<JTCompilationUnit> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_IMPORTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getImports()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODULE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getModule()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PACKAGE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPackage()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_SOURCE_FILE, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getSourceFile().getName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_DECLS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeDecls()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_IMPORTS, (tree, propertyName, propertyValue) -> tree.replaceImports(tree.imports, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODULE, (tree, propertyName, propertyValue) -> tree.replaceModuleDecl(tree::setModule, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PACKAGE, (tree, propertyName, propertyValue) -> tree.replacePackageDecl(tree::setPackageTree, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_DECLS, (tree, propertyName, propertyValue) -> tree.replaceTrees(tree.typeDecls, propertyValue));
+    }
+
     private final DocCommentTree docCommentTree;
     private final DocSourcePositions docSourcePositions;
     private final DocTrees docTrees;
@@ -55,6 +68,8 @@ public final class JTCompilationUnit
     private final List<JTTree<?, ?>> typeDecls;
     private JTModuleDecl moduleTree;
     private String originalCode;
+    private int originalPositionCount;
+    private int[] originalPositions;
     private JTPackageDecl packageTree;
     private int unsupportedTreeCount;
 
@@ -66,12 +81,14 @@ public final class JTCompilationUnit
         docCommentTree = Objects.requireNonNull(docTrees).getDocCommentTree(getOriginalTree().getSourceFile());
         docSourcePositions = docTrees.getSourcePositions();
         this.docTrees = docTrees;
-        imports = new ArrayList<>();
+        imports = new JTTreeList<>(this);
         originalCode = null;
+        originalPositionCount = 0;
+        originalPositions = new int[ORIGINAL_POSITIONS_INITIAL_CAPACITY * 2];
         packageTree = null;
         sourcePositions = Objects.requireNonNull(trees).getSourcePositions();
         this.trees = trees;
-        typeDecls = new ArrayList<>();
+        typeDecls = new JTTreeList<>(this);
         unsupportedTreeCount = 0;
     }
 
@@ -80,6 +97,31 @@ public final class JTCompilationUnit
         return visitor.visitCompilationUnit(this, data);
     }
 
+    /**
+     * Add the original position of the tree to the position table as start and end positions.
+     *
+     * @param tree the original tree
+     * @return the position index, or -1 if the tree is null
+     */
+    int addOriginalPosition(Tree tree) {
+        if (tree == null) {
+            return -1;
+        }
+        try {
+            int index = originalPositionCount * 2;
+            if (index == originalPositions.length) {
+                originalPositions = Arrays.copyOf(
+                        originalPositions, Math.max(index * 2, ORIGINAL_POSITIONS_INITIAL_CAPACITY * 2));
+            }
+            originalPositions[index] = (int) sourcePositions.getStartPosition(getOriginalTree(), tree);
+            originalPositions[index + 1] = (int) sourcePositions.getEndPosition(getOriginalTree(), tree);
+            return originalPositionCount++;
+        } catch (Throwable e) {
+            logger.error("Failed to get position in [{}].", getSourceFile().getName());
+            throw e;
+        }
+    }
+
     @Override
     public JTCompilationUnit analyze() {
         super.analyze();
@@ -91,18 +133,17 @@ public final class JTCompilationUnit
                 getOriginalTree().getTypeDecls(), this, typeDecls::add);
         moduleTree = JTTreeFactory.create(
                 getOriginalTree().getModule(), this, JTModuleDecl::new);
+        originalPositions = Arrays.copyOf(originalPositions, originalPositionCount * 2);
         return this;
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(packageTree).ifPresent(nodes::add);
-        imports.stream().filter(Objects::nonNull).forEach(nodes::add);
-        typeDecls.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(moduleTree).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(packageTree, predicate)
+                || matchChildren(imports, predicate)
+                || matchChildren(typeDecls, predicate)
+                || matchChild(moduleTree, predicate);
     }
 
     @Override
@@ -162,6 +203,16 @@ public final class JTCompilationUnit
         }
     }
 
+    JTPosition getOriginalPosition(int positionIndex) {
+        if (positionIndex < 0 || positionIndex >= originalPositionCount) {
+            return JTPosition.Invalid;
+        }
+        return new JTPosition(
+                originalPositions[positionIndex * 2],
+                originalPositions[positionIndex * 2 + 1],
+                getLineMap());
+    }
+
     public JTPosition getOriginalPosition(Tree tree) {
         try {
             return tree == null
@@ -188,6 +239,11 @@ public final class JTCompilationUnit
         return getPackage().getPackageName();
     }
 
+    @Override
+    JTProxyTable<JTCompilationUnit> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JavaFileObject getSourceFile() {
         return getOriginalTree().getSourceFile();
@@ -211,48 +267,26 @@ public final class JTCompilationUnit
         return this;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_IMPORTS, propertyName -> v8Runtime.toV8Value(getImports()));
-            registerStringGetter(PROPERTY_MODULE, propertyName -> v8Runtime.toV8Value(getModule()));
-            registerStringGetter(PROPERTY_PACKAGE, propertyName -> v8Runtime.toV8Value(getPackage()));
-            registerStringGetter(PROPERTY_SOURCE_FILE, propertyName -> v8Runtime.createV8ValueString(getSourceFile().getName()));
-            registerStringGetter(PROPERTY_TYPE_DECLS, propertyName -> v8Runtime.toV8Value(getTypeDecls()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_IMPORTS, (propertyName, propertyValue) -> replaceImports(imports, propertyValue));
-            registerStringSetter(PROPERTY_MODULE, (propertyName, propertyValue) -> replaceModuleDecl(this::setModule, propertyValue));
-            registerStringSetter(PROPERTY_PACKAGE, (propertyName, propertyValue) -> replacePackageDecl(this::setPackageTree, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_DECLS, (propertyName, propertyValue) -> replaceTrees(typeDecls, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
+            final var originalPosition = getOriginalPosition();
             if (writer.getOptions().isPreserveCopyrights()
-                    && getOriginalPosition().isValid()
-                    && getOriginalPosition().startPosition() > 0) {
-                writer.append(getOriginalCode().substring(0, (int) getOriginalPosition().startPosition()));
+                    && originalPosition.isValid()
+                    && originalPosition.startPosition() > 0) {
+                writer.append(getOriginalCode(), 0, (int) originalPosition.startPosition());
             }
             Optional.ofNullable(packageTree).ifPresent(tree -> writer.append(tree).appendLineSeparator());
-            ForEachUtils.forEach(
-                    imports.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    imports,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendLineSeparator(),
                     trees -> writer.appendLineSeparator(),
                     trees -> writer.appendLineSeparator());
-            ForEachUtils.forEach(
-                    typeDecls.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    typeDecls,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendTypeSeparator(),
                     trees -> writer.appendLineSeparator(),
@@ -16,17 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ConditionalExpressionTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTConditional
         extends JTPolyExpression<ConditionalExpressionTree, JTConditional>
@@ -34,6 +28,18 @@ public final class JTConditional
     private static final String PROPERTY_CONDITION = "condition";
     private static final String PROPERTY_FALSE_EXPRESSION = "falseExpression";
     private static final String PROPERTY_TRUE_EXPRESSION = "trueExpression";
+    private static final JTProxyTable<JTConditional> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_CONDITION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCondition()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_FALSE_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getFalseExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TRUE_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTrueExpression()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CONDITION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setCondition, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_FALSE_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setFalseExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TRUE_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setTrueExpression, propertyValue));
+    }
+
     private JTExpression<?, ?> condition;
     private JTExpression<?, ?> falseExpression;
     private JTExpression<?, ?> trueExpression;
@@ -65,13 +71,11 @@ public final class JTConditional
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(condition).ifPresent(nodes::add);
-        Optional.ofNullable(falseExpression).ifPresent(nodes::add);
-        Optional.ofNullable(trueExpression).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(condition, predicate)
+                || matchChild(falseExpression, predicate)
+                || matchChild(trueExpression, predicate);
     }
 
     @Override
@@ -90,30 +94,13 @@ public final class JTConditional
     }
 
     @Override
-    public JTExpression<?, ?> getTrueExpression() {
-        return trueExpression;
+    JTProxyTable<JTConditional> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_CONDITION, propertyName -> v8Runtime.toV8Value(getCondition()));
-            registerStringGetter(PROPERTY_FALSE_EXPRESSION, propertyName -> v8Runtime.toV8Value(getFalseExpression()));
-            registerStringGetter(PROPERTY_TRUE_EXPRESSION, propertyName -> v8Runtime.toV8Value(getTrueExpression()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_CONDITION, (propertyName, propertyValue) -> replaceExpression(this::setCondition, propertyValue));
-            registerStringSetter(PROPERTY_FALSE_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setFalseExpression, propertyValue));
-            registerStringSetter(PROPERTY_TRUE_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setTrueExpression, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getTrueExpression() {
+        return trueExpression;
     }
 
     public JTConditional setCondition(JTExpression<?, ?> condition) {
@@ -16,17 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.EnhancedForLoopTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTEnhancedForLoop
         extends JTStatement<EnhancedForLoopTree, JTEnhancedForLoop>
@@ -34,6 +28,18 @@ public final class JTEnhancedForLoop
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_STATEMENT = "statement";
     private static final String PROPERTY_VARIABLE = "variable";
+    private static final JTProxyTable<JTEnhancedForLoop> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATEMENT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getStatement()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_VARIABLE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getVariable()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATEMENT, (tree, propertyName, propertyValue) -> tree.replaceStatement(tree::setStatement, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_VARIABLE, (tree, propertyName, propertyValue) -> tree.replaceVariableDecl(tree::setVariable, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTStatement<?, ?> statement;
     private JTVariableDecl variable;
@@ -65,12 +71,11 @@ public final class JTEnhancedForLoop
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(variable).ifPresent(nodes::add);
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        Optional.ofNullable(statement).ifPresent(nodes::add);
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(variable, predicate)
+                || matchChild(expression, predicate)
+                || matchChild(statement, predicate);
     }
 
     @Override
@@ -83,6 +88,11 @@ public final class JTEnhancedForLoop
         return Kind.ENHANCED_FOR_LOOP;
     }
 
+    @Override
+    JTProxyTable<JTEnhancedForLoop> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTStatement<?, ?> getStatement() {
         return statement;
@@ -93,28 +103,6 @@ public final class JTEnhancedForLoop
         return variable;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_STATEMENT, propertyName -> v8Runtime.toV8Value(getStatement()));
-            registerStringGetter(PROPERTY_VARIABLE, propertyName -> v8Runtime.toV8Value(getVariable()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_STATEMENT, (propertyName, propertyValue) -> replaceStatement(this::setStatement, propertyValue));
-            registerStringSetter(PROPERTY_VARIABLE, (propertyName, propertyValue) -> replaceVariableDecl(this::setVariable, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     public JTEnhancedForLoop setExpression(JTExpression<?, ?> expression) {
         if (this.expression == expression) {
             return this;
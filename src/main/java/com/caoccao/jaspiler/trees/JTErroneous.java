@@ -16,21 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ErroneousTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Predicate;
 
 public final class JTErroneous
         extends JTExpression<ErroneousTree, JTErroneous>
         implements ErroneousTree {
     private static final String PROPERTY_ERROR_TREES = "errorTrees";
+    private static final JTProxyTable<JTErroneous> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ERROR_TREES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getErrorTrees()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ERROR_TREES, (tree, propertyName, propertyValue) -> tree.replaceTrees(tree.errorTrees, propertyValue));
+    }
+
     private final List<JTTree<?, ?>> errorTrees;
 
     public JTErroneous() {
@@ -40,7 +43,7 @@ public final class JTErroneous
 
     JTErroneous(ErroneousTree erroneousTree, JTTree<?, ?> parentTree) {
         super(erroneousTree, parentTree);
-        errorTrees = new ArrayList<>();
+        errorTrees = new JTTreeList<>(this);
     }
 
     @Override
@@ -57,8 +60,8 @@ public final class JTErroneous
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        return super.getAllNodes();
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(errorTrees, predicate);
     }
 
     @Override
@@ -72,20 +75,7 @@ public final class JTErroneous
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ERROR_TREES, propertyName -> v8Runtime.toV8Value(getErrorTrees()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ERROR_TREES, (propertyName, propertyValue) -> replaceTrees(errorTrees, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTErroneous> getProxyTable() {
+        return PROXY_TABLE;
     }
 }
@@ -16,20 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ExportsTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTExports
         extends JTDirective<ExportsTree, JTExports>
         implements ExportsTree {
     private static final String PROPERTY_MODULE_NAMES = "moduleNames";
     private static final String PROPERTY_PACKAGE_NAME = "packageName";
+    private static final JTProxyTable<JTExports> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODULE_NAMES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getModuleNames()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PACKAGE_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPackageName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODULE_NAMES, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.moduleNames, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PACKAGE_NAME, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setPackageName, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> moduleNames;
     private JTExpression<?, ?> packageName;
 
@@ -40,7 +47,7 @@ public final class JTExports
 
     JTExports(ExportsTree exportsTree, JTTree<?, ?> parentTree) {
         super(exportsTree, parentTree);
-        moduleNames = new ArrayList<>();
+        moduleNames = new JTTreeList<>(this);
         packageName = null;
     }
 
@@ -59,12 +66,10 @@ public final class JTExports
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(packageName).ifPresent(nodes::add);
-        moduleNames.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(packageName, predicate)
+                || matchChildren(moduleNames, predicate);
     }
 
     @Override
@@ -83,23 +88,8 @@ public final class JTExports
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_MODULE_NAMES, propertyName -> v8Runtime.toV8Value(getModuleNames()));
-            registerStringGetter(PROPERTY_PACKAGE_NAME, propertyName -> v8Runtime.toV8Value(getPackageName()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_MODULE_NAMES, (propertyName, propertyValue) -> replaceExpressions(moduleNames, propertyValue));
-            registerStringSetter(PROPERTY_PACKAGE_NAME, (propertyName, propertyValue) -> replaceExpression(this::setPackageName, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTExports> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTExports setPackageName(JTExpression<?, ?> packageName) {
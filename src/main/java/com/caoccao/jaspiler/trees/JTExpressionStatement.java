@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ExpressionStatementTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTExpressionStatement
         extends JTStatement<ExpressionStatementTree, JTExpressionStatement>
         implements ExpressionStatementTree {
     private static final String PROPERTY_EXPRESSION = "expression";
+    private static final JTProxyTable<JTExpressionStatement> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
 
     public JTExpressionStatement() {
@@ -57,11 +59,8 @@ public final class JTExpressionStatement
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(expression, predicate);
     }
 
     @Override
@@ -75,21 +74,8 @@ public final class JTExpressionStatement
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTExpressionStatement> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTExpressionStatement setExpression(JTExpression<?, ?> expression) {
@@ -16,18 +16,12 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.MemberSelectTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * The type Jt field access.
@@ -38,6 +32,16 @@ public final class JTFieldAccess
         implements MemberSelectTree {
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_IDENTIFIER = "identifier";
+    private static final JTProxyTable<JTFieldAccess> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_IDENTIFIER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getIdentifier()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_IDENTIFIER, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setIdentifier, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTName identifier;
 
@@ -66,11 +70,8 @@ public final class JTFieldAccess
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(expression, predicate);
     }
 
     @Override
@@ -89,23 +90,8 @@ public final class JTFieldAccess
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_IDENTIFIER, propertyName -> v8Runtime.toV8Value(getIdentifier()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_IDENTIFIER, (propertyName, propertyValue) -> replaceName(this::setIdentifier, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTFieldAccess> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
@@ -16,14 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ForLoopTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTForLoop
         extends JTStatement<ForLoopTree, JTForLoop>
@@ -32,6 +29,20 @@ public final class JTForLoop
     private static final String PROPERTY_INITIALIZER = "initializer";
     private static final String PROPERTY_STATEMENT = "statement";
     private static final String PROPERTY_UPDATE = "update";
+    private static final JTProxyTable<JTForLoop> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_CONDITION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCondition()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_INITIALIZER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getInitializer()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATEMENT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getStatement()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_UPDATE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getUpdate()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CONDITION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setCondition, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_INITIALIZER, (tree, propertyName, propertyValue) -> tree.replaceStatements(tree.initializer, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATEMENT, (tree, propertyName, propertyValue) -> tree.replaceStatement(tree::setStatement, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_UPDATE, (tree, propertyName, propertyValue) -> tree.replaceExpressionStatements(tree.update, propertyValue));
+    }
+
     private final List<JTStatement<?, ?>> initializer;
     private final List<JTExpressionStatement> update;
     private JTExpression<?, ?> condition;
@@ -45,9 +56,9 @@ public final class JTForLoop
     JTForLoop(ForLoopTree forLoopTree, JTTree<?, ?> parentTree) {
         super(forLoopTree, parentTree);
         condition = null;
-        initializer = new ArrayList<>();
+        initializer = new JTTreeList<>(this);
         statement = null;
-        update = new ArrayList<>();
+        update = new JTTreeList<>(this);
     }
 
     @Override
@@ -68,14 +79,12 @@ public final class JTForLoop
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        initializer.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(condition).ifPresent(nodes::add);
-        update.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(statement).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChildren(initializer, predicate)
+                || matchChild(condition, predicate)
+                || matchChildren(update, predicate)
+                || matchChild(statement, predicate);
     }
 
     @Override
@@ -93,6 +102,11 @@ public final class JTForLoop
         return Kind.FOR_LOOP;
     }
 
+    @Override
+    JTProxyTable<JTForLoop> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTStatement<?, ?> getStatement() {
         return statement;
@@ -103,30 +117,6 @@ public final class JTForLoop
         return update;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_CONDITION, propertyName -> v8Runtime.toV8Value(getCondition()));
-            registerStringGetter(PROPERTY_INITIALIZER, propertyName -> v8Runtime.toV8Value(getInitializer()));
-            registerStringGetter(PROPERTY_STATEMENT, propertyName -> v8Runtime.toV8Value(getStatement()));
-            registerStringGetter(PROPERTY_UPDATE, propertyName -> v8Runtime.toV8Value(getUpdate()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_CONDITION, (propertyName, propertyValue) -> replaceExpression(this::setCondition, propertyValue));
-            registerStringSetter(PROPERTY_INITIALIZER, (propertyName, propertyValue) -> replaceStatements(initializer, propertyValue));
-            registerStringSetter(PROPERTY_STATEMENT, (propertyName, propertyValue) -> replaceStatement(this::setStatement, propertyValue));
-            registerStringSetter(PROPERTY_UPDATE, (propertyName, propertyValue) -> replaceExpressionStatements(update, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     public JTForLoop setCondition(JTExpression<?, ?> condition) {
         if (this.condition == condition) {
             return this;
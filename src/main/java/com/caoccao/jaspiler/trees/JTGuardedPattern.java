@@ -16,17 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.GuardedPatternTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 @SuppressWarnings("preview")
 public final class JTGuardedPattern
@@ -34,6 +28,16 @@ public final class JTGuardedPattern
         implements GuardedPatternTree {
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_PATTERN = "pattern";
+    private static final JTProxyTable<JTGuardedPattern> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PATTERN, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPattern()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PATTERN, (tree, propertyName, propertyValue) -> tree.replacePattern(tree::setPattern, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTPattern<?, ?> pattern;
 
@@ -62,12 +66,8 @@ public final class JTGuardedPattern
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(pattern).ifPresent(nodes::add);
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(pattern, predicate) || matchChild(expression, predicate);
     }
 
     @Override
@@ -86,23 +86,8 @@ public final class JTGuardedPattern
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_PATTERN, propertyName -> v8Runtime.toV8Value(getPattern()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_PATTERN, (propertyName, propertyValue) -> replacePattern(this::setPattern, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTGuardedPattern> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTGuardedPattern setExpression(JTExpression<?, ?> expression) {
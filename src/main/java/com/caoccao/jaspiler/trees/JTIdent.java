@@ -16,21 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.Map;
 import java.util.Objects;
 
 public final class JTIdent
         extends JTExpression<IdentifierTree, JTIdent>
         implements IdentifierTree {
     private static final String PROPERTY_NAME = "name";
+    private static final JTProxyTable<JTIdent> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setName, propertyValue));
+    }
+
     private JTName name;
 
     public JTIdent() {
@@ -66,26 +69,13 @@ public final class JTIdent
     }
 
     @Override
-    public boolean isActionChange() {
-        return getAction().isChange();
-    }
-
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_NAME, propertyName -> v8Runtime.toV8Value(getName()));
-        }
-        return stringGetterMap;
+    JTProxyTable<JTIdent> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_NAME, (propertyName, propertyValue) -> replaceName(this::setName, propertyValue));
-        }
-        return stringSetterMap;
+    public boolean isActionChange() {
+        return getAction().isChange();
     }
 
     @Override
@@ -16,17 +16,12 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.IfTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTIf
         extends JTStatement<IfTree, JTIf>
@@ -34,6 +29,18 @@ public final class JTIf
     private static final String PROPERTY_CONDITION = "condition";
     private static final String PROPERTY_ELSE_STATEMENT = "elseStatement";
     private static final String PROPERTY_THEN_STATEMENT = "thenStatement";
+    private static final JTProxyTable<JTIf> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_CONDITION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCondition()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_ELSE_STATEMENT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getElseStatement()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_THEN_STATEMENT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getThenStatement()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CONDITION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setCondition, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ELSE_STATEMENT, (tree, propertyName, propertyValue) -> tree.replaceStatement(tree::setElseStatement, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_THEN_STATEMENT, (tree, propertyName, propertyValue) -> tree.replaceStatement(tree::setThenStatement, propertyValue));
+    }
+
     private JTExpression<?, ?> condition;
     private JTStatement<?, ?> elseStatement;
     private JTStatement<?, ?> thenStatement;
@@ -65,13 +72,11 @@ public final class JTIf
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(condition).ifPresent(nodes::add);
-        Optional.ofNullable(thenStatement).ifPresent(nodes::add);
-        Optional.ofNullable(elseStatement).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(condition, predicate)
+                || matchChild(thenStatement, predicate)
+                || matchChild(elseStatement, predicate);
     }
 
     @Override
@@ -90,30 +95,13 @@ public final class JTIf
     }
 
     @Override
-    public JTStatement<?, ?> getThenStatement() {
-        return thenStatement;
+    JTProxyTable<JTIf> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_CONDITION, propertyName -> v8Runtime.toV8Value(getCondition()));
-            registerStringGetter(PROPERTY_ELSE_STATEMENT, propertyName -> v8Runtime.toV8Value(getElseStatement()));
-            registerStringGetter(PROPERTY_THEN_STATEMENT, propertyName -> v8Runtime.toV8Value(getThenStatement()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_CONDITION, (propertyName, propertyValue) -> replaceExpression(this::setCondition, propertyValue));
-            registerStringSetter(PROPERTY_ELSE_STATEMENT, (propertyName, propertyValue) -> replaceStatement(this::setElseStatement, propertyValue));
-            registerStringSetter(PROPERTY_THEN_STATEMENT, (propertyName, propertyValue) -> replaceStatement(this::setThenStatement, propertyValue));
-        }
-        return stringSetterMap;
+    public JTStatement<?, ?> getThenStatement() {
+        return thenStatement;
     }
 
     public JTIf setCondition(JTExpression<?, ?> condition) {
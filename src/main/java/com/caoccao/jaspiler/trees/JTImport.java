@@ -17,24 +17,28 @@
 package com.caoccao.jaspiler.trees;
 
 import com.caoccao.jaspiler.enums.JavaKeyword;
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ImportTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTImport
         extends JTTree<ImportTree, JTImport>
         implements ImportTree {
     public static final String PROPERTY_QUALIFIED_IDENTIFIER = "qualifiedIdentifier";
     public static final String PROPERTY_STATIC_IMPORT = "staticImport";
+    private static final JTProxyTable<JTImport> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_QUALIFIED_IDENTIFIER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getQualifiedIdentifier()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATIC_IMPORT, (tree, propertyName) -> tree.v8Runtime.createV8ValueBoolean(tree.isStatic()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_QUALIFIED_IDENTIFIER, (tree, propertyName, propertyValue) -> tree.replaceTree(tree::setQualifiedIdentifier, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATIC_IMPORT, (tree, propertyName, propertyValue) -> tree.replaceBoolean(tree::setStaticImport, propertyValue));
+    }
+
     private JTTree<?, ?> qualifiedIdentifier;
     private boolean staticImport;
 
@@ -63,11 +67,8 @@ public final class JTImport
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(qualifiedIdentifier).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(qualifiedIdentifier, predicate);
     }
 
     @Override
@@ -75,6 +76,11 @@ public final class JTImport
         return Kind.IMPORT;
     }
 
+    @Override
+    JTProxyTable<JTImport> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTTree<?, ?> getQualifiedIdentifier() {
         return qualifiedIdentifier;
@@ -85,26 +91,6 @@ public final class JTImport
         return staticImport;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_QUALIFIED_IDENTIFIER, propertyName -> v8Runtime.toV8Value(getQualifiedIdentifier()));
-            registerStringGetter(PROPERTY_STATIC_IMPORT, propertyName -> v8Runtime.createV8ValueBoolean(isStatic()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_QUALIFIED_IDENTIFIER, (propertyName, propertyValue) -> replaceTree(this::setQualifiedIdentifier, propertyValue));
-            registerStringSetter(PROPERTY_STATIC_IMPORT, (propertyName, propertyValue) -> replaceBoolean(this::setStaticImport, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
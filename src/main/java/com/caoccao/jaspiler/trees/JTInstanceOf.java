@@ -16,22 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.InstanceOfTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTInstanceOf
         extends JTExpression<InstanceOfTree, JTInstanceOf>
         implements InstanceOfTree {
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_PATTERN = "pattern";
+    private static final JTProxyTable<JTInstanceOf> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PATTERN, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPattern()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PATTERN, (tree, propertyName, propertyValue) -> tree.replaceTree(tree::setPattern, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTTree<?, ?> pattern;
 
@@ -60,8 +65,8 @@ public final class JTInstanceOf
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        return super.getAllNodes();
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(expression, predicate) || matchChild(pattern, predicate);
     }
 
     @Override
@@ -79,6 +84,11 @@ public final class JTInstanceOf
         return pattern instanceof JTPattern<?, ?> jtPattern ? jtPattern : null;
     }
 
+    @Override
+    JTProxyTable<JTInstanceOf> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTTree<?, ?> getType() {
         if (pattern instanceof JTPattern<?, ?>) {
@@ -91,26 +101,6 @@ public final class JTInstanceOf
         return pattern;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_PATTERN, propertyName -> v8Runtime.toV8Value(getPattern()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_PATTERN, (propertyName, propertyValue) -> replaceTree(this::setPattern, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     public JTInstanceOf setExpression(JTExpression<?, ?> expression) {
         if (this.expression == expression) {
             return this;
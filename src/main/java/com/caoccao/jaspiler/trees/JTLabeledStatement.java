@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.LabeledStatementTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTLabeledStatement
         extends JTStatement<LabeledStatementTree, JTLabeledStatement>
         implements LabeledStatementTree {
     private static final String PROPERTY_LABEL = "label";
     private static final String PROPERTY_STATEMENT = "statement";
+    private static final JTProxyTable<JTLabeledStatement> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_LABEL, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getLabel()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATEMENT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getStatement()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_LABEL, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setLabel, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATEMENT, (tree, propertyName, propertyValue) -> tree.replaceStatement(tree::setStatement, propertyValue));
+    }
+
     private JTName label;
     private JTStatement<?, ?> statement;
 
@@ -61,11 +65,8 @@ public final class JTLabeledStatement
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(statement).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(statement, predicate);
     }
 
     @Override
@@ -79,28 +80,13 @@ public final class JTLabeledStatement
     }
 
     @Override
-    public JTStatement<?, ?> getStatement() {
-        return statement;
+    JTProxyTable<JTLabeledStatement> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_LABEL, propertyName -> v8Runtime.toV8Value(getLabel()));
-            registerStringGetter(PROPERTY_STATEMENT, propertyName -> v8Runtime.toV8Value(getStatement()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_LABEL, (propertyName, propertyValue) -> replaceName(this::setLabel, propertyValue));
-            registerStringSetter(PROPERTY_STATEMENT, (propertyName, propertyValue) -> replaceStatement(this::setStatement, propertyValue));
-        }
-        return stringSetterMap;
+    public JTStatement<?, ?> getStatement() {
+        return statement;
     }
 
     public JTLabeledStatement setLabel(JTName label) {
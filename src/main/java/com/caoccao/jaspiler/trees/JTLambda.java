@@ -16,15 +16,13 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueString;
 import com.sun.source.tree.LambdaExpressionTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTLambda
         extends JTFunctionalExpression<LambdaExpressionTree, JTLambda>
@@ -32,6 +30,18 @@ public final class JTLambda
     private static final String PROPERTY_BODY = "body";
     private static final String PROPERTY_BODY_KIND = "bodyKind";
     private static final String PROPERTY_PARAMETERS = "parameters";
+    private static final JTProxyTable<JTLambda> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BODY, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBody()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_BODY_KIND, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getBodyKind().name()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PARAMETERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getParameters()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BODY, (tree, propertyName, propertyValue) -> tree.replaceLambda(tree::setBody, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BODY_KIND, (tree, propertyName, propertyValue) -> tree.setBodyKind(propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PARAMETERS, (tree, propertyName, propertyValue) -> tree.replaceVariableDecls(tree.parameters, propertyValue));
+    }
+
     private final List<JTVariableDecl> parameters;
     private JTTree<?, ?> body;
     private BodyKind bodyKind;
@@ -45,7 +55,7 @@ public final class JTLambda
         super(lambdaExpressionTree, parentTree);
         body = null;
         bodyKind = null;
-        parameters = new ArrayList<>();
+        parameters = new JTTreeList<>(this);
     }
 
     @Override
@@ -64,12 +74,8 @@ public final class JTLambda
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        parameters.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(body).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(parameters, predicate) || matchChild(body, predicate);
     }
 
     @Override
@@ -93,25 +99,8 @@ public final class JTLambda
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BODY, propertyName -> v8Runtime.toV8Value(getBody()));
-            registerStringGetter(PROPERTY_BODY_KIND, propertyName -> v8Runtime.createV8ValueString(getBodyKind().name()));
-            registerStringGetter(PROPERTY_PARAMETERS, propertyName -> v8Runtime.toV8Value(getParameters()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BODY, (propertyName, propertyValue) -> replaceLambda(this::setBody, propertyValue));
-            registerStringSetter(PROPERTY_BODY_KIND, (propertyName, propertyValue) -> setBodyKind(propertyValue));
-            registerStringSetter(PROPERTY_PARAMETERS, (propertyName, propertyValue) -> replaceVariableDecls(parameters, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTLambda> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTLambda setBody(JTTree<?, ?> body) {
@@ -16,18 +16,14 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.javet.exceptions.JavetException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.*;
 import com.caoccao.javet.values.reference.V8ValueObject;
 import com.sun.source.tree.LiteralTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.Map;
 
 public final class JTLiteral
         extends JTExpression<LiteralTree, JTLiteral>
@@ -39,6 +35,15 @@ public final class JTLiteral
     private static final String DEFAULT_INT = "0";
     private static final String DEFAULT_LONG = "0L";
     private static final String PROPERTY_VALUE = "value";
+    private static final JTProxyTable<JTLiteral> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_VALUE, (tree, propertyName) -> tree.getV8Value());
+        PROXY_TABLE.registerStringSetter(PROPERTY_VALUE, (tree, propertyName, propertyValue) -> tree.setValue(propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_KIND, (tree, propertyName, propertyValue) -> tree.replaceKind(tree::setKind, propertyValue));
+    }
+
     private Kind kind;
     private Object value;
 
@@ -53,6 +58,11 @@ public final class JTLiteral
         value = null;
     }
 
+    @Override
+    JTProxyTable<JTLiteral> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     private static Kind parseKind(Object value) {
         if (value instanceof Integer) {
             return Kind.INT_LITERAL;
@@ -129,25 +139,6 @@ public final class JTLiteral
         return value;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_VALUE, propertyName -> getV8Value());
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_VALUE, (propertyName, propertyValue) -> setValue(propertyValue));
-            registerStringSetter(PROPERTY_KIND, (propertyName, propertyValue) -> replaceKind(this::setKind, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
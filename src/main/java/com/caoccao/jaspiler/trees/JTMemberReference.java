@@ -16,15 +16,13 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueString;
 import com.sun.source.tree.MemberReferenceTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTMemberReference
         extends JTFunctionalExpression<MemberReferenceTree, JTMemberReference>
@@ -33,6 +31,20 @@ public final class JTMemberReference
     private static final String PROPERTY_NAME = "name";
     private static final String PROPERTY_QUALIFIED_EXPRESSION = "qualifiedExpression";
     private static final String PROPERTY_TYPE_ARGUMENTS = "typeArguments";
+    private static final JTProxyTable<JTMemberReference> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODE, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getMode().name()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_QUALIFIED_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getQualifierExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeArguments()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODE, (tree, propertyName, propertyValue) -> tree.setMode(propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setName, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_QUALIFIED_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setQualifiedExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.typeArguments, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> typeArguments;
     private ReferenceMode mode;
     private JTName name;
@@ -48,7 +60,7 @@ public final class JTMemberReference
         mode = null;
         name = null;
         qualifiedExpression = null;
-        typeArguments = new ArrayList<>();
+        typeArguments = new JTTreeList<>(this);
     }
 
     @Override
@@ -68,12 +80,10 @@ public final class JTMemberReference
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(qualifiedExpression).ifPresent(nodes::add);
-        typeArguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(qualifiedExpression, predicate)
+                || matchChildren(typeArguments, predicate);
     }
 
     @Override
@@ -91,6 +101,11 @@ public final class JTMemberReference
         return name;
     }
 
+    @Override
+    JTProxyTable<JTMemberReference> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTExpression<?, ?> getQualifierExpression() {
         return qualifiedExpression;
@@ -101,30 +116,6 @@ public final class JTMemberReference
         return typeArguments;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_MODE, propertyName -> v8Runtime.createV8ValueString(getMode().name()));
-            registerStringGetter(PROPERTY_NAME, propertyName -> v8Runtime.toV8Value(getName()));
-            registerStringGetter(PROPERTY_QUALIFIED_EXPRESSION, propertyName -> v8Runtime.toV8Value(getQualifierExpression()));
-            registerStringGetter(PROPERTY_TYPE_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getTypeArguments()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_MODE, (propertyName, propertyValue) -> setMode(propertyValue));
-            registerStringSetter(PROPERTY_NAME, (propertyName, propertyValue) -> replaceName(this::setName, propertyValue));
-            registerStringSetter(PROPERTY_QUALIFIED_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setQualifiedExpression, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(typeArguments, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     private boolean setMode(V8Value v8Value) {
         if (v8Value instanceof V8ValueString v8ValueString) {
             setMode(ReferenceMode.valueOf(v8ValueString.getValue()));
@@ -17,16 +17,13 @@
 package com.caoccao.jaspiler.trees;
 
 import com.caoccao.jaspiler.enums.JavaKeyword;
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTMethodDecl
         extends JTTree<MethodTree, JTMethodDecl>
@@ -40,6 +37,30 @@ public final class JTMethodDecl
     private static final String PROPERTY_RETURN_TYPE = "returnType";
     private static final String PROPERTY_THROW_EXPRESSIONS = "throwExpressions";
     private static final String PROPERTY_TYPE_PARAMETERS = "typeParameters";
+    private static final JTProxyTable<JTMethodDecl> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BODY, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBody()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_DEFAULT_VALUE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getDefaultValue()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODIFIERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getModifiers()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PARAMETERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getParameters()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_RECEIVER_PARAMETER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getReceiverParameter()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_RETURN_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getReturnType()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_THROW_EXPRESSIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getThrows()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_PARAMETERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeParameters()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BODY, (tree, propertyName, propertyValue) -> tree.replaceBlock(tree::setBody, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_DEFAULT_VALUE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setDefaultValue, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODIFIERS, (tree, propertyName, propertyValue) -> tree.replaceModifiers(tree::setModifiers, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setName, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PARAMETERS, (tree, propertyName, propertyValue) -> tree.replaceVariableDecls(tree.parameters, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_RECEIVER_PARAMETER, (tree, propertyName, propertyValue) -> tree.replaceVariableDecl(tree::setReceiverParameter, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_RETURN_TYPE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setReturnType, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_THROW_EXPRESSIONS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.throwExpressions, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_PARAMETERS, (tree, propertyName, propertyValue) -> tree.replaceTypeParameters(tree.typeParameters, propertyValue));
+    }
+
     private final List<JTVariableDecl> parameters;
     private final List<JTExpression<?, ?>> throwExpressions;
     private final List<JTTypeParameter> typeParameters;
@@ -61,11 +82,11 @@ public final class JTMethodDecl
         defaultValue = null;
         modifiers = null;
         name = null;
-        parameters = new ArrayList<>();
+        parameters = new JTTreeList<>(this);
         receiverParameter = null;
         returnType = null;
-        throwExpressions = new ArrayList<>();
-        typeParameters = new ArrayList<>();
+        throwExpressions = new JTTreeList<>(this);
+        typeParameters = new JTTreeList<>(this);
     }
 
     @Override
@@ -95,18 +116,16 @@ public final class JTMethodDecl
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(modifiers).ifPresent(nodes::add);
-        Optional.ofNullable(returnType).ifPresent(nodes::add);
-        typeParameters.stream().filter(Objects::nonNull).forEach(nodes::add);
-        parameters.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(receiverParameter).ifPresent(nodes::add);
-        throwExpressions.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(body).ifPresent(nodes::add);
-        Optional.ofNullable(defaultValue).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(modifiers, predicate)
+                || matchChild(returnType, predicate)
+                || matchChildren(typeParameters, predicate)
+                || matchChildren(parameters, predicate)
+                || matchChild(receiverParameter, predicate)
+                || matchChildren(throwExpressions, predicate)
+                || matchChild(body, predicate)
+                || matchChild(defaultValue, predicate);
     }
 
     @Override
@@ -139,6 +158,11 @@ public final class JTMethodDecl
         return parameters;
     }
 
+    @Override
+    JTProxyTable<JTMethodDecl> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public JTVariableDecl getReceiverParameter() {
         return receiverParameter;
@@ -159,46 +183,13 @@ public final class JTMethodDecl
         return typeParameters;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BODY, propertyName -> v8Runtime.toV8Value(getBody()));
-            registerStringGetter(PROPERTY_DEFAULT_VALUE, propertyName -> v8Runtime.toV8Value(getDefaultValue()));
-            registerStringGetter(PROPERTY_MODIFIERS, propertyName -> v8Runtime.toV8Value(getModifiers()));
-            registerStringGetter(PROPERTY_NAME, propertyName -> v8Runtime.toV8Value(getName()));
-            registerStringGetter(PROPERTY_PARAMETERS, propertyName -> v8Runtime.toV8Value(getParameters()));
-            registerStringGetter(PROPERTY_RECEIVER_PARAMETER, propertyName -> v8Runtime.toV8Value(getReceiverParameter()));
-            registerStringGetter(PROPERTY_RETURN_TYPE, propertyName -> v8Runtime.toV8Value(getReturnType()));
-            registerStringGetter(PROPERTY_THROW_EXPRESSIONS, propertyName -> v8Runtime.toV8Value(getThrows()));
-            registerStringGetter(PROPERTY_TYPE_PARAMETERS, propertyName -> v8Runtime.toV8Value(getTypeParameters()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BODY, (propertyName, propertyValue) -> replaceBlock(this::setBody, propertyValue));
-            registerStringSetter(PROPERTY_DEFAULT_VALUE, (propertyName, propertyValue) -> replaceExpression(this::setDefaultValue, propertyValue));
-            registerStringSetter(PROPERTY_MODIFIERS, (propertyName, propertyValue) -> replaceModifiers(this::setModifiers, propertyValue));
-            registerStringSetter(PROPERTY_NAME, (propertyName, propertyValue) -> replaceName(this::setName, propertyValue));
-            registerStringSetter(PROPERTY_PARAMETERS, (propertyName, propertyValue) -> replaceVariableDecls(parameters, propertyValue));
-            registerStringSetter(PROPERTY_RECEIVER_PARAMETER, (propertyName, propertyValue) -> replaceVariableDecl(this::setReceiverParameter, propertyValue));
-            registerStringSetter(PROPERTY_RETURN_TYPE, (propertyName, propertyValue) -> replaceExpression(this::setReturnType, propertyValue));
-            registerStringSetter(PROPERTY_THROW_EXPRESSIONS, (propertyName, propertyValue) -> replaceExpressions(throwExpressions, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_PARAMETERS, (propertyName, propertyValue) -> replaceTypeParameters(typeParameters, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
             Optional.ofNullable(modifiers).ifPresent(writer::append);
-            ForEachUtils.forEach(
-                    typeParameters.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    typeParameters,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace(),
                     trees -> writer.appendSpaceIfNeeded().appendLeftArrow(),
@@ -207,16 +198,18 @@ public final class JTMethodDecl
                     .filter(tree -> !tree.isActionIgnore())
                     .ifPresent(tree -> writer.appendSpaceIfNeeded().append(tree));
             writer.appendSpaceIfNeeded().append(name).appendLeftParenthesis();
-            ForEachUtils.forEach(
-                    parameters.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    parameters,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace());
             writer.appendRightParenthesis();
             Optional.ofNullable(receiverParameter)
                     .filter(tree -> !tree.isActionIgnore())
                     .ifPresent(tree -> writer.appendSpace().append(tree));
-            ForEachUtils.forEach(
-                    throwExpressions.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    throwExpressions,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendComma().appendSpace(),
                     trees -> writer.appendKeyword(JavaKeyword.THROWS).appendSpace());
@@ -16,14 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTMethodInvocation
         extends JTPolyExpression<MethodInvocationTree, JTMethodInvocation>
@@ -31,6 +28,18 @@ public final class JTMethodInvocation
     private static final String PROPERTY_ARGUMENTS = "arguments";
     private static final String PROPERTY_METHOD_SELECT = "methodSelect";
     private static final String PROPERTY_TYPE_ARGUMENTS = "typeArguments";
+    private static final JTProxyTable<JTMethodInvocation> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getArguments()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_METHOD_SELECT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getMethodSelect()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeArguments()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.arguments, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_METHOD_SELECT, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setMethodSelect, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.typeArguments, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> arguments;
     private final List<JTExpression<?, ?>> typeArguments;
     private JTExpression<?, ?> methodSelect;
@@ -42,9 +51,9 @@ public final class JTMethodInvocation
 
     JTMethodInvocation(MethodInvocationTree methodInvocationTree, JTTree<?, ?> parentTree) {
         super(methodInvocationTree, parentTree);
-        arguments = new ArrayList<>();
+        arguments = new JTTreeList<>(this);
         methodSelect = null;
-        typeArguments = new ArrayList<>();
+        typeArguments = new JTTreeList<>(this);
     }
 
     @Override
@@ -64,13 +73,11 @@ public final class JTMethodInvocation
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        typeArguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(methodSelect).ifPresent(nodes::add);
-        arguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChildren(typeArguments, predicate)
+                || matchChild(methodSelect, predicate)
+                || matchChildren(arguments, predicate);
     }
 
     @Override
@@ -89,30 +96,13 @@ public final class JTMethodInvocation
     }
 
     @Override
-    public List<JTExpression<?, ?>> getTypeArguments() {
-        return typeArguments;
+    JTProxyTable<JTMethodInvocation> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getArguments()));
-            registerStringGetter(PROPERTY_METHOD_SELECT, propertyName -> v8Runtime.toV8Value(getMethodSelect()));
-            registerStringGetter(PROPERTY_TYPE_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getTypeArguments()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(arguments, propertyValue));
-            registerStringSetter(PROPERTY_METHOD_SELECT, (propertyName, propertyValue) -> replaceExpression(this::setMethodSelect, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(typeArguments, propertyValue));
-        }
-        return stringSetterMap;
+    public List<JTExpression<?, ?>> getTypeArguments() {
+        return typeArguments;
     }
 
     public JTMethodInvocation setMethodSelect(JTExpression<?, ?> methodSelect) {
@@ -16,20 +16,17 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
 import com.caoccao.javet.exceptions.JavetException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
-import com.caoccao.javet.values.primitive.V8ValueString;
-import com.caoccao.javet.values.reference.V8ValueArray;
 import com.sun.source.tree.ModifiersTree;
 import com.sun.source.tree.TreeVisitor;
 
 import javax.lang.model.element.Modifier;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public final class JTModifiers
         extends JTTree<ModifiersTree, JTModifiers>
@@ -40,10 +37,22 @@ public final class JTModifiers
             Modifier.FINAL, Modifier.TRANSIENT, Modifier.VOLATILE,
             Modifier.SYNCHRONIZED, Modifier.NATIVE, Modifier.STRICTFP);
     private static final String PROPERTY_FLAGS = "flags";
+    private static final JTProxyTable<JTModifiers> PROXY_TABLE;
     private static final List<Modifier> SCOPE_MODIFIERS = List.of(
             Modifier.PUBLIC, Modifier.PROTECTED, Modifier.PRIVATE);
     private static final List<Modifier> SEALED_OR_NON_SEALED_MODIFIERS = List.of(
             Modifier.SEALED, Modifier.NON_SEALED);
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_FLAGS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getFlags().stream()
+                .map(Modifier::toString)
+                .collect(Collectors.toCollection(ArrayList::new))));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.replaceAnnotations(tree.annotations, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_FLAGS, (tree, propertyName, propertyValue) -> tree.setFlags(propertyValue));
+    }
+
     private final List<JTAnnotation> annotations;
     private final Set<Modifier> flags;
 
@@ -54,7 +63,7 @@ public final class JTModifiers
 
     JTModifiers(ModifiersTree modifiersTree, JTTree<?, ?> parentTree) {
         super(modifiersTree, parentTree);
-        annotations = new ArrayList<>();
+        annotations = new JTTreeList<>(this);
         flags = new HashSet<>();
     }
 
@@ -74,11 +83,8 @@ public final class JTModifiers
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        annotations.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(annotations, predicate);
     }
 
     @Override
@@ -97,33 +103,17 @@ public final class JTModifiers
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getAnnotations()));
-            registerStringGetter(PROPERTY_FLAGS, propertyName -> v8Runtime.toV8Value(getFlags().stream()
-                    .map(Modifier::toString)
-                    .toList()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATIONS, (propertyName, propertyValue) -> replaceAnnotations(annotations, propertyValue));
-            registerStringSetter(PROPERTY_FLAGS, (propertyName, propertyValue) -> setFlags(propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTModifiers> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
             int annotationDepth = writer.getDepth() - 1;
-            ForEachUtils.forEach(
-                    annotations.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    annotations,
+                    JTTree::isSerializable,
                     tree -> writer.appendIndent(annotationDepth).append(tree).appendLineSeparator());
             List<Modifier> modifiers = new ArrayList<>();
             SCOPE_MODIFIERS.stream().filter(flags::contains).findFirst().ifPresent(modifiers::add);
@@ -141,16 +131,19 @@ public final class JTModifiers
     }
 
     private boolean setFlags(V8Value v8Value) throws JavetException {
-        if (v8Value instanceof V8ValueArray v8ValueArray) {
-            flags.clear();
-            v8ValueArray.forEach(v8ValueItem -> {
-                if (v8ValueItem instanceof V8ValueString v8ValueString) {
+        // The flags may be a JS array or a proxied Java list.
+        if (v8Runtime.toObject(v8Value) instanceof List<?> list) {
+            final List<Modifier> newFlags = new ArrayList<>();
+            for (Object item : list) {
+                if (item instanceof String string) {
                     try {
-                        flags.add(Modifier.valueOf(v8ValueString.getValue()));
+                        newFlags.add(Modifier.valueOf(string));
                     } catch (Throwable ignored) {
                     }
                 }
-            });
+            }
+            flags.clear();
+            flags.addAll(newFlags);
             return true;
         }
         return false;
@@ -16,14 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ModuleTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * The type Module Declaration.
@@ -39,6 +36,18 @@ public final class JTModuleDecl
         implements ModuleTree, IJTAnnotatable {
     private static final String PROPERTY_DIRECTIVES = "directives";
     private static final String PROPERTY_NAME = "name";
+    private static final JTProxyTable<JTModuleDecl> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_DIRECTIVES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getDirectives()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.replaceAnnotations(tree.annotations, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_DIRECTIVES, (tree, propertyName, propertyValue) -> tree.replaceDirectives(tree.directives, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setName, propertyValue));
+    }
+
     private final List<JTAnnotation> annotations;
     private final List<JTDirective<?, ?>> directives;
     private ModuleKind moduleType;
@@ -51,8 +60,8 @@ public final class JTModuleDecl
 
     JTModuleDecl(ModuleTree moduleTree, JTTree<?, ?> parentTree) {
         super(moduleTree, parentTree);
-        annotations = new ArrayList<>();
-        directives = new ArrayList<>();
+        annotations = new JTTreeList<>(this);
+        directives = new JTTreeList<>(this);
         moduleType = null;
     }
 
@@ -73,12 +82,8 @@ public final class JTModuleDecl
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        annotations.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(name).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(annotations, predicate) || matchChild(name, predicate);
     }
 
     @Override
@@ -107,25 +112,8 @@ public final class JTModuleDecl
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getAnnotations()));
-            registerStringGetter(PROPERTY_DIRECTIVES, propertyName -> v8Runtime.toV8Value(getDirectives()));
-            registerStringGetter(PROPERTY_NAME, propertyName -> v8Runtime.toV8Value(getName()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATIONS, (propertyName, propertyValue) -> replaceAnnotations(annotations, propertyValue));
-            registerStringSetter(PROPERTY_DIRECTIVES, (propertyName, propertyValue) -> replaceDirectives(directives, propertyValue));
-            registerStringSetter(PROPERTY_NAME, (propertyName, propertyValue) -> replaceExpression(this::setName, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTModuleDecl> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTModuleDecl setModuleType(ModuleKind moduleType) {
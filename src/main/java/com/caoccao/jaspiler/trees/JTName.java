@@ -17,33 +17,35 @@
 package com.caoccao.jaspiler.trees;
 
 import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
+import com.caoccao.javet.exceptions.JavetException;
 import com.caoccao.javet.interop.V8Runtime;
 import com.caoccao.javet.interop.proxy.IJavetDirectProxyHandler;
 import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.primitive.V8ValueBoolean;
 import com.caoccao.javet.values.primitive.V8ValueString;
-import com.caoccao.javet.values.reference.V8ValueSymbol;
+import com.caoccao.javet.values.reference.V8ValueArray;
 import com.caoccao.javet.values.reference.builtin.V8ValueBuiltInSymbol;
 
 import javax.lang.model.element.Name;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 public final class JTName implements Name, IJavetDirectProxyHandler<JaspilerCheckedException> {
     public static final String PROPERTY_VALUE = "value";
     private static final String FUNCTION_TO_STRING = "toString";
-    private Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> stringGetterMap;
-    private Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> stringSetterMap;
-    private Map<String, IJavetUniFunction<V8ValueSymbol, ? extends V8Value, JaspilerCheckedException>> symbolGetterMap;
+    private static final JTProxyTable<JTName> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>();
+        PROXY_TABLE.registerStringGetter(PROPERTY_VALUE, (name, propertyName) -> name.v8Runtime.createV8ValueString(name.getValue()));
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_TO_STRING, (name, v8Values) -> name.v8Runtime.createV8ValueString(name.toString()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_VALUE, (name, propertyName, propertyValue) -> name.setValue(propertyValue));
+        PROXY_TABLE.registerSymbolGetterFunction(V8ValueBuiltInSymbol.PROPERTY_TO_PRIMITIVE, (name, v8Values) -> name.v8Runtime.createV8ValueString(name.toString()));
+    }
+
     private V8Runtime v8Runtime;
     private String value;
 
     public JTName(String value) {
-        stringGetterMap = null;
-        stringSetterMap = null;
-        symbolGetterMap = null;
         setV8Runtime(null);
         setValue(value);
     }
@@ -76,31 +78,48 @@ public final class JTName implements Name, IJavetDirectProxyHandler<JaspilerChec
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            stringGetterMap = new HashMap<>();
-            registerStringGetter(PROPERTY_VALUE, property -> v8Runtime.createV8ValueString(getValue()));
-            registerStringGetterFunction(FUNCTION_TO_STRING, property -> v8Runtime.createV8ValueString(toString()));
+    public V8Value proxyGet(V8Value target, V8Value property, V8Value receiver)
+            throws JavetException, JaspilerCheckedException {
+        V8Value v8Value = PROXY_TABLE.get(this, property);
+        if (v8Value != null) {
+            return v8Value;
         }
-        return stringGetterMap;
+        return IJavetDirectProxyHandler.super.proxyGet(target, property, receiver);
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            stringSetterMap = new HashMap<>();
-            registerStringSetter(PROPERTY_VALUE, (propertyName, propertyValue) -> setValue(propertyValue));
+    public V8Value proxyGetOwnPropertyDescriptor(V8Value target, V8Value property)
+            throws JavetException, JaspilerCheckedException {
+        V8Value v8Value = PROXY_TABLE.getOwnPropertyDescriptor(this, property);
+        if (v8Value != null) {
+            return v8Value;
         }
-        return stringSetterMap;
+        return IJavetDirectProxyHandler.super.proxyGetOwnPropertyDescriptor(target, property);
+    }
+
+    @Override
+    public V8ValueBoolean proxyHas(V8Value target, V8Value property) throws JavetException, JaspilerCheckedException {
+        if (property instanceof V8ValueString v8ValueString && PROXY_TABLE.has(v8ValueString.getValue())) {
+            return v8Runtime.createV8ValueBoolean(true);
+        }
+        return IJavetDirectProxyHandler.super.proxyHas(target, property);
+    }
+
+    @Override
+    public V8ValueArray proxyOwnKeys(V8Value target) throws JavetException, JaspilerCheckedException {
+        return PROXY_TABLE.ownKeys(this);
     }
 
     @Override
-    public Map<String, IJavetUniFunction<V8ValueSymbol, ? extends V8Value, JaspilerCheckedException>> proxyGetSymbolGetterMap() {
-        if (symbolGetterMap == null) {
-            symbolGetterMap = new HashMap<>();
-            registerSymbolGetterFunction(V8ValueBuiltInSymbol.SYMBOL_PROPERTY_TO_PRIMITIVE, description -> v8Runtime.createV8ValueString(toString()));
+    public V8ValueBoolean proxySet(V8Value target, V8Value propertyKey, V8Value propertyValue, V8Value receiver)
+            throws JavetException, JaspilerCheckedException {
+        if (propertyKey instanceof V8ValueString v8ValueString) {
+            Boolean result = PROXY_TABLE.set(this, v8ValueString.getValue(), propertyValue);
+            if (result != null) {
+                return v8Runtime.createV8ValueBoolean(result);
+            }
         }
-        return symbolGetterMap;
+        return IJavetDirectProxyHandler.super.proxySet(target, propertyKey, propertyValue, receiver);
     }
 
     @Override
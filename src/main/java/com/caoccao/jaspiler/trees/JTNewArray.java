@@ -16,15 +16,13 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.javet.exceptions.JavetException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.NewArrayTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTNewArray
         extends JTExpression<NewArrayTree, JTNewArray>
@@ -33,6 +31,22 @@ public final class JTNewArray
     private static final String PROPERTY_DIM_ANNOTATIONS = "dimAnnotations";
     private static final String PROPERTY_INITIALIZERS = "initializers";
     private static final String PROPERTY_TYPE = "type";
+    private static final JTProxyTable<JTNewArray> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_DIM_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getDimAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_DIMENSIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getDimensions()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_INITIALIZERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getInitializers()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getType()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.replaceAnnotations(tree.annotations, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_DIM_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.setDimAnnotations(propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_DIMENSIONS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.dimensions, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_INITIALIZERS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.initializers, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setType, propertyValue));
+    }
+
     private final List<JTAnnotation> annotations;
     private final List<List<JTAnnotation>> dimAnnotations;
     private final List<JTExpression<?, ?>> dimensions;
@@ -46,10 +60,10 @@ public final class JTNewArray
 
     JTNewArray(NewArrayTree newArrayTree, JTTree<?, ?> parentTree) {
         super(newArrayTree, parentTree);
-        annotations = new ArrayList<>();
+        annotations = new JTTreeList<>(this);
         dimAnnotations = new ArrayList<>();
-        dimensions = new ArrayList<>();
-        initializers = new ArrayList<>();
+        dimensions = new JTTreeList<>(this);
+        initializers = new JTTreeList<>(this);
         type = null;
     }
 
@@ -78,15 +92,21 @@ public final class JTNewArray
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(type).ifPresent(nodes::add);
-        dimensions.stream().filter(Objects::nonNull).forEach(nodes::add);
-        initializers.stream().filter(Objects::nonNull).forEach(nodes::add);
-        annotations.stream().filter(Objects::nonNull).forEach(nodes::add);
-        dimAnnotations.stream().filter(Objects::nonNull).flatMap(Collection::stream).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        if (super.anyChildMatch(predicate)
+                || matchChild(type, predicate)
+                || matchChildren(dimensions, predicate)
+                || matchChildren(initializers, predicate)
+                || matchChildren(annotations, predicate)) {
+            return true;
+        }
+        final int length = dimAnnotations.size();
+        for (int i = 0; i < length; i++) {
+            if (matchChildren(dimAnnotations.get(i), predicate)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -115,47 +135,27 @@ public final class JTNewArray
     }
 
     @Override
-    public JTExpression<?, ?> getType() {
-        return type;
+    JTProxyTable<JTNewArray> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getAnnotations()));
-            registerStringGetter(PROPERTY_DIM_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getDimAnnotations()));
-            registerStringGetter(PROPERTY_DIMENSIONS, propertyName -> v8Runtime.toV8Value(getDimensions()));
-            registerStringGetter(PROPERTY_INITIALIZERS, propertyName -> v8Runtime.toV8Value(getInitializers()));
-            registerStringGetter(PROPERTY_TYPE, propertyName -> v8Runtime.toV8Value(getType()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATIONS, (propertyName, propertyValue) -> replaceAnnotations(annotations, propertyValue));
-            registerStringSetter(PROPERTY_DIM_ANNOTATIONS, (propertyName, propertyValue) -> setDimAnnotations(propertyValue));
-            registerStringSetter(PROPERTY_DIMENSIONS, (propertyName, propertyValue) -> replaceExpressions(dimensions, propertyValue));
-            registerStringSetter(PROPERTY_INITIALIZERS, (propertyName, propertyValue) -> replaceExpressions(initializers, propertyValue));
-            registerStringSetter(PROPERTY_TYPE, (propertyName, propertyValue) -> replaceExpression(this::setType, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getType() {
+        return type;
     }
 
     private boolean setDimAnnotations(V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> list) {
-            dimAnnotations.clear();
-            list.stream()
+            final var newDimAnnotations = list.stream()
                     .filter(item -> item instanceof List<?>)
                     .map(item -> (List<?>) item)
                     .map(trees -> trees.stream()
                             .filter(tree -> tree instanceof JTAnnotation)
                             .map(tree -> ((JTAnnotation) tree).setParentTree(this))
                             .toList())
-                    .forEach(dimAnnotations::add);
+                    .toList();
+            dimAnnotations.clear();
+            dimAnnotations.addAll(newDimAnnotations);
             setActionChange();
             return true;
         }
@@ -16,14 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.NewClassTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTNewClass
         extends JTPolyExpression<NewClassTree, JTNewClass>
@@ -33,6 +30,22 @@ public final class JTNewClass
     private static final String PROPERTY_ENCLOSING_EXPRESSION = "enclosingExpression";
     private static final String PROPERTY_IDENTIFIER = "identifier";
     private static final String PROPERTY_TYPE_ARGUMENTS = "typeArguments";
+    private static final JTProxyTable<JTNewClass> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getArguments()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_CLASS_BODY, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getClassBody()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_ENCLOSING_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getEnclosingExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_IDENTIFIER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getIdentifier()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeArguments()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.arguments, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CLASS_BODY, (tree, propertyName, propertyValue) -> tree.replaceClassDecl(tree::setClassBody, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ENCLOSING_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setEnclosingExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_IDENTIFIER, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setIdentifier, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.typeArguments, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> arguments;
     private final List<JTExpression<?, ?>> typeArguments;
     private JTClassDecl classBody;
@@ -46,11 +59,11 @@ public final class JTNewClass
 
     JTNewClass(NewClassTree newClassTree, JTTree<?, ?> parentTree) {
         super(newClassTree, parentTree);
-        arguments = new ArrayList<>();
+        arguments = new JTTreeList<>(this);
         classBody = null;
         enclosingExpression = null;
         identifier = null;
-        typeArguments = new ArrayList<>();
+        typeArguments = new JTTreeList<>(this);
     }
 
     @Override
@@ -72,15 +85,13 @@ public final class JTNewClass
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(enclosingExpression).ifPresent(nodes::add);
-        Optional.ofNullable(identifier).ifPresent(nodes::add);
-        typeArguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        arguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(classBody).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(enclosingExpression, predicate)
+                || matchChild(identifier, predicate)
+                || matchChildren(typeArguments, predicate)
+                || matchChildren(arguments, predicate)
+                || matchChild(classBody, predicate);
     }
 
     @Override
@@ -109,34 +120,13 @@ public final class JTNewClass
     }
 
     @Override
-    public List<JTExpression<?, ?>> getTypeArguments() {
-        return typeArguments;
+    JTProxyTable<JTNewClass> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getArguments()));
-            registerStringGetter(PROPERTY_CLASS_BODY, propertyName -> v8Runtime.toV8Value(getClassBody()));
-            registerStringGetter(PROPERTY_ENCLOSING_EXPRESSION, propertyName -> v8Runtime.toV8Value(getEnclosingExpression()));
-            registerStringGetter(PROPERTY_IDENTIFIER, propertyName -> v8Runtime.toV8Value(getIdentifier()));
-            registerStringGetter(PROPERTY_TYPE_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getTypeArguments()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(arguments, propertyValue));
-            registerStringSetter(PROPERTY_CLASS_BODY, (propertyName, propertyValue) -> replaceClassDecl(this::setClassBody, propertyValue));
-            registerStringSetter(PROPERTY_ENCLOSING_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setEnclosingExpression, propertyValue));
-            registerStringSetter(PROPERTY_IDENTIFIER, (propertyName, propertyValue) -> replaceExpression(this::setIdentifier, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(typeArguments, propertyValue));
-        }
-        return stringSetterMap;
+    public List<JTExpression<?, ?>> getTypeArguments() {
+        return typeArguments;
     }
 
     public JTNewClass setClassBody(JTClassDecl classBody) {
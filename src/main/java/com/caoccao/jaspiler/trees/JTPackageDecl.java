@@ -17,16 +17,13 @@
 package com.caoccao.jaspiler.trees;
 
 import com.caoccao.jaspiler.enums.JavaKeyword;
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.jaspiler.utils.ForEachUtils;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.PackageTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * The type Jt package tree.
@@ -36,6 +33,16 @@ public final class JTPackageDecl
         extends JTTree<PackageTree, JTPackageDecl>
         implements PackageTree, IJTAnnotatable {
     private static final String PROPERTY_PACKAGE_NAME = "packageName";
+    private static final JTProxyTable<JTPackageDecl> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PACKAGE_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPackageName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.replaceAnnotations(tree.annotations, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PACKAGE_NAME, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setPackageName, propertyValue));
+    }
+
     private final List<JTAnnotation> annotations;
     private JTExpression<?, ?> packageName;
 
@@ -46,7 +53,7 @@ public final class JTPackageDecl
 
     JTPackageDecl(PackageTree originalTree, JTTree<?, ?> parentTree) {
         super(originalTree, parentTree);
-        annotations = new ArrayList<>();
+        annotations = new JTTreeList<>(this);
         packageName = null;
     }
 
@@ -65,12 +72,10 @@ public final class JTPackageDecl
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        annotations.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(packageName).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChildren(annotations, predicate)
+                || matchChild(packageName, predicate);
     }
 
     @Override
@@ -89,30 +94,16 @@ public final class JTPackageDecl
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getAnnotations()));
-            registerStringGetter(PROPERTY_PACKAGE_NAME, propertyName -> v8Runtime.toV8Value(getPackageName()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATIONS, (propertyName, propertyValue) -> replaceAnnotations(annotations, propertyValue));
-            registerStringSetter(PROPERTY_PACKAGE_NAME, (propertyName, propertyValue) -> replaceExpression(this::setPackageName, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTPackageDecl> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
     public boolean serialize(IStyleWriter<?> writer) {
         if (isActionChange()) {
-            ForEachUtils.forEach(
-                    annotations.stream().filter(Objects::nonNull).filter(tree -> !tree.isActionIgnore()).toList(),
+            ForEachUtils.forEachIf(
+                    annotations,
+                    JTTree::isSerializable,
                     writer::append,
                     tree -> writer.appendLineSeparator(),
                     null,
@@ -16,23 +16,25 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ParenthesizedPatternTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 @SuppressWarnings("preview")
 public final class JTParenthesizedPattern
         extends JTPattern<ParenthesizedPatternTree, JTParenthesizedPattern>
         implements ParenthesizedPatternTree {
     private static final String PROPERTY_PATTERN = "pattern";
+    private static final JTProxyTable<JTParenthesizedPattern> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_PATTERN, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getPattern()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PATTERN, (tree, propertyName, propertyValue) -> tree.replacePattern(tree::setPattern, propertyValue));
+    }
+
     private JTPattern<?, ?> pattern;
 
     public JTParenthesizedPattern() {
@@ -58,11 +60,8 @@ public final class JTParenthesizedPattern
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(pattern).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(pattern, predicate);
     }
 
     @Override
@@ -76,21 +75,8 @@ public final class JTParenthesizedPattern
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_PATTERN, propertyName -> v8Runtime.toV8Value(getPattern()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_PATTERN, (propertyName, propertyValue) -> replacePattern(this::setPattern, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTParenthesizedPattern> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTParenthesizedPattern setPattern(JTPattern<?, ?> pattern) {
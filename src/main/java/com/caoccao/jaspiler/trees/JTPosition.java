@@ -16,67 +16,137 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.styles.StandardStyleWriter;
 import com.sun.source.doctree.DocCommentTree;
 import com.sun.source.doctree.DocTree;
 import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.LineMap;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.DocSourcePositions;
 import com.sun.source.util.SourcePositions;
 
-public record JTPosition(
-        long startPosition,
-        long endPosition,
-        long lineNumber,
-        long columnNumber) {
+import java.util.Objects;
+
+/**
+ * The type Jt position holds the start and end positions.
+ * The line and column numbers are resolved from the line map of the compilation unit on access,
+ * because they are rarely read. Two positions are equal if their start and end positions,
+ * line numbers and column numbers are equal.
+ */
+public final class JTPosition {
     public static final JTPosition Invalid = new JTPosition(-1, -1, -1, -1);
 
+    private final long columnNumber;
+    private final long endPosition;
+    private final LineMap lineMap;
+    private final long lineNumber;
+    private final long startPosition;
+
+    public JTPosition(long startPosition, long endPosition, long lineNumber, long columnNumber) {
+        this.columnNumber = columnNumber;
+        this.endPosition = endPosition;
+        this.lineMap = null;
+        this.lineNumber = lineNumber;
+        this.startPosition = startPosition;
+    }
+
+    public JTPosition(long startPosition, long endPosition, LineMap lineMap) {
+        this.columnNumber = -1;
+        this.endPosition = endPosition;
+        this.lineMap = lineMap;
+        this.lineNumber = -1;
+        this.startPosition = startPosition;
+    }
+
     public static JTPosition from(
             DocSourcePositions docSourcePositions,
             CompilationUnitTree compilationUnitTree,
             DocCommentTree docCommentTree,
             DocTree docTree) {
-        long startPosition = docSourcePositions.getStartPosition(compilationUnitTree, docCommentTree, docTree);
-        long endPosition = docSourcePositions.getEndPosition(compilationUnitTree, docCommentTree, docTree);
-        long lineNumber = -1;
-        long columnNumber = -1;
-        if (startPosition >= 0) {
-            lineNumber = compilationUnitTree.getLineMap().getLineNumber(startPosition);
-            columnNumber = compilationUnitTree.getLineMap().getColumnNumber(startPosition);
-        }
-        return new JTPosition(startPosition, endPosition, lineNumber, columnNumber);
+        return new JTPosition(
+                docSourcePositions.getStartPosition(compilationUnitTree, docCommentTree, docTree),
+                docSourcePositions.getEndPosition(compilationUnitTree, docCommentTree, docTree),
+                compilationUnitTree.getLineMap());
     }
 
     public static JTPosition from(
             SourcePositions sourcePositions,
             CompilationUnitTree compilationUnitTree,
             Tree tree) {
-        long startPosition = sourcePositions.getStartPosition(compilationUnitTree, tree);
-        long endPosition = sourcePositions.getEndPosition(compilationUnitTree, tree);
-        long lineNumber = -1;
-        long columnNumber = -1;
-        if (startPosition >= 0) {
-            lineNumber = compilationUnitTree.getLineMap().getLineNumber(startPosition);
-            columnNumber = compilationUnitTree.getLineMap().getColumnNumber(startPosition);
+        return new JTPosition(
+                sourcePositions.getStartPosition(compilationUnitTree, tree),
+                sourcePositions.getEndPosition(compilationUnitTree, tree),
+                compilationUnitTree.getLineMap());
+    }
+
+    public long columnNumber() {
+        if (lineMap == null) {
+            return columnNumber;
         }
-        return new JTPosition(startPosition, endPosition, lineNumber, columnNumber);
+        return startPosition < 0 ? -1 : lineMap.getColumnNumber(startPosition);
+    }
+
+    /**
+     * Column offset is the 0-based distance from the start of the line without expanding the tabs.
+     * It is -1 if the position is not backed by a line map.
+     *
+     * @return the column offset
+     */
+    public long columnOffset() {
+        return startPosition < 0 || lineMap == null
+                ? -1
+                : startPosition - lineMap.getStartPosition(lineMap.getLineNumber(startPosition));
+    }
+
+    public long endPosition() {
+        return endPosition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof JTPosition position
+                && startPosition == position.startPosition
+                && endPosition == position.endPosition
+                && lineNumber() == position.lineNumber()
+                && columnNumber() == position.columnNumber();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startPosition, endPosition);
     }
 
     public boolean isValid() {
-        return !(startPosition < 0 || endPosition < 0 || lineNumber < 0 || columnNumber < 0);
+        if (startPosition < 0 || endPosition < 0) {
+            return false;
+        }
+        return lineMap != null || (lineNumber >= 0 && columnNumber >= 0);
     }
 
     public long length() {
         return endPosition - startPosition;
     }
 
+    public long lineNumber() {
+        if (lineMap == null) {
+            return lineNumber;
+        }
+        return startPosition < 0 ? -1 : lineMap.getLineNumber(startPosition);
+    }
+
+    public long startPosition() {
+        return startPosition;
+    }
+
     @Override
     public String toString() {
         final var stringBuilder = new StringBuilder();
         stringBuilder.append("S: ").append(startPosition).append(", ");
         stringBuilder.append("E: ").append(endPosition).append(", ");
-        stringBuilder.append("L: ").append(lineNumber).append(", ");
-        stringBuilder.append("C: ").append(columnNumber);
+        stringBuilder.append("L: ").append(lineNumber()).append(", ");
+        stringBuilder.append("C: ").append(columnNumber());
         return stringBuilder.toString();
     }
 }
@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.exceptions.JaspilerNotSupportedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueString;
 import com.sun.source.tree.PrimitiveTypeTree;
 import com.sun.source.tree.TreeVisitor;
 
 import javax.lang.model.type.TypeKind;
-import java.util.Map;
 import java.util.Objects;
 
 public final class JTPrimitiveType
         extends JTExpression<PrimitiveTypeTree, JTPrimitiveType>
         implements PrimitiveTypeTree {
     private static final String PROPERTY_PRIMITIVE_TYPE_KIND = "primitiveTypeKind";
+    private static final JTProxyTable<JTPrimitiveType> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_PRIMITIVE_TYPE_KIND, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getPrimitiveTypeKind().name()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_PRIMITIVE_TYPE_KIND, (tree, propertyName, propertyValue) -> tree.setPrimitiveTypeKind(propertyValue));
+    }
+
     private TypeKind primitiveTypeKind;
 
     public JTPrimitiveType() {
@@ -68,21 +72,8 @@ public final class JTPrimitiveType
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_PRIMITIVE_TYPE_KIND, propertyName -> v8Runtime.createV8ValueString(getPrimitiveTypeKind().name()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_PRIMITIVE_TYPE_KIND, (propertyName, propertyValue) -> setPrimitiveTypeKind(propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTPrimitiveType> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     private boolean setPrimitiveTypeKind(V8Value v8Value) {
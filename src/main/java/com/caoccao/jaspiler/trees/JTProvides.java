@@ -16,20 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ProvidesTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTProvides
         extends JTDirective<ProvidesTree, JTProvides>
         implements ProvidesTree {
     private static final String PROPERTY_IMPLEMENTATION_NAMES = "implementationNames";
     private static final String PROPERTY_SERVICE_NAME = "serviceName";
+    private static final JTProxyTable<JTProvides> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_IMPLEMENTATION_NAMES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getImplementationNames()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_SERVICE_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getServiceName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_IMPLEMENTATION_NAMES, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.implementationNames, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_SERVICE_NAME, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setServiceName, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> implementationNames;
     private JTExpression<?, ?> serviceName;
 
@@ -40,7 +47,7 @@ public final class JTProvides
 
     JTProvides(ProvidesTree providesTree, JTTree<?, ?> parentTree) {
         super(providesTree, parentTree);
-        implementationNames = new ArrayList<>();
+        implementationNames = new JTTreeList<>(this);
         serviceName = null;
     }
 
@@ -59,12 +66,10 @@ public final class JTProvides
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(serviceName).ifPresent(nodes::add);
-        implementationNames.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(serviceName, predicate)
+                || matchChildren(implementationNames, predicate);
     }
 
     @Override
@@ -78,28 +83,13 @@ public final class JTProvides
     }
 
     @Override
-    public JTExpression<?, ?> getServiceName() {
-        return serviceName;
-    }
-
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_IMPLEMENTATION_NAMES, propertyName -> v8Runtime.toV8Value(getImplementationNames()));
-            registerStringGetter(PROPERTY_SERVICE_NAME, propertyName -> v8Runtime.toV8Value(getServiceName()));
-        }
-        return stringGetterMap;
+    JTProxyTable<JTProvides> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_IMPLEMENTATION_NAMES, (propertyName, propertyValue) -> replaceExpressions(implementationNames, propertyValue));
-            registerStringSetter(PROPERTY_SERVICE_NAME, (propertyName, propertyValue) -> replaceExpression(this::setServiceName, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getServiceName() {
+        return serviceName;
     }
 
     public JTProvides setServiceName(JTExpression<?, ?> serviceName) {
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.trees;
+
+import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
+import com.caoccao.javet.entities.JavetEntityPropertyDescriptor;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.callback.IJavetDirectCallable;
+import com.caoccao.javet.interop.callback.JavetCallbackContext;
+import com.caoccao.javet.interop.callback.JavetCallbackType;
+import com.caoccao.javet.interop.proxy.IJavetDirectProxyHandler;
+import com.caoccao.javet.utils.JavetResourceUtils;
+import com.caoccao.javet.utils.V8ValueUtils;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.primitive.V8ValueString;
+import com.caoccao.javet.values.reference.V8ValueArray;
+import com.caoccao.javet.values.reference.V8ValueSymbol;
+import com.caoccao.javet.values.reference.builtin.V8ValueBuiltInSymbol;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The type Jt proxy table is the string getter, setter and symbol getter dispatch table
+ * shared by all instances of a class.
+ * It is built once per class and takes the receiver as an argument,
+ * so that accessing a property from V8 does not build any map or lambda per instance.
+ * The symbol getters are keyed by the built-in symbol name, e.g. toPrimitive,
+ * and only match the built-in symbol itself, not a user symbol with the same description.
+ * The property toJSON is hidden so that JSON.stringify() enumerates the own keys.
+ *
+ * @param <T> the type of the receiver
+ */
+final class JTProxyTable<T extends IJavetDirectProxyHandler<JaspilerCheckedException>> {
+    static final String FUNCTION_TO_JSON = "toJSON";
+    private static final String SYMBOL_DESCRIPTION_PREFIX = "Symbol.";
+    private final Set<String> nonEnumerableNames;
+    private final Set<String> stringGetterFunctionNames;
+    private final Map<String, IGetter<? super T>> stringGetterMap;
+    private final Map<String, ISetter<? super T>> stringSetterMap;
+    private final Map<String, IGetter<? super T>> symbolGetterMap;
+
+    JTProxyTable() {
+        nonEnumerableNames = new HashSet<>();
+        stringGetterFunctionNames = new HashSet<>();
+        stringGetterMap = new HashMap<>();
+        stringSetterMap = new HashMap<>();
+        symbolGetterMap = new HashMap<>();
+    }
+
+    JTProxyTable(JTProxyTable<? super T> parentProxyTable) {
+        this();
+        nonEnumerableNames.addAll(Objects.requireNonNull(parentProxyTable).nonEnumerableNames);
+        stringGetterFunctionNames.addAll(parentProxyTable.stringGetterFunctionNames);
+        stringGetterMap.putAll(parentProxyTable.stringGetterMap);
+        stringSetterMap.putAll(parentProxyTable.stringSetterMap);
+        symbolGetterMap.putAll(parentProxyTable.symbolGetterMap);
+    }
+
+    private static <T extends IJavetDirectProxyHandler<JaspilerCheckedException>> V8Value createFunction(
+            T receiver, String name, IFunction<T> function)
+            throws JavetException {
+        return receiver.getV8Runtime().createV8ValueFunction(
+                new JavetCallbackContext(
+                        name,
+                        JavetCallbackType.DirectCallNoThisAndResult,
+                        (IJavetDirectCallable.NoThisAndResult<JaspilerCheckedException>) v8Values ->
+                                function.call(receiver, v8Values)));
+    }
+
+    private static boolean isBuiltInSymbol(V8ValueSymbol v8ValueSymbol, String builtInSymbolName)
+            throws JavetException {
+        try (V8ValueBuiltInSymbol v8ValueBuiltInSymbol =
+                     v8ValueSymbol.getV8Runtime().getGlobalObject().getBuiltInSymbol();
+             V8ValueSymbol builtInV8ValueSymbol = v8ValueBuiltInSymbol.getBuiltInSymbol(builtInSymbolName)) {
+            return builtInV8ValueSymbol != null && builtInV8ValueSymbol.strictEquals(v8ValueSymbol);
+        }
+    }
+
+    V8Value get(T receiver, String propertyName) throws JavetException, JaspilerCheckedException {
+        IGetter<? super T> getter = stringGetterMap.get(propertyName);
+        if (getter != null) {
+            return getter.get(receiver, propertyName);
+        }
+        if (FUNCTION_TO_JSON.equals(propertyName)) {
+            // The default toJSON() of the direct proxy handler ignores the own keys.
+            return receiver.getV8Runtime().createV8ValueUndefined();
+        }
+        return null;
+    }
+
+    /**
+     * Get the value of a string or symbol property.
+     *
+     * @param receiver the receiver
+     * @param property the property
+     * @return the value, or null if the property is not in the table
+     * @throws JavetException           the javet exception
+     * @throws JaspilerCheckedException the jaspiler checked exception
+     */
+    V8Value get(T receiver, V8Value property) throws JavetException, JaspilerCheckedException {
+        if (property instanceof V8ValueString v8ValueString) {
+            return get(receiver, v8ValueString.getValue());
+        }
+        if (property instanceof V8ValueSymbol v8ValueSymbol) {
+            final String description = v8ValueSymbol.getDescription();
+            if (description != null && description.startsWith(SYMBOL_DESCRIPTION_PREFIX)) {
+                final String builtInSymbolName = description.substring(SYMBOL_DESCRIPTION_PREFIX.length());
+                IGetter<? super T> getter = symbolGetterMap.get(builtInSymbolName);
+                if (getter != null) {
+                    // A user symbol with the same description must not fall back to the default handler.
+                    return isBuiltInSymbol(v8ValueSymbol, builtInSymbolName)
+                            ? getter.get(receiver, description)
+                            : receiver.getV8Runtime().createV8ValueUndefined();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the own property descriptor of a string property.
+     * The non-enumerable properties are still readable, but are not listed in the own keys.
+     *
+     * @param receiver the receiver
+     * @param property the property
+     * @return the property descriptor, or null if the property is not in the table
+     * @throws JavetException           the javet exception
+     * @throws JaspilerCheckedException the jaspiler checked exception
+     */
+    V8Value getOwnPropertyDescriptor(T receiver, V8Value property) throws JavetException, JaspilerCheckedException {
+        if (property instanceof V8ValueString v8ValueString) {
+            final String propertyName = v8ValueString.getValue();
+            IGetter<? super T> getter = stringGetterMap.get(propertyName);
+            V8Value v8Value = getter == null ? null : getter.get(receiver, propertyName);
+            if (v8Value != null) {
+                try {
+                    return receiver.getV8Runtime().toV8Value(new JavetEntityPropertyDescriptor<>(
+                            true, !nonEnumerableNames.contains(propertyName), true, v8Value));
+                } finally {
+                    JavetResourceUtils.safeClose(v8Value);
+                }
+            }
+        }
+        return null;
+    }
+
+    Set<String> getStringGetterFunctionNames() {
+        return Collections.unmodifiableSet(stringGetterFunctionNames);
+    }
+
+    Set<String> getStringGetterNames() {
+        return Collections.unmodifiableSet(stringGetterMap.keySet());
+    }
+
+    Set<String> getStringSetterNames() {
+        return Collections.unmodifiableSet(stringSetterMap.keySet());
+    }
+
+    Set<String> getSymbolGetterNames() {
+        return Collections.unmodifiableSet(symbolGetterMap.keySet());
+    }
+
+    boolean has(String propertyName) {
+        return stringGetterMap.containsKey(propertyName);
+    }
+
+    V8ValueArray ownKeys(T receiver) throws JavetException {
+        return V8ValueUtils.createV8ValueArray(
+                receiver.getV8Runtime(),
+                stringGetterMap.keySet().stream().filter(name -> !nonEnumerableNames.contains(name)).toArray());
+    }
+
+    JTProxyTable<T> registerNonEnumerable(String propertyName) {
+        nonEnumerableNames.add(Objects.requireNonNull(propertyName));
+        return this;
+    }
+
+    JTProxyTable<T> registerStringGetter(String propertyName, IGetter<T> getter) {
+        stringGetterFunctionNames.remove(Objects.requireNonNull(propertyName));
+        stringGetterMap.put(propertyName, Objects.requireNonNull(getter));
+        return this;
+    }
+
+    JTProxyTable<T> registerStringGetterFunction(String propertyName, IFunction<T> function) {
+        Objects.requireNonNull(function);
+        registerStringGetter(propertyName, (receiver, name) -> createFunction(receiver, name, function));
+        stringGetterFunctionNames.add(propertyName);
+        return this;
+    }
+
+    JTProxyTable<T> registerStringSetter(String propertyName, ISetter<T> setter) {
+        stringSetterMap.put(Objects.requireNonNull(propertyName), Objects.requireNonNull(setter));
+        return this;
+    }
+
+    JTProxyTable<T> registerSymbolGetterFunction(String builtInSymbolName, IFunction<T> function) {
+        Objects.requireNonNull(function);
+        symbolGetterMap.put(
+                Objects.requireNonNull(builtInSymbolName),
+                (receiver, name) -> createFunction(receiver, name, function));
+        return this;
+    }
+
+    Boolean set(T receiver, String propertyName, V8Value propertyValue)
+            throws JavetException, JaspilerCheckedException {
+        ISetter<? super T> setter = stringSetterMap.get(propertyName);
+        return setter == null ? null : setter.set(receiver, propertyName, propertyValue);
+    }
+
+    @FunctionalInterface
+    interface IFunction<T> {
+        V8Value call(T receiver, V8Value... v8Values) throws JavetException, JaspilerCheckedException;
+    }
+
+    @FunctionalInterface
+    interface IGetter<T> {
+        V8Value get(T receiver, String propertyName) throws JavetException, JaspilerCheckedException;
+    }
+
+    @FunctionalInterface
+    interface ISetter<T> {
+        boolean set(T receiver, String propertyName, V8Value propertyValue)
+                throws JavetException, JaspilerCheckedException;
+    }
+}
@@ -16,17 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.RequiresTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTRequires
         extends JTDirective<RequiresTree, JTRequires>
@@ -34,6 +28,18 @@ public final class JTRequires
     private static final String PROPERTY_MODULE_NAME = "moduleName";
     private static final String PROPERTY_STATIC = "static";
     private static final String PROPERTY_TRANSITIVE = "transitive";
+    private static final JTProxyTable<JTRequires> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODULE_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getModuleName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATIC, (tree, propertyName) -> tree.v8Runtime.createV8ValueBoolean(tree.isStatic()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TRANSITIVE, (tree, propertyName) -> tree.v8Runtime.createV8ValueBoolean(tree.isTransitive()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODULE_NAME, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setModuleName, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATIC, (tree, propertyName, propertyValue) -> tree.replaceBoolean(tree::setStaticPhase, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TRANSITIVE, (tree, propertyName, propertyValue) -> tree.replaceBoolean(tree::setTransitive, propertyValue));
+    }
+
     private JTExpression<?, ?> moduleName;
     private boolean staticPhase;
     private boolean transitive;
@@ -65,11 +71,8 @@ public final class JTRequires
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(moduleName).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(moduleName, predicate);
     }
 
     @Override
@@ -82,6 +85,11 @@ public final class JTRequires
         return moduleName;
     }
 
+    @Override
+    JTProxyTable<JTRequires> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public boolean isStatic() {
         return staticPhase;
@@ -92,28 +100,6 @@ public final class JTRequires
         return transitive;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_MODULE_NAME, propertyName -> v8Runtime.toV8Value(getModuleName()));
-            registerStringGetter(PROPERTY_STATIC, propertyName -> v8Runtime.createV8ValueBoolean(isStatic()));
-            registerStringGetter(PROPERTY_TRANSITIVE, propertyName -> v8Runtime.createV8ValueBoolean(isTransitive()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_MODULE_NAME, (propertyName, propertyValue) -> replaceExpression(this::setModuleName, propertyValue));
-            registerStringSetter(PROPERTY_STATIC, (propertyName, propertyValue) -> replaceBoolean(this::setStaticPhase, propertyValue));
-            registerStringSetter(PROPERTY_TRANSITIVE, (propertyName, propertyValue) -> replaceBoolean(this::setTransitive, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     public JTRequires setModuleName(JTExpression<?, ?> moduleName) {
         if (this.moduleName == moduleName) {
             return this;
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.trees;
+
+import com.caoccao.jaspiler.exceptions.JaspilerExecutionException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.tools.FileObject;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Jt snapshot encodes a subtree as compact JSON, so that a read-only plugin gets
+ * a plain JS object graph in one call instead of one proxy call per property.
+ * The properties are the proxy properties backed by a public Java getter, resolved once per class.
+ * The trees deeper than the depth are encoded as null.
+ */
+final class JTSnapshot {
+    static final int DEPTH_UNLIMITED = -1;
+    private static final Set<String> EXCLUDED_PROPERTY_NAMES = Set.of(
+            JTTree.PROPERTY_CLASS_NAME,
+            JTTree.PROPERTY_CLASS_SIMPLE_NAME,
+            JTTree.PROPERTY_PARENT_TREE);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Map<String, String> METHOD_NAME_MAP = Map.of(
+            "implementsClauses", "getImplementsClause",
+            "permitsClauses", "getPermitsClause",
+            "qualifiedExpression", "getQualifierExpression",
+            "staticImport", "isStatic",
+            "throwExpressions", "getThrows");
+    private static final String[] METHOD_PREFIXES = new String[]{"get", "is", ""};
+    private static final Map<Class<?>, List<Property>> PROPERTIES_MAP = new ConcurrentHashMap<>();
+
+    private JTSnapshot() {
+    }
+
+    private static List<Property> getProperties(JTTree<?, ?> tree) {
+        return PROPERTIES_MAP.computeIfAbsent(tree.getClass(), treeClass -> {
+            final var proxyTable = tree.getProxyTable();
+            final Set<String> functionNames = proxyTable.getStringGetterFunctionNames();
+            final List<Property> properties = new ArrayList<>();
+            for (String propertyName : proxyTable.getStringGetterNames()) {
+                if (!functionNames.contains(propertyName) && !EXCLUDED_PROPERTY_NAMES.contains(propertyName)) {
+                    Method method = getMethod(treeClass, propertyName);
+                    if (method != null) {
+                        properties.add(new Property(propertyName, method));
+                    }
+                }
+            }
+            properties.sort(Comparator.comparing(Property::name));
+            return List.copyOf(properties);
+        });
+    }
+
+    private static Method getMethod(Class<?> treeClass, String propertyName) {
+        // A few property names do not follow the names of the getters.
+        final String methodName = METHOD_NAME_MAP.get(propertyName);
+        if (methodName != null) {
+            try {
+                return treeClass.getMethod(methodName);
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        final String suffix = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        for (String prefix : METHOD_PREFIXES) {
+            try {
+                Method method = treeClass.getMethod(prefix.isEmpty() ? propertyName : prefix + suffix);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return null;
+    }
+
+    static String toJson(JTTree<?, ?> tree, int depth) throws JaspilerExecutionException {
+        final var stringWriter = new StringWriter();
+        try (JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(stringWriter)) {
+            writeTree(jsonGenerator, tree, depth);
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new JaspilerExecutionException(e.getMessage(), e);
+        }
+        return stringWriter.toString();
+    }
+
+    private static void writeTree(JsonGenerator jsonGenerator, JTTree<?, ?> tree, int depth)
+            throws IOException, ReflectiveOperationException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField(JTTree.PROPERTY_CLASS_NAME, tree.getClass().getName());
+        jsonGenerator.writeStringField(JTTree.PROPERTY_CLASS_SIMPLE_NAME, tree.getClass().getSimpleName());
+        final int childDepth = depth > 0 ? depth - 1 : depth;
+        for (Property property : getProperties(tree)) {
+            final Object value;
+            try {
+                value = property.method().invoke(tree);
+            } catch (InvocationTargetException e) {
+                // Some getters are not applicable to the kind of the tree.
+                if (e.getCause() instanceof RuntimeException) {
+                    continue;
+                }
+                throw e;
+            }
+            jsonGenerator.writeFieldName(property.name());
+            writeValue(jsonGenerator, value, childDepth, depth == 0);
+        }
+        jsonGenerator.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator jsonGenerator, Object value, int depth, boolean truncated)
+            throws IOException, ReflectiveOperationException {
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else if (value instanceof JTTree<?, ?> tree) {
+            if (truncated) {
+                jsonGenerator.writeNull();
+            } else {
+                writeTree(jsonGenerator, tree, depth);
+            }
+        } else if (value instanceof JTName name) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField(JTName.PROPERTY_VALUE, name.getValue());
+            jsonGenerator.writeEndObject();
+        } else if (value instanceof Collection<?> collection) {
+            jsonGenerator.writeStartArray();
+            for (Object item : collection) {
+                writeValue(jsonGenerator, item, depth, truncated);
+            }
+            jsonGenerator.writeEndArray();
+        } else if (value instanceof Boolean booleanValue) {
+            jsonGenerator.writeBoolean(booleanValue);
+        } else if (value instanceof Double || value instanceof Float) {
+            final double doubleValue = ((Number) value).doubleValue();
+            if (Double.isFinite(doubleValue)) {
+                jsonGenerator.writeNumber(doubleValue);
+            } else {
+                jsonGenerator.writeString(value.toString());
+            }
+        } else if (value instanceof Number number) {
+            jsonGenerator.writeNumber(number.longValue());
+        } else if (value instanceof FileObject fileObject) {
+            jsonGenerator.writeString(fileObject.getName());
+        } else {
+            jsonGenerator.writeString(value.toString());
+        }
+    }
+
+    private record Property(String name, Method method) {
+    }
+}
@@ -16,20 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.SwitchTree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTSwitch
         extends JTStatement<SwitchTree, JTSwitch>
         implements SwitchTree {
     private static final String PROPERTY_CASES = "cases";
     private static final String PROPERTY_EXPRESSION = "expression";
+    private static final JTProxyTable<JTSwitch> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_CASES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCases()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CASES, (tree, propertyName, propertyValue) -> tree.replaceCases(tree.cases, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+    }
+
     private final List<JTCase> cases;
     private JTExpression<?, ?> expression;
 
@@ -40,7 +47,7 @@ public final class JTSwitch
 
     JTSwitch(SwitchTree switchTree, JTTree<?, ?> parentTree) {
         super(switchTree, parentTree);
-        cases = new ArrayList<>();
+        cases = new JTTreeList<>(this);
         expression = null;
     }
 
@@ -59,12 +66,8 @@ public final class JTSwitch
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        cases.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(expression, predicate) || matchChildren(cases, predicate);
     }
 
     @Override
@@ -83,23 +86,8 @@ public final class JTSwitch
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_CASES, propertyName -> v8Runtime.toV8Value(getCases()));
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_CASES, (propertyName, propertyValue) -> replaceCases(cases, propertyValue));
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTSwitch> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTSwitch setExpression(JTExpression<?, ?> expression) {
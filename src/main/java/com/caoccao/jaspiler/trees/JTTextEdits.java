@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.trees;
+
+import com.caoccao.jaspiler.styles.IStyleWriter;
+import com.caoccao.jaspiler.styles.StandardStyleWriter;
+import com.caoccao.jaspiler.styles.StyleOptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The type Jt text edits holds the minimal text edits against the original code of a compilation unit.
+ * Only the trees with their own change, or with an ignored child, are reprinted.
+ * The trees that only have changes in their descendants keep their original text around the edits.
+ */
+public final class JTTextEdits {
+    public static final int DEFAULT_CONTEXT_LINES = 3;
+    private final List<Edit> edits;
+    private final String originalCode;
+
+    private JTTextEdits(String originalCode, List<Edit> edits) {
+        this.edits = List.copyOf(edits);
+        this.originalCode = Objects.requireNonNull(originalCode);
+    }
+
+    /**
+     * Create the text edits of the compilation unit.
+     *
+     * @param compilationUnit the compilation unit
+     * @param options         the style options of the reprinted trees
+     * @return the text edits, or null if the compilation unit is ignored
+     */
+    public static JTTextEdits of(JTCompilationUnit compilationUnit, StyleOptions options) {
+        Objects.requireNonNull(options);
+        if (compilationUnit.isActionIgnore()) {
+            return null;
+        }
+        final String originalCode = compilationUnit.getOriginalCode();
+        final List<Edit> edits = new ArrayList<>();
+        if (!collect(compilationUnit, 0, options, edits)) {
+            edits.clear();
+            edits.add(new Edit(0, originalCode.length(), serialize(compilationUnit, 0, options)));
+        }
+        return new JTTextEdits(originalCode, edits);
+    }
+
+    private static boolean collect(JTTree<?, ?> tree, int depth, StyleOptions options, List<Edit> edits) {
+        if (!tree.isActionChange()) {
+            return true;
+        }
+        final var originalPosition = tree.getOriginalPosition();
+        if (!originalPosition.isValid()) {
+            return false;
+        }
+        if (!tree.getAction().isChange()) {
+            final int size = edits.size();
+            final int childDepth = tree instanceof JTClassDecl || tree instanceof JTBlock ? depth + 1 : depth;
+            final List<JTTree<?, ?>> children = new ArrayList<>();
+            tree.forEachChild(children::add);
+            boolean collected = true;
+            for (var child : children) {
+                if (child.isActionIgnore() || !collect(child, childDepth, options, edits)) {
+                    collected = false;
+                    break;
+                }
+            }
+            if (collected) {
+                return true;
+            }
+            edits.subList(size, edits.size()).clear();
+        }
+        if (tree instanceof JTCompilationUnit) {
+            return false;
+        }
+        final int startPosition = (int) originalPosition.startPosition();
+        edits.add(new Edit(
+                startPosition,
+                (int) originalPosition.endPosition() - startPosition,
+                serialize(tree, depth, options)));
+        return true;
+    }
+
+    private static void appendLine(StringBuilder stringBuilder, char prefix, String code, int[] lineStarts, int line) {
+        final int start = lineStarts[line];
+        int end = line + 1 < lineStarts.length ? lineStarts[line + 1] : code.length();
+        final boolean lineSeparator = end > start && code.charAt(end - 1) == '\n';
+        stringBuilder.append(prefix).append(code, start, lineSeparator ? end - 1 : end).append(IStyleWriter.LINE_SEPARATOR);
+        if (!lineSeparator) {
+            stringBuilder.append("\\ No newline at end of file").append(IStyleWriter.LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Gets the path in the diff header relative to the a/ and b/ prefixes,
+     * so that the diff can be applied by git apply or patch -p1.
+     * The separators are normalized to '/', and the leading separators and drive letter are stripped.
+     *
+     * @param fileName the file name
+     * @return the path in the diff header
+     */
+    static String getDiffPath(String fileName) {
+        String path = fileName.replace('\\', '/');
+        if (path.length() >= 2 && path.charAt(1) == ':' && Character.isLetter(path.charAt(0))) {
+            path = path.substring(2);
+        }
+        int index = 0;
+        while (index < path.length() && path.charAt(index) == '/') {
+            ++index;
+        }
+        return path.substring(index);
+    }
+
+    private static int getLineIndex(int[] lineStarts, int offset) {
+        int index = Arrays.binarySearch(lineStarts, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static int[] getLineStarts(String code) {
+        final var lineStarts = new ArrayList<Integer>();
+        lineStarts.add(0);
+        final int length = code.length();
+        for (int i = 0; i < length - 1; i++) {
+            if (code.charAt(i) == '\n') {
+                lineStarts.add(i + 1);
+            }
+        }
+        return lineStarts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String serialize(JTTree<?, ?> tree, int depth, StyleOptions options) {
+        final var writer = new StandardStyleWriter(options);
+        for (int i = 0; i < depth; i++) {
+            writer.increaseDepth();
+        }
+        tree.serialize(writer);
+        return writer.toString();
+    }
+
+    /**
+     * Apply the edits to the original code.
+     *
+     * @return the new code
+     */
+    public String apply() {
+        int length = originalCode.length();
+        for (var edit : edits) {
+            length += edit.replacement().length() - edit.length();
+        }
+        final var stringBuilder = new StringBuilder(Math.max(0, length));
+        int position = 0;
+        for (var edit : edits) {
+            stringBuilder.append(originalCode, position, edit.offset()).append(edit.replacement());
+            position = edit.offset() + edit.length();
+        }
+        return stringBuilder.append(originalCode, position, originalCode.length()).toString();
+    }
+
+    public List<Edit> getEdits() {
+        return edits;
+    }
+
+    public String getOriginalCode() {
+        return originalCode;
+    }
+
+    public boolean isEmpty() {
+        return edits.isEmpty();
+    }
+
+    /**
+     * Generate the unified diff from the edits. Only the lines touched by the edits are compared.
+     * The file name is expected to be relative to the source root, and an absolute one loses its leading separator.
+     *
+     * @param fileName     the file name
+     * @param contextLines the number of context lines
+     * @return the unified diff, or an empty string if there is no edit
+     */
+    public String toUnifiedDiff(String fileName, int contextLines) {
+        if (edits.isEmpty()) {
+            return IStyleWriter.EMPTY;
+        }
+        final String newCode = apply();
+        final int[] oldLineStarts = getLineStarts(originalCode);
+        final int[] newLineStarts = getLineStarts(newCode);
+        // Each block is {old from line, old to line, new from line, new to line}, inclusive.
+        final List<int[]> blocks = new ArrayList<>();
+        int delta = 0;
+        for (var edit : edits) {
+            final int newOffset = edit.offset() + delta;
+            final int[] block = new int[]{
+                    getLineIndex(oldLineStarts, edit.offset()),
+                    getLineIndex(oldLineStarts, edit.offset() + edit.length()),
+                    getLineIndex(newLineStarts, newOffset),
+                    getLineIndex(newLineStarts, newOffset + edit.replacement().length())};
+            delta += edit.replacement().length() - edit.length();
+            final int[] lastBlock = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (lastBlock != null && lastBlock[1] >= block[0]) {
+                lastBlock[1] = Math.max(lastBlock[1], block[1]);
+                lastBlock[3] = Math.max(lastBlock[3], block[3]);
+            } else {
+                blocks.add(block);
+            }
+        }
+        final int context = Math.max(0, contextLines);
+        final var stringBuilder = new StringBuilder();
+        final String path = getDiffPath(fileName);
+        stringBuilder.append("--- a/").append(path).append(IStyleWriter.LINE_SEPARATOR);
+        stringBuilder.append("+++ b/").append(path).append(IStyleWriter.LINE_SEPARATOR);
+        int fromIndex = 0;
+        while (fromIndex < blocks.size()) {
+            int toIndex = fromIndex;
+            while (toIndex + 1 < blocks.size() && blocks.get(toIndex + 1)[0] - blocks.get(toIndex)[1] - 1 <= context * 2) {
+                ++toIndex;
+            }
+            final int[] firstBlock = blocks.get(fromIndex);
+            final int[] lastBlock = blocks.get(toIndex);
+            final int oldFromLine = Math.max(0, firstBlock[0] - context);
+            final int oldToLine = Math.min(oldLineStarts.length - 1, lastBlock[1] + context);
+            final int newFromLine = firstBlock[2] - (firstBlock[0] - oldFromLine);
+            final int newToLine = lastBlock[3] + (oldToLine - lastBlock[1]);
+            stringBuilder.append("@@ -").append(oldFromLine + 1).append(',').append(oldToLine - oldFromLine + 1);
+            stringBuilder.append(" +").append(newFromLine + 1).append(',').append(newToLine - newFromLine + 1);
+            stringBuilder.append(" @@").append(IStyleWriter.LINE_SEPARATOR);
+            int oldLine = oldFromLine;
+            for (int i = fromIndex; i <= toIndex; i++) {
+                final int[] block = blocks.get(i);
+                for (; oldLine < block[0]; oldLine++) {
+                    appendLine(stringBuilder, ' ', originalCode, oldLineStarts, oldLine);
+                }
+                for (; oldLine <= block[1]; oldLine++) {
+                    appendLine(stringBuilder, '-', originalCode, oldLineStarts, oldLine);
+                }
+                for (int newLine = block[2]; newLine <= block[3]; newLine++) {
+                    appendLine(stringBuilder, '+', newCode, newLineStarts, newLine);
+                }
+            }
+            for (; oldLine <= oldToLine; oldLine++) {
+                appendLine(stringBuilder, ' ', originalCode, oldLineStarts, oldLine);
+            }
+            fromIndex = toIndex + 1;
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * The type Edit replaces the length of characters at the offset of the original code with the replacement.
+     */
+    public record Edit(int offset, int length, String replacement) {
+    }
+}
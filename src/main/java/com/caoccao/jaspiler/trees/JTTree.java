@@ -24,22 +24,23 @@ import com.caoccao.jaspiler.styles.StandardStyleWriter;
 import com.caoccao.jaspiler.styles.StyleOptions;
 import com.caoccao.jaspiler.utils.BaseLoggingObject;
 import com.caoccao.javet.exceptions.JavetException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.interop.V8Runtime;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueBoolean;
+import com.caoccao.javet.values.primitive.V8ValueDouble;
+import com.caoccao.javet.values.primitive.V8ValueInteger;
 import com.caoccao.javet.values.primitive.V8ValueString;
-import com.caoccao.javet.values.reference.V8ValueSymbol;
+import com.caoccao.javet.values.reference.V8ValueArray;
+import com.caoccao.javet.values.reference.V8ValueObject;
 import com.caoccao.javet.values.reference.builtin.V8ValueBuiltInSymbol;
 import com.sun.source.tree.Tree;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 @SuppressWarnings("unchecked")
 public abstract class JTTree<
@@ -53,58 +54,134 @@ public abstract class JTTree<
     protected static final String FUNCTION_SET_ACTION_CHANGE = "setActionChange";
     protected static final String FUNCTION_SET_ACTION_IGNORE = "setActionIgnore";
     protected static final String FUNCTION_SET_ACTION_NO_CHANGE = "setActionNoChange";
+    protected static final String FUNCTION_SNAPSHOT = "snapshot";
     protected static final String FUNCTION_TO_STRING = "toString";
     protected static final long INVALID_POSITION = -1L;
     protected static final String PROPERTY_CLASS_NAME = "className";
     protected static final String PROPERTY_CLASS_SIMPLE_NAME = "classSimpleName";
     protected static final String PROPERTY_KIND = "kind";
     protected static final String PROPERTY_PARENT_TREE = "parentTree";
+    static final JTProxyTable<JTTree<?, ?>> PROXY_TABLE;
+    private static final String FUNCTION_PARSE = "parse";
+    private static final String GLOBAL_JSON = "JSON";
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>();
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_IS_ACTION_CHANGE, (tree, v8Values) -> tree.v8Runtime.createV8ValueBoolean(tree.isActionChange()));
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_IS_ACTION_IGNORE, (tree, v8Values) -> tree.v8Runtime.createV8ValueBoolean(tree.isActionIgnore()));
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_IS_ACTION_NO_CHANGE, (tree, v8Values) -> tree.v8Runtime.createV8ValueBoolean(tree.isActionNoChange()));
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_SET_ACTION_CHANGE, (tree, v8Values) -> {
+            tree.setActionChange();
+            return tree.v8Runtime.createV8ValueBoolean(true);
+        });
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_SET_ACTION_IGNORE, (tree, v8Values) -> {
+            tree.setActionIgnore();
+            return tree.v8Runtime.createV8ValueBoolean(true);
+        });
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_SET_ACTION_NO_CHANGE, (tree, v8Values) -> {
+            tree.setActionNoChange();
+            return tree.v8Runtime.createV8ValueBoolean(true);
+        });
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_SNAPSHOT, JTTree::snapshot);
+        PROXY_TABLE.registerStringGetterFunction(FUNCTION_TO_STRING, (tree, v8Values) -> tree.v8Runtime.createV8ValueString(tree.toString()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_CLASS_NAME, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getClass().getName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_CLASS_SIMPLE_NAME, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getClass().getSimpleName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_KIND, (tree, propertyName) -> tree.v8Runtime.createV8ValueString(tree.getKind().name()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_PARENT_TREE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getParentTree()));
+        // The parent tree is not enumerable so that spreading or stringifying a tree does not walk back up.
+        PROXY_TABLE.registerNonEnumerable(PROPERTY_PARENT_TREE);
+        PROXY_TABLE.registerSymbolGetterFunction(V8ValueBuiltInSymbol.PROPERTY_TO_PRIMITIVE, (tree, v8Values) -> tree.v8Runtime.createV8ValueString(tree.toString()));
+    }
+
     protected JaspilerContract.Action action;
-    protected JTPosition originalPosition;
+    protected boolean actionChangeInDescendants;
+    protected boolean classDeclInDescendants;
+    protected JTCompilationUnit originalCompilationUnit;
+    protected int originalPositionIndex;
     protected OriginalTree originalTree;
     protected JTTree<?, ?> parentTree;
-    protected Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> stringGetterMap;
-    protected Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> stringSetterMap;
-    protected Map<String, IJavetUniFunction<V8ValueSymbol, ? extends V8Value, JaspilerCheckedException>> symbolGetterMap;
     protected V8Runtime v8Runtime;
 
     JTTree(OriginalTree originalTree, JTTree<?, ?> parentTree) {
         super();
-        originalPosition = JTPosition.Invalid;
+        actionChangeInDescendants = false;
+        classDeclInDescendants = false;
+        originalCompilationUnit = null;
+        originalPositionIndex = -1;
         this.originalTree = originalTree;
         this.parentTree = parentTree;
         setAction(JaspilerContract.Action.NoChange);
-        stringGetterMap = null;
-        stringSetterMap = null;
-        symbolGetterMap = null;
         setV8Runtime(null);
     }
 
+    static boolean matchChild(JTTree<?, ?> tree, Predicate<JTTree<?, ?>> predicate) {
+        return tree != null && predicate.test(tree);
+    }
+
+    static boolean matchChildren(List<? extends JTTree<?, ?>> trees, Predicate<JTTree<?, ?>> predicate) {
+        if (trees != null) {
+            final int length = trees.size();
+            for (int i = 0; i < length; i++) {
+                if (matchChild(trees.get(i), predicate)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     NewTree analyze() {
-        originalPosition = getCompilationUnit().getOriginalPosition(getOriginalTree());
+        // The position index only makes sense in the compilation unit that parsed the tree,
+        // so the unit is kept for the tree that is detached or moved later.
+        originalCompilationUnit = getCompilationUnit();
+        originalPositionIndex = originalCompilationUnit.addOriginalPosition(getOriginalTree());
         return (NewTree) this;
     }
 
+    /**
+     * Test the child trees in the source order without allocating any intermediate collection,
+     * and stop at the first child tree that matches the predicate.
+     *
+     * @param predicate the predicate
+     * @return true : a child tree matches the predicate
+     */
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return false;
+    }
+
+    /**
+     * For each child tree call the consumer in the source order.
+     *
+     * @param consumer the consumer
+     */
+    void forEachChild(Consumer<JTTree<?, ?>> consumer) {
+        anyChildMatch(child -> {
+            consumer.accept(child);
+            return false;
+        });
+    }
+
     @Override
     public JaspilerContract.Action getAction() {
         return action;
     }
 
-    List<JTTree<?, ?>> getAllNodes() {
-        return new ArrayList<>();
-    }
-
     protected long getOptionalEndPosition(long position) {
-        return getOriginalPosition().isValid() ? getOriginalPosition().endPosition() : position;
+        final var originalPosition = getOriginalPosition();
+        return originalPosition.isValid() ? originalPosition.endPosition() : position;
     }
 
     public String getOriginalCode() {
-        return getCompilationUnit().getOriginalCode();
+        return originalCompilationUnit == null
+                ? getCompilationUnit().getOriginalCode()
+                : originalCompilationUnit.getOriginalCode();
     }
 
     @Override
     public JTPosition getOriginalPosition() {
-        return originalPosition;
+        return originalPositionIndex < 0 || originalCompilationUnit == null
+                ? JTPosition.Invalid
+                : originalCompilationUnit.getOriginalPosition(originalPositionIndex);
     }
 
     @Override
@@ -117,6 +194,15 @@ public abstract class JTTree<
         return parentTree;
     }
 
+    JTProxyTable<? extends JTTree<?, ?>> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
+    private JTProxyTable<JTTree<?, ?>> getProxyTableOfThis() {
+        // The proxy table returned by the most derived class always accepts this tree as the receiver.
+        return (JTProxyTable<JTTree<?, ?>>) getProxyTable();
+    }
+
     @Override
     public V8Runtime getV8Runtime() {
         return v8Runtime;
@@ -127,65 +213,84 @@ public abstract class JTTree<
         if (isActionIgnore()) {
             return false;
         }
-        if (getAction().isChange()) {
-            return true;
+        return getAction().isChange() || actionChangeInDescendants;
+    }
+
+    private static boolean isActionChangeInSubtree(JTTree<?, ?> tree) {
+        return !tree.getAction().isNoChange() || tree.actionChangeInDescendants;
+    }
+
+    public boolean isActionChangeInDescendants() {
+        return actionChangeInDescendants;
+    }
+
+    /**
+     * Whether a class declaration is or was in the descendants.
+     * It is never reset after a class declaration is removed, so it may be a false positive but never a false negative.
+     *
+     * @return true : a class declaration may be in the descendants
+     */
+    public boolean isClassDeclInDescendants() {
+        return classDeclInDescendants;
+    }
+
+    static boolean isSerializable(JTTree<?, ?> tree) {
+        return tree != null && !tree.isActionIgnore();
+    }
+
+    @Override
+    public V8Value proxyGet(V8Value target, V8Value property, V8Value receiver)
+            throws JavetException, JaspilerCheckedException {
+        V8Value v8Value = getProxyTableOfThis().get(this, property);
+        if (v8Value != null) {
+            return v8Value;
         }
-        return getAllNodes().stream()
-                .anyMatch(jtTree -> jtTree.isActionChange() || jtTree.isActionIgnore());
+        return IJTTree.super.proxyGet(target, property, receiver);
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            stringGetterMap = new HashMap<>();
-            registerStringGetterFunction(FUNCTION_IS_ACTION_CHANGE, property -> v8Runtime.createV8ValueBoolean(isActionChange()));
-            registerStringGetterFunction(FUNCTION_IS_ACTION_IGNORE, property -> v8Runtime.createV8ValueBoolean(isActionIgnore()));
-            registerStringGetterFunction(FUNCTION_IS_ACTION_NO_CHANGE, property -> v8Runtime.createV8ValueBoolean(isActionNoChange()));
-            registerStringGetterFunction(FUNCTION_SET_ACTION_CHANGE, property -> {
-                setActionChange();
-                return v8Runtime.createV8ValueBoolean(true);
-            });
-            registerStringGetterFunction(FUNCTION_SET_ACTION_IGNORE, property -> {
-                setActionIgnore();
-                return v8Runtime.createV8ValueBoolean(true);
-            });
-            registerStringGetterFunction(FUNCTION_SET_ACTION_NO_CHANGE, property -> {
-                setActionNoChange();
-                return v8Runtime.createV8ValueBoolean(true);
-            });
-            registerStringGetterFunction(FUNCTION_TO_STRING, property -> v8Runtime.createV8ValueString(toString()));
-            registerStringGetter(PROPERTY_CLASS_NAME, property -> v8Runtime.createV8ValueString(getClass().getName()));
-            registerStringGetter(PROPERTY_CLASS_SIMPLE_NAME, property -> v8Runtime.createV8ValueString(getClass().getSimpleName()));
-            registerStringGetter(PROPERTY_KIND, property -> v8Runtime.createV8ValueString(getKind().name()));
-            registerStringGetter(PROPERTY_PARENT_TREE, property -> v8Runtime.toV8Value(getParentTree()));
-        }
-        return stringGetterMap;
+    public V8Value proxyGetOwnPropertyDescriptor(V8Value target, V8Value property)
+            throws JavetException, JaspilerCheckedException {
+        V8Value v8Value = getProxyTableOfThis().getOwnPropertyDescriptor(this, property);
+        if (v8Value != null) {
+            return v8Value;
+        }
+        return IJTTree.super.proxyGetOwnPropertyDescriptor(target, property);
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            stringSetterMap = new HashMap<>();
+    public V8ValueBoolean proxyHas(V8Value target, V8Value property) throws JavetException, JaspilerCheckedException {
+        if (property instanceof V8ValueString v8ValueString && getProxyTable().has(v8ValueString.getValue())) {
+            return v8Runtime.createV8ValueBoolean(true);
         }
-        return stringSetterMap;
+        return IJTTree.super.proxyHas(target, property);
     }
 
     @Override
-    public Map<String, IJavetUniFunction<V8ValueSymbol, ? extends V8Value, JaspilerCheckedException>> proxyGetSymbolGetterMap() {
-        if (symbolGetterMap == null) {
-            symbolGetterMap = new HashMap<>();
-            registerSymbolGetterFunction(V8ValueBuiltInSymbol.SYMBOL_PROPERTY_TO_PRIMITIVE, description -> v8Runtime.createV8ValueString(toString()));
+    public V8ValueArray proxyOwnKeys(V8Value target) throws JavetException, JaspilerCheckedException {
+        return getProxyTableOfThis().ownKeys(this);
+    }
+
+    @Override
+    public V8ValueBoolean proxySet(V8Value target, V8Value propertyKey, V8Value propertyValue, V8Value receiver)
+            throws JavetException, JaspilerCheckedException {
+        if (propertyKey instanceof V8ValueString v8ValueString) {
+            Boolean result = getProxyTableOfThis().set(this, v8ValueString.getValue(), propertyValue);
+            if (result != null) {
+                return v8Runtime.createV8ValueBoolean(result);
+            }
         }
-        return symbolGetterMap;
+        return IJTTree.super.proxySet(target, propertyKey, propertyValue, receiver);
     }
 
     protected boolean replaceAnnotations(List<JTAnnotation> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTAnnotation)
                     .map(tree -> ((JTAnnotation) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -210,11 +315,12 @@ public abstract class JTTree<
 
     protected boolean replaceCaseLabels(List<JTCaseLabel<?, ?>> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTCaseLabel<?, ?>)
                     .map(tree -> ((JTCaseLabel<?, ?>) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -223,11 +329,12 @@ public abstract class JTTree<
 
     protected boolean replaceCases(List<JTCase> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTCase)
                     .map(tree -> ((JTCase) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -236,11 +343,12 @@ public abstract class JTTree<
 
     protected boolean replaceCatches(List<JTCatch> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTCatch)
                     .map(tree -> ((JTCatch) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -257,11 +365,12 @@ public abstract class JTTree<
 
     protected boolean replaceDirectives(List<JTDirective<?, ?>> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTDirective<?, ?>)
                     .map(tree -> ((JTDirective<?, ?>) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -278,11 +387,12 @@ public abstract class JTTree<
 
     protected boolean replaceExpressionStatements(List<JTExpressionStatement> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTExpressionStatement)
                     .map(tree -> ((JTExpressionStatement) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -291,11 +401,12 @@ public abstract class JTTree<
 
     protected boolean replaceExpressions(List<JTExpression<?, ?>> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTExpression<?, ?>)
                     .map(tree -> ((JTExpression<?, ?>) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -304,11 +415,12 @@ public abstract class JTTree<
 
     protected boolean replaceImports(List<JTImport> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTImport)
                     .map(tree -> ((JTImport) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -381,11 +493,12 @@ public abstract class JTTree<
 
     protected boolean replaceStatements(List<JTStatement<?, ?>> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTStatement<?, ?>)
                     .map(tree -> ((JTStatement<?, ?>) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -410,11 +523,12 @@ public abstract class JTTree<
 
     protected boolean replaceTrees(List<JTTree<?, ?>> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTTree<?, ?>)
                     .map(tree -> ((JTTree<?, ?>) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -423,11 +537,12 @@ public abstract class JTTree<
 
     protected boolean replaceTypeParameters(List<JTTypeParameter> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTTypeParameter)
                     .map(tree -> ((JTTypeParameter) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -444,11 +559,12 @@ public abstract class JTTree<
 
     protected boolean replaceVariableDecls(List<JTVariableDecl> list, V8Value v8Value) throws JavetException {
         if (v8Runtime.toObject(v8Value) instanceof List<?> trees) {
-            list.clear();
-            trees.stream()
+            final var newTrees = trees.stream()
                     .filter(tree -> tree instanceof JTVariableDecl)
                     .map(tree -> ((JTVariableDecl) tree).setParentTree(this))
-                    .forEach(list::add);
+                    .toList();
+            list.clear();
+            list.addAll(newTrees);
             setActionChange();
             return true;
         }
@@ -466,23 +582,80 @@ public abstract class JTTree<
                             "{0} serialize() has not been implemented yet. You may either file an issue, or submit a pull request.",
                             getClass().getSimpleName()));
         }
-        if (!getOriginalPosition().isValid()) {
+        final var originalPosition = getOriginalPosition();
+        if (!originalPosition.isValid()) {
             return false;
         }
-        writer.append(getOriginalCode().substring(
-                (int) getOriginalPosition().startPosition(),
-                (int) getOriginalPosition().endPosition()));
+        writer.append(
+                getOriginalCode(),
+                (int) originalPosition.startPosition(),
+                (int) originalPosition.endPosition());
         return true;
     }
 
     public NewTree setAction(JaspilerContract.Action action) {
-        this.action = action;
+        final boolean changed = this.action != null && !this.action.isNoChange();
+        this.action = Objects.requireNonNull(action);
+        if (parentTree != null) {
+            if (!action.isNoChange()) {
+                parentTree.setActionChangeInDescendants();
+            } else if (changed && !actionChangeInDescendants) {
+                parentTree.resetActionChangeInDescendants();
+            }
+        }
         return (NewTree) this;
     }
 
+    /**
+     * Recomputes the action change in descendants flag from the children after a child is reset to NoChange,
+     * and propagates it up the parent tree chain.
+     * The propagation stops at the first ancestor that still has a changed child,
+     * or that is changed itself so that its parent stays flagged.
+     */
+    void resetActionChangeInDescendants() {
+        JTTree<?, ?> tree = this;
+        while (tree != null
+                && tree.actionChangeInDescendants
+                && !tree.anyChildMatch(JTTree::isActionChangeInSubtree)) {
+            tree.actionChangeInDescendants = false;
+            if (!tree.getAction().isNoChange()) {
+                break;
+            }
+            tree = tree.parentTree;
+        }
+    }
+
+    /**
+     * Sets the action change in descendants flag and propagates it up the parent tree chain.
+     * The propagation stops at the first ancestor that has been flagged
+     * because all its ancestors have been flagged as well.
+     */
+    void setActionChangeInDescendants() {
+        JTTree<?, ?> tree = this;
+        while (tree != null && !tree.actionChangeInDescendants) {
+            tree.actionChangeInDescendants = true;
+            tree = tree.parentTree;
+        }
+    }
+
+    /**
+     * Sets the class decl in descendants flag and propagates it up the parent tree chain.
+     * The scanners rely on it to prune the subtrees that cannot contain any class declaration.
+     */
+    void setClassDeclInDescendants() {
+        JTTree<?, ?> tree = this;
+        while (tree != null && !tree.classDeclInDescendants) {
+            tree.classDeclInDescendants = true;
+            tree = tree.parentTree;
+        }
+    }
+
     NewTree setParentTree(JTTree<?, ?> parentTree) {
         if (this.parentTree != parentTree) {
             this.parentTree = parentTree;
+            if (parentTree != null && (classDeclInDescendants || this instanceof JTClassDecl)) {
+                parentTree.setClassDeclInDescendants();
+            }
             return setActionChange();
         }
         return (NewTree) this;
@@ -493,6 +666,29 @@ public abstract class JTTree<
         this.v8Runtime = v8Runtime;
     }
 
+    /**
+     * Snapshot the subtree as a plain JS object graph which is parsed from JSON in one call.
+     * The optional argument is the depth of the child trees, unlimited by default.
+     *
+     * @param v8Values the V8 values
+     * @return the V8 value
+     * @throws JavetException           the javet exception
+     * @throws JaspilerCheckedException the jaspiler checked exception
+     */
+    private V8Value snapshot(V8Value... v8Values) throws JavetException, JaspilerCheckedException {
+        int depth = JTSnapshot.DEPTH_UNLIMITED;
+        if (v8Values != null && v8Values.length > 0) {
+            if (v8Values[0] instanceof V8ValueInteger v8ValueInteger) {
+                depth = Math.max(v8ValueInteger.getValue(), JTSnapshot.DEPTH_UNLIMITED);
+            } else if (v8Values[0] instanceof V8ValueDouble v8ValueDouble && Double.isFinite(v8ValueDouble.getValue())) {
+                depth = (int) Math.max(v8ValueDouble.getValue(), JTSnapshot.DEPTH_UNLIMITED);
+            }
+        }
+        try (V8ValueObject v8ValueObjectJson = v8Runtime.getGlobalObject().get(GLOBAL_JSON)) {
+            return v8ValueObjectJson.invoke(FUNCTION_PARSE, JTSnapshot.toJson(this, depth));
+        }
+    }
+
     @Override
     public String toString() {
         var writer = new StandardStyleWriter(StyleOptions.Default);
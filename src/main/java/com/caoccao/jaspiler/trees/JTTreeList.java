@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.trees;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The type Jt tree list holds the child trees of a parent tree.
+ * Adding a tree re-parents it, and removing or reordering trees changes the parent tree,
+ * so that the change tracking stays consistent when the list is mutated directly.
+ * The inherited iterators and the sub list views mutate the list through the same methods,
+ * so they are tracked as well.
+ *
+ * @param <T> the type of the child tree
+ */
+public final class JTTreeList<T extends JTTree<?, ?>> extends ArrayList<T> {
+    private final JTTree<?, ?> parentTree;
+
+    JTTreeList(JTTree<?, ?> parentTree) {
+        super();
+        this.parentTree = Objects.requireNonNull(parentTree);
+    }
+
+    @Override
+    public boolean add(T tree) {
+        attach(tree);
+        return super.add(tree);
+    }
+
+    @Override
+    public void add(int index, T tree) {
+        attach(tree);
+        super.add(index, tree);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> trees) {
+        trees.forEach(this::attach);
+        return super.addAll(trees);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> trees) {
+        trees.forEach(this::attach);
+        return super.addAll(index, trees);
+    }
+
+    private void attach(T tree) {
+        if (tree != null) {
+            tree.setParentTree(parentTree);
+        }
+    }
+
+    private boolean change(boolean changed) {
+        if (changed) {
+            parentTree.setActionChange();
+        }
+        return changed;
+    }
+
+    /**
+     * Gets the mod count that is changed by every structural modification,
+     * so that the list can be scanned by index and still fail fast on a concurrent modification.
+     *
+     * @return the mod count
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    @Override
+    public void clear() {
+        boolean changed = !isEmpty();
+        super.clear();
+        change(changed);
+    }
+
+    @Override
+    public T remove(int index) {
+        T tree = super.remove(index);
+        change(true);
+        return tree;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return change(super.remove(o));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return change(super.removeAll(c));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        return change(super.removeIf(filter));
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        super.removeRange(fromIndex, toIndex);
+        change(fromIndex < toIndex);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        super.replaceAll(operator);
+        forEach(this::attach);
+        change(!isEmpty());
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return change(super.retainAll(c));
+    }
+
+    @Override
+    public T set(int index, T tree) {
+        attach(tree);
+        T oldTree = super.set(index, tree);
+        change(oldTree != tree);
+        return oldTree;
+    }
+
+    @Override
+    public void sort(Comparator<? super T> c) {
+        super.sort(c);
+        change(size() > 1);
+    }
+
+    @Override
+    public List<T> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size());
+        return new JTTreeSubList(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * The type Jt tree sub list is a view that mutates the list through its tracked methods.
+     * It detects the concurrent modifications of the list from the inherited mod count.
+     */
+    private final class JTTreeSubList extends AbstractList<T> implements RandomAccess {
+        private final int offset;
+        private int expectedModCount;
+        private int size;
+
+        JTTreeSubList(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+            expectedModCount = JTTreeList.this.modCount;
+        }
+
+        @Override
+        public void add(int index, T tree) {
+            Objects.checkIndex(index, size + 1);
+            checkForComodification();
+            JTTreeList.this.add(offset + index, tree);
+            updateSize(1);
+        }
+
+        private void checkForComodification() {
+            if (JTTreeList.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return JTTreeList.this.get(offset + index);
+        }
+
+        @Override
+        public T remove(int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            T tree = JTTreeList.this.remove(offset + index);
+            updateSize(-1);
+            return tree;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, size);
+            checkForComodification();
+            JTTreeList.this.removeRange(offset + fromIndex, offset + toIndex);
+            updateSize(fromIndex - toIndex);
+        }
+
+        @Override
+        public T set(int index, T tree) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return JTTreeList.this.set(offset + index, tree);
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        private void updateSize(int delta) {
+            size += delta;
+            expectedModCount = JTTreeList.this.modCount;
+            ++modCount;
+        }
+    }
+}
@@ -16,14 +16,11 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.TryTree;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTTry
         extends JTStatement<TryTree, JTTry>
@@ -32,6 +29,20 @@ public final class JTTry
     private static final String PROPERTY_CATCHES = "catches";
     private static final String PROPERTY_FINALLY_BLOCK = "finallyBlock";
     private static final String PROPERTY_RESOURCES = "resources";
+    private static final JTProxyTable<JTTry> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BLOCK, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBlock()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_CATCHES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCatches()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_FINALLY_BLOCK, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getFinallyBlock()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_RESOURCES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getResources()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BLOCK, (tree, propertyName, propertyValue) -> tree.replaceBlock(tree::setBlock, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CATCHES, (tree, propertyName, propertyValue) -> tree.replaceCatches(tree.catches, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_FINALLY_BLOCK, (tree, propertyName, propertyValue) -> tree.replaceBlock(tree::setFinallyBlock, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_RESOURCES, (tree, propertyName, propertyValue) -> tree.replaceTrees(tree.resources, propertyValue));
+    }
+
     private final List<JTCatch> catches;
     private final List<JTTree<?, ?>> resources;
     private JTBlock block;
@@ -45,9 +56,9 @@ public final class JTTry
     JTTry(TryTree tryTree, JTTree<?, ?> parentTree) {
         super(tryTree, parentTree);
         block = null;
-        catches = new ArrayList<>();
+        catches = new JTTreeList<>(this);
         finallyBlock = null;
-        resources = new ArrayList<>();
+        resources = new JTTreeList<>(this);
     }
 
     @Override
@@ -69,14 +80,12 @@ public final class JTTry
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        resources.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(block).ifPresent(nodes::add);
-        catches.stream().filter(Objects::nonNull).forEach(nodes::add);
-        Optional.ofNullable(finallyBlock).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChildren(resources, predicate)
+                || matchChild(block, predicate)
+                || matchChildren(catches, predicate)
+                || matchChild(finallyBlock, predicate);
     }
 
     @Override
@@ -100,32 +109,13 @@ public final class JTTry
     }
 
     @Override
-    public List<JTTree<?, ?>> getResources() {
-        return resources;
+    JTProxyTable<JTTry> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BLOCK, propertyName -> v8Runtime.toV8Value(getBlock()));
-            registerStringGetter(PROPERTY_CATCHES, propertyName -> v8Runtime.toV8Value(getCatches()));
-            registerStringGetter(PROPERTY_FINALLY_BLOCK, propertyName -> v8Runtime.toV8Value(getFinallyBlock()));
-            registerStringGetter(PROPERTY_RESOURCES, propertyName -> v8Runtime.toV8Value(getResources()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BLOCK, (propertyName, propertyValue) -> replaceBlock(this::setBlock, propertyValue));
-            registerStringSetter(PROPERTY_CATCHES, (propertyName, propertyValue) -> replaceCatches(catches, propertyValue));
-            registerStringSetter(PROPERTY_FINALLY_BLOCK, (propertyName, propertyValue) -> replaceBlock(this::setFinallyBlock, propertyValue));
-            registerStringSetter(PROPERTY_RESOURCES, (propertyName, propertyValue) -> replaceTrees(resources, propertyValue));
-        }
-        return stringSetterMap;
+    public List<JTTree<?, ?>> getResources() {
+        return resources;
     }
 
     public JTTry setBlock(JTBlock block) {
@@ -16,21 +16,28 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.ParameterizedTypeTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.TreeVisitor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 public final class JTTypeApply
         extends JTExpression<ParameterizedTypeTree, JTTypeApply>
         implements ParameterizedTypeTree {
     private static final String PROPERTY_TYPE = "type";
     private static final String PROPERTY_TYPE_ARGUMENTS = "typeArguments";
+    private static final JTProxyTable<JTTypeApply> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getType()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeArguments()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setType, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.typeArguments, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> typeArguments;
     private JTExpression<?, ?> type;
 
@@ -41,7 +48,7 @@ public final class JTTypeApply
 
     JTTypeApply(ParameterizedTypeTree parameterizedTypeTree, JTTree<?, ?> parentTree) {
         super(parameterizedTypeTree, parentTree);
-        typeArguments = new ArrayList<>();
+        typeArguments = new JTTreeList<>(this);
         type = null;
     }
 
@@ -60,12 +67,8 @@ public final class JTTypeApply
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(type).ifPresent(nodes::add);
-        typeArguments.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(type, predicate) || matchChildren(typeArguments, predicate);
     }
 
     @Override
@@ -73,6 +76,11 @@ public final class JTTypeApply
         return Kind.PARAMETERIZED_TYPE;
     }
 
+    @Override
+    JTProxyTable<JTTypeApply> getProxyTable() {
+        return PROXY_TABLE;
+    }
+
     @Override
     public Tree getType() {
         return type;
@@ -83,26 +91,6 @@ public final class JTTypeApply
         return typeArguments;
     }
 
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_TYPE, propertyName -> v8Runtime.toV8Value(getType()));
-            registerStringGetter(PROPERTY_TYPE_ARGUMENTS, propertyName -> v8Runtime.toV8Value(getTypeArguments()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_TYPE, (propertyName, propertyValue) -> replaceExpression(this::setType, propertyValue));
-            registerStringSetter(PROPERTY_TYPE_ARGUMENTS, (propertyName, propertyValue) -> replaceExpressions(typeArguments, propertyValue));
-        }
-        return stringSetterMap;
-    }
-
     public JTTypeApply setType(JTExpression<?, ?> type) {
         if (this.type == type) {
             return this;
@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.TypeCastTree;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTTypeCast
         extends JTExpression<TypeCastTree, JTTypeCast>
         implements TypeCastTree {
     private static final String PROPERTY_EXPRESSION = "expression";
     private static final String PROPERTY_TYPE = "type";
+    private static final JTProxyTable<JTTypeCast> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getType()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE, (tree, propertyName, propertyValue) -> tree.replaceTree(tree::setType, propertyValue));
+    }
+
     private JTExpression<?, ?> expression;
     private JTTree<?, ?> type;
 
@@ -61,12 +65,8 @@ public final class JTTypeCast
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(type).ifPresent(nodes::add);
-        Optional.ofNullable(expression).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(type, predicate) || matchChild(expression, predicate);
     }
 
     @Override
@@ -80,28 +80,13 @@ public final class JTTypeCast
     }
 
     @Override
-    public JTTree<?, ?> getType() {
-        return type;
+    JTProxyTable<JTTypeCast> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_EXPRESSION, propertyName -> v8Runtime.toV8Value(getExpression()));
-            registerStringGetter(PROPERTY_TYPE, propertyName -> v8Runtime.toV8Value(getType()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setExpression, propertyValue));
-            registerStringSetter(PROPERTY_TYPE, (propertyName, propertyValue) -> replaceTree(this::setType, propertyValue));
-        }
-        return stringSetterMap;
+    public JTTree<?, ?> getType() {
+        return type;
     }
 
     public JTTypeCast setExpression(JTExpression<?, ?> expression) {
@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.IntersectionTypeTree;
 import com.sun.source.tree.TreeVisitor;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.function.Predicate;
 
 public final class JTTypeIntersection
         extends JTExpression<IntersectionTypeTree, JTTypeIntersection>
         implements IntersectionTypeTree {
     private static final String PROPERTY_BOUNDS = "bounds";
+    private static final JTProxyTable<JTTypeIntersection> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BOUNDS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBounds()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BOUNDS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.bounds, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> bounds;
 
     public JTTypeIntersection() {
@@ -41,7 +43,7 @@ public final class JTTypeIntersection
 
     JTTypeIntersection(IntersectionTypeTree intersectionTypeTree, JTTree<?, ?> parentTree) {
         super(intersectionTypeTree, parentTree);
-        bounds = new ArrayList<>();
+        bounds = new JTTreeList<>(this);
     }
 
     @Override
@@ -58,11 +60,8 @@ public final class JTTypeIntersection
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        bounds.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(bounds, predicate);
     }
 
     @Override
@@ -76,20 +75,7 @@ public final class JTTypeIntersection
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BOUNDS, propertyName -> v8Runtime.toV8Value(getBounds()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BOUNDS, (propertyName, propertyValue) -> replaceExpressions(bounds, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTTypeIntersection> getProxyTable() {
+        return PROXY_TABLE;
     }
 }
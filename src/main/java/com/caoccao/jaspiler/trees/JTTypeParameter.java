@@ -16,23 +16,30 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.TypeParameterTree;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 public final class JTTypeParameter
         extends JTTree<TypeParameterTree, JTTypeParameter>
         implements TypeParameterTree, IJTAnnotatable {
     private static final String PROPERTY_BOUNDS = "bounds";
     private static final String PROPERTY_NAME = "name";
+    private static final JTProxyTable<JTTypeParameter> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_ANNOTATIONS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getAnnotations()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_BOUNDS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBounds()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_ANNOTATIONS, (tree, propertyName, propertyValue) -> tree.replaceAnnotations(tree.annotations, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BOUNDS, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.bounds, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setName, propertyValue));
+    }
+
     private final List<JTAnnotation> annotations;
     private final List<JTExpression<?, ?>> bounds;
     private JTName name;
@@ -44,8 +51,8 @@ public final class JTTypeParameter
 
     JTTypeParameter(TypeParameterTree typeParameterTree, JTTree<?, ?> parentTree) {
         super(typeParameterTree, parentTree);
-        annotations = new ArrayList<>();
-        bounds = new ArrayList<>();
+        annotations = new JTTreeList<>(this);
+        bounds = new JTTreeList<>(this);
         name = null;
     }
 
@@ -66,12 +73,10 @@ public final class JTTypeParameter
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        annotations.stream().filter(Objects::nonNull).forEach(nodes::add);
-        bounds.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChildren(annotations, predicate)
+                || matchChildren(bounds, predicate);
     }
 
     @Override
@@ -95,25 +100,8 @@ public final class JTTypeParameter
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_ANNOTATIONS, propertyName -> v8Runtime.toV8Value(getAnnotations()));
-            registerStringGetter(PROPERTY_BOUNDS, propertyName -> v8Runtime.toV8Value(getBounds()));
-            registerStringGetter(PROPERTY_NAME, propertyName -> v8Runtime.toV8Value(getName()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_ANNOTATIONS, (propertyName, propertyValue) -> replaceAnnotations(annotations, propertyValue));
-            registerStringSetter(PROPERTY_BOUNDS, (propertyName, propertyValue) -> replaceExpressions(bounds, propertyValue));
-            registerStringSetter(PROPERTY_NAME, (propertyName, propertyValue) -> replaceName(this::setName, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTTypeParameter> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTTypeParameter setName(JTName name) {
@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.UnionTypeTree;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.function.Predicate;
 
 public final class JTTypeUnion
         extends JTExpression<UnionTypeTree, JTTypeUnion>
         implements UnionTypeTree {
     private static final String PROPERTY_TYPE_ALTERNATIVES = "typeAlternatives";
+    private static final JTProxyTable<JTTypeUnion> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE_ALTERNATIVES, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getTypeAlternatives()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE_ALTERNATIVES, (tree, propertyName, propertyValue) -> tree.replaceExpressions(tree.typeAlternatives, propertyValue));
+    }
+
     private final List<JTExpression<?, ?>> typeAlternatives;
 
     public JTTypeUnion() {
@@ -41,7 +43,7 @@ public final class JTTypeUnion
 
     JTTypeUnion(UnionTypeTree unionTypeTree, JTTree<?, ?> parentTree) {
         super(unionTypeTree, parentTree);
-        typeAlternatives = new ArrayList<>();
+        typeAlternatives = new JTTreeList<>(this);
     }
 
     @Override
@@ -58,11 +60,8 @@ public final class JTTypeUnion
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        typeAlternatives.stream().filter(Objects::nonNull).forEach(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChildren(typeAlternatives, predicate);
     }
 
     @Override
@@ -71,25 +70,13 @@ public final class JTTypeUnion
     }
 
     @Override
-    public List<JTExpression<?, ?>> getTypeAlternatives() {
-        return typeAlternatives;
+    JTProxyTable<JTTypeUnion> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_TYPE_ALTERNATIVES, propertyName -> v8Runtime.toV8Value(getTypeAlternatives()));
-        }
-        return stringGetterMap;
+    public List<JTExpression<?, ?>> getTypeAlternatives() {
+        return typeAlternatives;
     }
 
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_TYPE_ALTERNATIVES, (propertyName, propertyValue) -> replaceExpressions(typeAlternatives, propertyValue));
-        }
-        return stringSetterMap;
-    }
 }
@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.UsesTree;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTUses
         extends JTDirective<UsesTree, JTUses>
         implements UsesTree {
     private static final String PROPERTY_SERVICE_NAME = "serviceName";
+    private static final JTProxyTable<JTUses> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_SERVICE_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getServiceName()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_SERVICE_NAME, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setServiceName, propertyValue));
+    }
+
     private JTExpression<?, ?> serviceName;
 
     public JTUses() {
@@ -57,11 +59,8 @@ public final class JTUses
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(serviceName).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(serviceName, predicate);
     }
 
     @Override
@@ -70,26 +69,13 @@ public final class JTUses
     }
 
     @Override
-    public JTExpression<?, ?> getServiceName() {
-        return serviceName;
-    }
-
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_SERVICE_NAME, propertyName -> v8Runtime.toV8Value(getServiceName()));
-        }
-        return stringGetterMap;
+    JTProxyTable<JTUses> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_SERVICE_NAME, (propertyName, propertyValue) -> replaceExpression(this::setServiceName, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getServiceName() {
+        return serviceName;
     }
 
     public JTUses setServiceName(JTExpression<?, ?> serviceName) {
@@ -16,19 +16,15 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.styles.IStyleWriter;
 import com.caoccao.javet.exceptions.JavetException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
 import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.VariableTree;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTVariableDecl
         extends JTStatement<VariableTree, JTVariableDecl>
@@ -38,6 +34,22 @@ public final class JTVariableDecl
     private static final String PROPERTY_NAME = "name";
     private static final String PROPERTY_NAME_EXPRESSION = "nameExpression";
     private static final String PROPERTY_TYPE = "type";
+    private static final JTProxyTable<JTVariableDecl> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_INITIALIZER, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getInitializer()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_MODIFIERS, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getModifiers()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getName()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_NAME_EXPRESSION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getNameExpression()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_TYPE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getType()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_INITIALIZER, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setInitializer, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_MODIFIERS, (tree, propertyName, propertyValue) -> tree.replaceModifiers(tree::setModifiers, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME, (tree, propertyName, propertyValue) -> tree.replaceName(tree::setName, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_NAME_EXPRESSION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setNameExpression, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_TYPE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setType, propertyValue));
+    }
+
     private JTExpression<?, ?> initializer;
     private JTModifiers modifiers;
     private JTName name;
@@ -76,13 +88,12 @@ public final class JTVariableDecl
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(modifiers).ifPresent(nodes::add);
-        Optional.ofNullable(type).ifPresent(nodes::add);
-        Optional.ofNullable(nameExpression).ifPresent(nodes::add);
-        Optional.ofNullable(initializer).ifPresent(nodes::add);
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate)
+                || matchChild(modifiers, predicate)
+                || matchChild(type, predicate)
+                || matchChild(nameExpression, predicate)
+                || matchChild(initializer, predicate);
     }
 
     @Override
@@ -111,34 +122,13 @@ public final class JTVariableDecl
     }
 
     @Override
-    public JTExpression<?, ?> getType() {
-        return type;
+    JTProxyTable<JTVariableDecl> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_INITIALIZER, propertyName -> v8Runtime.toV8Value(getInitializer()));
-            registerStringGetter(PROPERTY_MODIFIERS, propertyName -> v8Runtime.toV8Value(getModifiers()));
-            registerStringGetter(PROPERTY_NAME, propertyName -> v8Runtime.toV8Value(getName()));
-            registerStringGetter(PROPERTY_NAME_EXPRESSION, propertyName -> v8Runtime.toV8Value(getNameExpression()));
-            registerStringGetter(PROPERTY_TYPE, propertyName -> v8Runtime.toV8Value(getType()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_INITIALIZER, (propertyName, propertyValue) -> replaceExpression(this::setInitializer, propertyValue));
-            registerStringSetter(PROPERTY_MODIFIERS, (propertyName, propertyValue) -> replaceModifiers(this::setModifiers, propertyValue));
-            registerStringSetter(PROPERTY_NAME, (propertyName, propertyValue) -> replaceName(this::setName, propertyValue));
-            registerStringSetter(PROPERTY_NAME_EXPRESSION, (propertyName, propertyValue) -> replaceExpression(this::setNameExpression, propertyValue));
-            registerStringSetter(PROPERTY_TYPE, (propertyName, propertyValue) -> replaceExpression(this::setType, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getType() {
+        return type;
     }
 
     @Override
@@ -16,23 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.WhileLoopTree;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTWhileLoop
         extends JTStatement<WhileLoopTree, JTWhileLoop>
         implements WhileLoopTree {
     private static final String PROPERTY_CONDITION = "condition";
     private static final String PROPERTY_STATEMENT = "statement";
+    private static final JTProxyTable<JTWhileLoop> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_CONDITION, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getCondition()));
+        PROXY_TABLE.registerStringGetter(PROPERTY_STATEMENT, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getStatement()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_CONDITION, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setCondition, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_STATEMENT, (tree, propertyName, propertyValue) -> tree.replaceStatement(tree::setStatement, propertyValue));
+    }
+
     private JTExpression<?, ?> condition;
     private JTStatement<?, ?> statement;
 
@@ -61,12 +65,8 @@ public final class JTWhileLoop
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(condition).ifPresent(nodes::add);
-        Optional.ofNullable(statement).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(condition, predicate) || matchChild(statement, predicate);
     }
 
     @Override
@@ -80,28 +80,13 @@ public final class JTWhileLoop
     }
 
     @Override
-    public JTStatement<?, ?> getStatement() {
-        return statement;
+    JTProxyTable<JTWhileLoop> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_CONDITION, propertyName -> v8Runtime.toV8Value(getCondition()));
-            registerStringGetter(PROPERTY_STATEMENT, propertyName -> v8Runtime.toV8Value(getStatement()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_CONDITION, (propertyName, propertyValue) -> replaceExpression(this::setCondition, propertyValue));
-            registerStringSetter(PROPERTY_STATEMENT, (propertyName, propertyValue) -> replaceStatement(this::setStatement, propertyValue));
-        }
-        return stringSetterMap;
+    public JTStatement<?, ?> getStatement() {
+        return statement;
     }
 
     public JTWhileLoop setCondition(JTExpression<?, ?> condition) {
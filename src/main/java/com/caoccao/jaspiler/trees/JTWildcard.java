@@ -16,24 +16,27 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.exceptions.JaspilerNotSupportedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.WildcardTree;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTWildcard
         extends JTExpression<WildcardTree, JTWildcard>
         implements WildcardTree {
     private static final String PROPERTY_BOUND = "bound";
     private static final String PROPERTY_KIND = "kind";
+    private static final JTProxyTable<JTWildcard> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_BOUND, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getBound()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_BOUND, (tree, propertyName, propertyValue) -> tree.replaceTree(tree::setBound, propertyValue));
+        PROXY_TABLE.registerStringSetter(PROPERTY_KIND, (tree, propertyName, propertyValue) -> tree.replaceKind(tree::setKind, propertyValue));
+    }
+
     private JTTree<?, ?> bound;
     private Kind kind;
 
@@ -62,11 +65,8 @@ public final class JTWildcard
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(bound).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(bound, predicate);
     }
 
     @Override
@@ -80,22 +80,8 @@ public final class JTWildcard
     }
 
     @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_BOUND, propertyName -> v8Runtime.toV8Value(getBound()));
-        }
-        return stringGetterMap;
-    }
-
-    @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_BOUND, (propertyName, propertyValue) -> replaceTree(this::setBound, propertyValue));
-            registerStringSetter(PROPERTY_KIND, (propertyName, propertyValue) -> replaceKind(this::setKind, propertyValue));
-        }
-        return stringSetterMap;
+    JTProxyTable<JTWildcard> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     public JTWildcard setBound(JTTree<?, ?> bound) {
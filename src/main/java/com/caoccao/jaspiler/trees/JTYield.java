@@ -16,22 +16,24 @@
 
 package com.caoccao.jaspiler.trees;
 
-import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
-import com.caoccao.javet.interfaces.IJavetBiFunction;
-import com.caoccao.javet.interfaces.IJavetUniFunction;
-import com.caoccao.javet.values.V8Value;
 import com.sun.source.tree.TreeVisitor;
 import com.sun.source.tree.YieldTree;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Predicate;
 
 public final class JTYield
         extends JTStatement<YieldTree, JTYield>
         implements YieldTree {
     private static final String PROPERTY_VALUE = "value";
+    private static final JTProxyTable<JTYield> PROXY_TABLE;
+
+    static {
+        PROXY_TABLE = new JTProxyTable<>(JTTree.PROXY_TABLE);
+        PROXY_TABLE.registerStringGetter(PROPERTY_VALUE, (tree, propertyName) -> tree.v8Runtime.toV8Value(tree.getValue()));
+        PROXY_TABLE.registerStringSetter(PROPERTY_VALUE, (tree, propertyName, propertyValue) -> tree.replaceExpression(tree::setValue, propertyValue));
+    }
+
     private JTExpression<?, ?> value;
 
     public JTYield() {
@@ -57,11 +59,8 @@ public final class JTYield
     }
 
     @Override
-    List<JTTree<?, ?>> getAllNodes() {
-        var nodes = super.getAllNodes();
-        Optional.ofNullable(value).ifPresent(nodes::add);
-        nodes.forEach(node -> node.setParentTree(this));
-        return nodes;
+    boolean anyChildMatch(Predicate<JTTree<?, ?>> predicate) {
+        return super.anyChildMatch(predicate) || matchChild(value, predicate);
     }
 
     @Override
@@ -70,26 +69,13 @@ public final class JTYield
     }
 
     @Override
-    public JTExpression<?, ?> getValue() {
-        return value;
-    }
-
-    @Override
-    public Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> proxyGetStringGetterMap() {
-        if (stringGetterMap == null) {
-            super.proxyGetStringGetterMap();
-            registerStringGetter(PROPERTY_VALUE, propertyName -> v8Runtime.toV8Value(getValue()));
-        }
-        return stringGetterMap;
+    JTProxyTable<JTYield> getProxyTable() {
+        return PROXY_TABLE;
     }
 
     @Override
-    public Map<String, IJavetBiFunction<String, V8Value, Boolean, JaspilerCheckedException>> proxyGetStringSetterMap() {
-        if (stringSetterMap == null) {
-            super.proxyGetStringSetterMap();
-            registerStringSetter(PROPERTY_VALUE, (propertyName, propertyValue) -> replaceExpression(this::setValue, propertyValue));
-        }
-        return stringSetterMap;
+    public JTExpression<?, ?> getValue() {
+        return value;
     }
 
     public JTYield setValue(JTExpression<?, ?> value) {
@@ -20,6 +20,7 @@ import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public final class ForEachUtils {
     private ForEachUtils() {
@@ -71,4 +72,61 @@ public final class ForEachUtils {
         }
         return length;
     }
+
+    public static <T> int forEachIf(
+            List<T> list,
+            Predicate<T> itemFilter,
+            Consumer<T> itemConsumer) {
+        return forEachIf(list, itemFilter, itemConsumer, null, null, null);
+    }
+
+    public static <T> int forEachIf(
+            List<T> list,
+            Predicate<T> itemFilter,
+            Consumer<T> itemConsumer,
+            Consumer<T> interItemConsumer) {
+        return forEachIf(list, itemFilter, itemConsumer, interItemConsumer, null, null);
+    }
+
+    public static <T> int forEachIf(
+            List<T> list,
+            Predicate<T> itemFilter,
+            Consumer<T> itemConsumer,
+            Consumer<T> interItemConsumer,
+            Consumer<List<T>> preConsumer) {
+        return forEachIf(list, itemFilter, itemConsumer, interItemConsumer, preConsumer, null);
+    }
+
+    public static <T> int forEachIf(
+            List<T> list,
+            Predicate<T> itemFilter,
+            Consumer<T> itemConsumer,
+            Consumer<T> interItemConsumer,
+            Consumer<List<T>> preConsumer,
+            Consumer<List<T>> postConsumer) {
+        int count = 0;
+        if (CollectionUtils.isNotEmpty(list)) {
+            T previousItem = null;
+            final int length = list.size();
+            for (int i = 0; i < length; i++) {
+                T item = list.get(i);
+                if (itemFilter.test(item)) {
+                    if (count == 0) {
+                        if (preConsumer != null) {
+                            preConsumer.accept(list);
+                        }
+                    } else if (interItemConsumer != null) {
+                        interItemConsumer.accept(previousItem);
+                    }
+                    itemConsumer.accept(item);
+                    previousItem = item;
+                    ++count;
+                }
+            }
+            if (count > 0 && postConsumer != null) {
+                postConsumer.accept(list);
+            }
+        }
+        return count;
+    }
 }
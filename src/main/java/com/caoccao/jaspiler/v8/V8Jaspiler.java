@@ -17,11 +17,15 @@
 package com.caoccao.jaspiler.v8;
 
 import com.caoccao.jaspiler.JaspilerCompiler;
+import com.caoccao.jaspiler.JaspilerTransformCache;
+import com.caoccao.jaspiler.exceptions.JaspilerAbortException;
 import com.caoccao.jaspiler.exceptions.JaspilerArgumentException;
 import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
 import com.caoccao.jaspiler.exceptions.JaspilerExecutionException;
 import com.caoccao.jaspiler.exceptions.JaspilerParseException;
+import com.caoccao.jaspiler.styles.SourceMap;
 import com.caoccao.jaspiler.styles.StandardStyleWriter;
+import com.caoccao.jaspiler.styles.StreamingStyleWriter;
 import com.caoccao.jaspiler.trees.*;
 import com.caoccao.jaspiler.utils.BaseLoggingObject;
 import com.caoccao.javet.exceptions.JavetException;
@@ -31,20 +35,31 @@ import com.caoccao.javet.interop.V8Runtime;
 import com.caoccao.javet.interop.V8Scope;
 import com.caoccao.javet.interop.callback.IJavetDirectCallable;
 import com.caoccao.javet.interop.proxy.IJavetDirectProxyHandler;
+import com.caoccao.javet.utils.JavetResourceUtils;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.primitive.V8ValueDouble;
 import com.caoccao.javet.values.primitive.V8ValueInteger;
 import com.caoccao.javet.values.primitive.V8ValueLong;
 import com.caoccao.javet.values.primitive.V8ValueString;
+import com.caoccao.javet.values.reference.V8ValueArray;
 import com.caoccao.javet.values.reference.V8ValueObject;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -58,11 +73,41 @@ public final class V8Jaspiler
     private static final String FUNCTION_CREATE_FLOAT = "createFloat";
     private static final String FUNCTION_CREATE_IDENT = "createIdent";
     private static final String FUNCTION_CREATE_LITERAL = "createLiteral";
+    private static final String FUNCTION_CLEAR_SCRIPT_RESULTS = "clearScriptResults";
     private static final String FUNCTION_CREATE_NAME = "createName";
+    private static final String FUNCTION_SET_CONTRACT_EVALUATOR = "setContractEvaluator";
+    private static final String FUNCTION_TRANSFORM_BATCH_SYNC = "transformBatchSync";
     private static final String FUNCTION_TRANSFORM_SYNC = "transformSync";
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final String GLOB_SYNTAX = "glob:";
+    private static final double NANOS_PER_MILLI = 1_000_000D;
     private static final String PROPERTY_ARGV = "argv";
     private static final String PROPERTY_AST = "ast";
+    private static final String PROPERTY_CACHE = "cache";
+    private static final String PROPERTY_CACHED = "cached";
+    private static final String PROPERTY_CHANGED = "changed";
     private static final String PROPERTY_CODE = "code";
+    private static final String PROPERTY_DIFF = "diff";
+    private static final String PROPERTY_DIRECTORY = "directory";
+    private static final String PROPERTY_EDITS = "edits";
+    private static final String PROPERTY_FILENAME = "__filename";
+    private static final String PROPERTY_ERROR = "error";
+    private static final String PROPERTY_HIT_COUNT = "hitCount";
+    private static final String PROPERTY_LENGTH = "length";
+    private static final String PROPERTY_MISS_COUNT = "missCount";
+    private static final String PROPERTY_MODULE = "module";
+    private static final String PROPERTY_OFFSET = "offset";
+    private static final String PROPERTY_OUTPUT_FILE = "outputFile";
+    private static final String PROPERTY_REPLACEMENT = "replacement";
+    private static final String PROPERTY_REQUIRE = "require";
+    private static final String PROPERTY_RUNTIMES = "runtimes";
+    private static final String PROPERTY_RUNTIME_POOLS = "runtimePools";
+    private static final String PROPERTY_SIZE = "size";
+    private static final String PROPERTY_SOURCE_FILE = "sourceFile";
+    private static final String PROPERTY_SOURCE_MAP = "sourceMap";
+    private static final String PROPERTY_SOURCE_MAP_FILE = "sourceMapFile";
+    private static final String PROPERTY_TRANSFORM_CACHES = "transformCaches";
+    private static final String PROPERTY_TRANSFORM_TIME = "transformTime";
     private static final Map<String, Supplier<JTTree<?, ?>>> constructorMap;
 
     static {
@@ -135,7 +180,10 @@ public final class V8Jaspiler
 
     private final List<String> argv;
     private final Map<String, IJavetDirectCallable.NoThisAndResult<?>> creatorMap;
+    private final Map<Path, V8JaspilerRuntimePool> runtimePoolMap;
+    private final Map<Path, JaspilerTransformCache> transformCacheMap;
     private final V8Runtime v8Runtime;
+    private V8ValueObject contractEvaluator;
     private JaspilerCompiler jaspilerCompiler;
     private Map<String, IJavetUniFunction<String, ? extends V8Value, JaspilerCheckedException>> stringGetterMap;
 
@@ -149,14 +197,23 @@ public final class V8Jaspiler
         creatorMap.put(FUNCTION_CREATE_IDENT, this::createIdent);
         creatorMap.put(FUNCTION_CREATE_LITERAL, this::createLiteral);
         creatorMap.put(FUNCTION_CREATE_NAME, this::createName);
+        creatorMap.put(FUNCTION_SET_CONTRACT_EVALUATOR, this::setContractEvaluator);
+        creatorMap.put(FUNCTION_TRANSFORM_BATCH_SYNC, this::transformBatchSync);
         creatorMap.put(FUNCTION_TRANSFORM_SYNC, this::transformSync);
+        contractEvaluator = null;
         jaspilerCompiler = new JaspilerCompiler();
+        runtimePoolMap = new LinkedHashMap<>();
         stringGetterMap = null;
+        transformCacheMap = new LinkedHashMap<>();
         this.v8Runtime = v8Runtime;
     }
 
     @Override
     public void close() {
+        runtimePoolMap.values().forEach(V8JaspilerRuntimePool::close);
+        runtimePoolMap.clear();
+        JavetResourceUtils.safeClose(contractEvaluator);
+        contractEvaluator = null;
         jaspilerCompiler = null;
     }
 
@@ -203,6 +260,116 @@ public final class V8Jaspiler
         return argv;
     }
 
+    /**
+     * Gets the file name in the unified diff, relative to the working directory if the file is under it.
+     *
+     * @param fileName the file name
+     * @return the file name in the unified diff
+     */
+    private String getDiffFileName(String fileName) {
+        final Path path = Path.of(fileName).normalize();
+        if (path.isAbsolute()) {
+            final Path workingDirectory = Path.of("").toAbsolutePath();
+            if (path.startsWith(workingDirectory)) {
+                return workingDirectory.relativize(path).toString();
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Gets the paths of the main script and the modules loaded by require().
+     *
+     * @return the paths
+     * @throws JavetException the javet exception
+     */
+    private List<Path> getModulePaths() throws JavetException {
+        final List<Path> paths = new ArrayList<>();
+        final V8ValueObject v8ValueObjectGlobal = v8Runtime.getGlobalObject();
+        try (V8Value v8Value = v8ValueObjectGlobal.get(PROPERTY_FILENAME)) {
+            if (v8Value instanceof V8ValueString v8ValueString) {
+                paths.add(Path.of(v8ValueString.getValue()));
+            }
+        }
+        try (V8Value v8ValueRequire = v8ValueObjectGlobal.get(PROPERTY_REQUIRE);
+             V8Value v8ValueCache = v8ValueRequire instanceof V8ValueObject v8ValueObjectRequire
+                     ? v8ValueObjectRequire.get(PROPERTY_CACHE)
+                     : null) {
+            if (v8ValueCache instanceof V8ValueObject v8ValueObjectCache) {
+                v8ValueObjectCache.forEach(v8Value -> {
+                    if (v8Value instanceof V8ValueString v8ValueString) {
+                        paths.add(Path.of(v8ValueString.getValue()));
+                    }
+                });
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Gets the output path of the source in the output directory.
+     * The relative source keeps its directories, while the absolute source or the source out of
+     * the current directory only keeps its file name.
+     *
+     * @param outputDirectory the output directory
+     * @param source          the source file
+     * @return the output path
+     */
+    private Path getOutputPath(String outputDirectory, String source) {
+        Path path = Path.of(source).normalize();
+        if (path.isAbsolute() || path.startsWith("..")) {
+            path = path.getFileName();
+        }
+        return Path.of(outputDirectory).resolve(path);
+    }
+
+    private V8JaspilerRuntimePool getRuntimePool(V8JaspilerOptions v8JaspilerOptions)
+            throws JaspilerCheckedException {
+        if (v8JaspilerOptions.getRuntimePoolModule() == null) {
+            throw new JaspilerArgumentException("Module of the runtime pool is not specified.");
+        }
+        final File moduleFile = validateFile(v8JaspilerOptions.getRuntimePoolModule());
+        final Path path = moduleFile.toPath().toAbsolutePath().normalize();
+        var runtimePool = runtimePoolMap.get(path);
+        if (runtimePool != null && runtimePool.getSize() != v8JaspilerOptions.getRuntimePoolSize()) {
+            runtimePoolMap.remove(path).close();
+            runtimePool = null;
+        }
+        if (runtimePool == null) {
+            runtimePool = new V8JaspilerRuntimePool(
+                    argv,
+                    moduleFile,
+                    v8JaspilerOptions.getRuntimePoolSize(),
+                    v8JaspilerOptions.isRuntimePoolWarmUp());
+            runtimePoolMap.put(path, runtimePool);
+        }
+        return runtimePool;
+    }
+
+    public List<Map<String, Object>> getRuntimePools() {
+        return runtimePoolMap.values().stream()
+                .map(runtimePool -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put(PROPERTY_MODULE, runtimePool.getModuleFile().getPath());
+                    map.put(PROPERTY_SIZE, runtimePool.getSize());
+                    map.put(PROPERTY_RUNTIMES, runtimePool.getStatistics());
+                    return map;
+                })
+                .toList();
+    }
+
+    public List<Map<String, Object>> getTransformCaches() {
+        return transformCacheMap.values().stream()
+                .map(transformCache -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put(PROPERTY_DIRECTORY, transformCache.getDirectory().toString());
+                    map.put(PROPERTY_HIT_COUNT, (double) transformCache.getHitCount());
+                    map.put(PROPERTY_MISS_COUNT, (double) transformCache.getMissCount());
+                    return map;
+                })
+                .toList();
+    }
+
     @Override
     public V8Runtime getV8Runtime() {
         return v8Runtime;
@@ -220,43 +387,298 @@ public final class V8Jaspiler
             constructorMap.forEach((key, value) -> registerStringGetterFunction(key, v8Values -> v8Runtime.toV8Value(value.get())));
             creatorMap.forEach(this::registerStringGetterFunction);
             registerStringGetter(PROPERTY_ARGV, propertyName -> v8Runtime.toV8Value(getArgv()));
+            registerStringGetter(PROPERTY_RUNTIME_POOLS, propertyName -> v8Runtime.toV8Value(getRuntimePools()));
+            registerStringGetter(PROPERTY_TRANSFORM_CACHES, propertyName -> v8Runtime.toV8Value(getTransformCaches()));
         }
         return stringGetterMap;
     }
 
-    public V8Value transformSync(V8Value... v8Values) throws JavetException, JaspilerCheckedException {
-        try (var v8JaspilerOptions = new V8JaspilerOptions();
-             var jaspilerTransformScanner = new V8JaspilerTransformScanner(v8JaspilerOptions);
+    /**
+     * Sets the contract evaluator registered by jaspiler.js.
+     * It provides runScriptInContext() for the native contracts and clearScriptResults()
+     * that is called at the beginning of every transform.
+     *
+     * @param v8Values the V8 values
+     * @return the undefined
+     * @throws JavetException            the javet exception
+     * @throws JaspilerArgumentException the jaspiler argument exception
+     */
+    public V8Value setContractEvaluator(V8Value... v8Values) throws JavetException, JaspilerArgumentException {
+        validateLength(FUNCTION_SET_CONTRACT_EVALUATOR, v8Values, 1);
+        V8ValueObject v8ValueObject = validateObject(FUNCTION_SET_CONTRACT_EVALUATOR, v8Values, 0);
+        JavetResourceUtils.safeClose(contractEvaluator);
+        contractEvaluator = v8ValueObject.toClone();
+        return v8Runtime.createV8ValueUndefined();
+    }
+
+    List<TransformResult> transform(List<String> sources, V8JaspilerOptions v8JaspilerOptions)
+            throws IOException, JavetException, JaspilerCheckedException {
+        if (contractEvaluator != null) {
+            // The context may have been changed since the last transform.
+            contractEvaluator.invokeVoid(FUNCTION_CLEAR_SCRIPT_RESULTS);
+        }
+        try (var proxyConverterScope = v8Runtime.getConverter() instanceof V8JaspilerProxyConverter proxyConverter
+                ? proxyConverter.openScope()
+                : null;
+             var jaspilerTransformScanner = new V8JaspilerTransformScanner(
+                     v8Runtime, v8JaspilerOptions, contractEvaluator);
              var jaspilerDocScanner = new V8JaspilerDocScanner()) {
-            if (v8Values.length > 1) {
-                v8JaspilerOptions.deserialize(validateObject(FUNCTION_TRANSFORM_SYNC, v8Values, 1));
-            }
-            jaspilerCompiler.clearJavaFileObject();
+            return transform(sources, v8JaspilerOptions, jaspilerTransformScanner, jaspilerDocScanner);
+        }
+    }
+
+    private List<TransformResult> transform(
+            List<String> sources,
+            V8JaspilerOptions v8JaspilerOptions,
+            V8JaspilerTransformScanner jaspilerTransformScanner,
+            V8JaspilerDocScanner jaspilerDocScanner)
+            throws IOException, JavetException, JaspilerCheckedException {
+        final int length = sources.size();
+        final var results = new TransformResult[length];
+        final var cacheKeys = new String[length];
+        final List<Integer> indexes = new ArrayList<>(length);
+        JaspilerTransformCache transformCache = null;
+        String scriptKey = null;
+        if (v8JaspilerOptions.getCacheDirectory() != null
+                && v8JaspilerOptions.isCode()
+                && v8JaspilerOptions.getOutputDirectory() == null
+                && !v8JaspilerOptions.isAst()
+                && !v8JaspilerOptions.isDiff()
+                && !v8JaspilerOptions.isEdits()
+                && !v8JaspilerOptions.isSourceMap()) {
+            transformCache = transformCacheMap.computeIfAbsent(
+                    Path.of(v8JaspilerOptions.getCacheDirectory()).toAbsolutePath().normalize(),
+                    JaspilerTransformCache::new);
+            scriptKey = v8JaspilerOptions.getScriptKey(transformCache.computeModuleKey(getModulePaths()));
+        }
+        final Boolean cached = transformCache == null ? null : Boolean.FALSE;
+        jaspilerCompiler.clearJavaFileObject();
+        for (int i = 0; i < length; i++) {
+            final String source = sources.get(i);
+            File file = null;
             if (v8JaspilerOptions.getSourceType() == V8JaspilerOptions.SourceType.File) {
-                File file = validateFile(validateString(FUNCTION_TRANSFORM_SYNC, v8Values, 0));
+                file = validateFile(source);
+            }
+            if (transformCache != null) {
+                cacheKeys[i] = transformCache.computeKey(
+                        file == null
+                                ? v8JaspilerOptions.getFileName()
+                                : file.toPath().toAbsolutePath().normalize().toString(),
+                        file == null ? source : new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8),
+                        scriptKey,
+                        v8JaspilerOptions.getStyleOptions());
+                var entry = transformCache.get(cacheKeys[i]);
+                if (entry != null) {
+                    results[i] = new TransformResult(
+                            file == null ? null : source, null, entry.serialized() ? entry.code() : null, true,
+                            entry.changed(), null, null, null, null, null, null, null);
+                    continue;
+                }
+            }
+            final int count = jaspilerCompiler.getJavaFileObjects().size();
+            if (file == null) {
+                jaspilerCompiler.addJavaFileStringObject(v8JaspilerOptions.getFileName(), source);
+            } else {
                 jaspilerCompiler.addJavaFileObjects(file);
+            }
+            if (jaspilerCompiler.getJavaFileObjects().size() > count) {
+                indexes.add(i);
             } else {
-                String codeString = validateString(FUNCTION_TRANSFORM_SYNC, v8Values, 0);
-                jaspilerCompiler.addJavaFileStringObject(v8JaspilerOptions.getFileName(), codeString);
+                results[i] = new TransformResult(
+                        source, null, null, cached, null, null, null, null, null, null, null, null);
             }
-            jaspilerCompiler.transform(jaspilerTransformScanner, jaspilerDocScanner);
-            if (CollectionUtils.isNotEmpty(jaspilerTransformScanner.getExceptions())) {
+        }
+        if (!indexes.isEmpty()) {
+            try {
+                jaspilerCompiler.transform(jaspilerTransformScanner, jaspilerDocScanner);
+            } catch (JaspilerAbortException e) {
+                throw new JaspilerExecutionException(e.getMessage(), e.getCause());
+            }
+            final boolean quarantine = v8JaspilerOptions.getErrorMode() == V8JaspilerOptions.ErrorMode.Quarantine;
+            if (!quarantine && CollectionUtils.isNotEmpty(jaspilerTransformScanner.getExceptions())) {
                 var e = jaspilerTransformScanner.getExceptions().get(0);
                 throw new JaspilerExecutionException(e.getMessage(), e);
             }
-            var compilationUnitTree = jaspilerCompiler.getTransformContexts().get(0).getCompilationUnitTree();
-            try (V8Scope v8Scope = v8Runtime.getV8Scope()) {
-                var v8ValueObjectResult = v8Scope.createV8ValueObject();
-                if (v8JaspilerOptions.isAst()) {
-                    v8ValueObjectResult.set(PROPERTY_AST, compilationUnitTree);
+            final var transformContexts = jaspilerCompiler.getTransformContexts();
+            for (int j = 0; j < indexes.size(); j++) {
+                final int i = indexes.get(j);
+                final var transformContext = transformContexts.get(j);
+                final var compilationUnitTree = transformContext.getCompilationUnitTree();
+                final Double transformTime = transformContext.getTransformTime() / NANOS_PER_MILLI;
+                final String sourceFile = v8JaspilerOptions.getSourceType() == V8JaspilerOptions.SourceType.File
+                        ? sources.get(i)
+                        : null;
+                if (quarantine && !transformContext.getExceptions().isEmpty()) {
+                    // The quarantined file is reported without the code and is not cached.
+                    results[i] = new TransformResult(
+                            sourceFile, null, null, cached, null,
+                            transformContext.getExceptions().get(0).getMessage(), transformTime,
+                            null, null, null, null, null);
+                    logger.warn("Quarantined [{}] after {} ms.",
+                            compilationUnitTree.getSourceFile().getName(), transformTime);
+                    continue;
                 }
-                if (v8JaspilerOptions.isCode()) {
+                String code = null;
+                String outputFile = null;
+                String sourceMap = null;
+                String sourceMapFile = null;
+                if (v8JaspilerOptions.isCode() && v8JaspilerOptions.getOutputDirectory() != null) {
+                    // The code is streamed to the output file line by line instead of being returned,
+                    // and the source map is written next to it instead of being returned.
+                    final Path outputPath = getOutputPath(
+                            v8JaspilerOptions.getOutputDirectory(),
+                            sourceFile == null ? compilationUnitTree.getSourceFile().getName() : sourceFile);
+                    Files.createDirectories(outputPath.toAbsolutePath().getParent());
+                    final SourceMap outputSourceMap = v8JaspilerOptions.isSourceMap()
+                            ? new SourceMap(
+                            outputPath.getFileName().toString(), compilationUnitTree.getSourceFile().getName())
+                            : null;
+                    boolean serialized;
+                    try (var writer = StreamingStyleWriter.of(
+                            v8JaspilerOptions.getStyleOptions(),
+                            FileChannel.open(
+                                    outputPath,
+                                    StandardOpenOption.CREATE,
+                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                    StandardOpenOption.WRITE))) {
+                        writer.setSourceMap(outputSourceMap);
+                        serialized = writer.serialize(compilationUnitTree);
+                    }
+                    final Path sourceMapPath = outputPath.resolveSibling(
+                            outputPath.getFileName() + SourceMap.FILE_EXTENSION);
+                    if (serialized) {
+                        outputFile = outputPath.toString();
+                        if (outputSourceMap != null) {
+                            // Java has no sourceMappingURL comment, so the output file does not refer to the map.
+                            Files.writeString(sourceMapPath, outputSourceMap.toJson(), StandardCharsets.UTF_8);
+                            sourceMapFile = sourceMapPath.toString();
+                        }
+                    } else {
+                        Files.deleteIfExists(outputPath);
+                        Files.deleteIfExists(sourceMapPath);
+                    }
+                } else if (v8JaspilerOptions.isCode()) {
                     var writer = new StandardStyleWriter(v8JaspilerOptions.getStyleOptions());
-                    if (compilationUnitTree.serialize(writer)) {
-                        v8ValueObjectResult.set(PROPERTY_CODE, writer.toString());
+                    if (v8JaspilerOptions.isSourceMap()) {
+                        final String name = compilationUnitTree.getSourceFile().getName();
+                        writer.setSourceMap(new SourceMap(name, name));
+                    }
+                    boolean serialized = writer.serialize(compilationUnitTree);
+                    if (serialized) {
+                        code = writer.toString();
+                        if (writer.getSourceMap() != null) {
+                            sourceMap = writer.getSourceMap().toJson();
+                        }
+                    }
+                    if (transformCache != null) {
+                        transformCache.put(cacheKeys[i], new JaspilerTransformCache.Entry(
+                                compilationUnitTree.isActionChange(), serialized, code));
+                    }
+                }
+                List<Map<String, Object>> edits = null;
+                String diff = null;
+                if (v8JaspilerOptions.isEdits() || v8JaspilerOptions.isDiff()) {
+                    var textEdits = JTTextEdits.of(compilationUnitTree, v8JaspilerOptions.getStyleOptions());
+                    if (textEdits != null) {
+                        if (v8JaspilerOptions.isEdits()) {
+                            edits = textEdits.getEdits().stream().map(edit -> {
+                                Map<String, Object> map = new LinkedHashMap<>();
+                                map.put(PROPERTY_OFFSET, edit.offset());
+                                map.put(PROPERTY_LENGTH, edit.length());
+                                map.put(PROPERTY_REPLACEMENT, edit.replacement());
+                                return map;
+                            }).toList();
+                        }
+                        if (v8JaspilerOptions.isDiff()) {
+                            diff = textEdits.toUnifiedDiff(
+                                    getDiffFileName(compilationUnitTree.getSourceFile().getName()),
+                                    JTTextEdits.DEFAULT_CONTEXT_LINES);
+                        }
+                    }
+                }
+                results[i] = new TransformResult(
+                        sourceFile,
+                        v8JaspilerOptions.isAst() ? compilationUnitTree : null,
+                        code,
+                        cached,
+                        compilationUnitTree.isActionChange(),
+                        null,
+                        transformTime,
+                        edits,
+                        diff,
+                        sourceMap,
+                        outputFile,
+                        sourceMapFile);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public V8Value transformBatchSync(V8Value... v8Values) throws JavetException, JaspilerCheckedException {
+        try (var v8JaspilerOptions = new V8JaspilerOptions()) {
+            V8ValueObject v8ValueObjectOptions = null;
+            if (v8Values.length > 1) {
+                v8ValueObjectOptions = validateObject(FUNCTION_TRANSFORM_BATCH_SYNC, v8Values, 1);
+                v8JaspilerOptions.deserialize(v8ValueObjectOptions);
+            }
+            var sources = validateSources(
+                    FUNCTION_TRANSFORM_BATCH_SYNC, v8Values, 0, v8JaspilerOptions.getSourceType());
+            // A file that is listed more than once is transformed once, and the rest are reported as duplicates.
+            final var firstSources = new String[sources.size()];
+            final List<String> uniqueSources = new ArrayList<>(sources.size());
+            final Map<Path, String> firstSourceMap = new HashMap<>();
+            for (int i = 0; i < sources.size(); i++) {
+                final String source = sources.get(i);
+                if (v8JaspilerOptions.getSourceType() == V8JaspilerOptions.SourceType.File) {
+                    firstSources[i] = firstSourceMap.putIfAbsent(Path.of(source).toAbsolutePath().normalize(), source);
+                }
+                if (firstSources[i] == null) {
+                    uniqueSources.add(source);
+                }
+            }
+            final List<TransformResult> results;
+            if (v8ValueObjectOptions != null && v8JaspilerOptions.getRuntimePoolSize() > 0) {
+                results = getRuntimePool(v8JaspilerOptions).transform(uniqueSources, v8ValueObjectOptions.toJsonString());
+            } else {
+                results = transform(uniqueSources, v8JaspilerOptions);
+            }
+            try (V8Scope v8Scope = v8Runtime.getV8Scope()) {
+                var v8ValueArrayResult = v8Scope.createV8ValueArray();
+                int resultIndex = 0;
+                for (int i = 0; i < sources.size(); i++) {
+                    final TransformResult result;
+                    if (firstSources[i] == null) {
+                        result = results.get(resultIndex++);
+                    } else {
+                        result = new TransformResult(
+                                sources.get(i), null, null, null, null,
+                                MessageFormat.format("Duplicate source [{0}] of [{1}].", sources.get(i), firstSources[i]),
+                                null, null, null, null, null, null);
+                    }
+                    try (var v8ValueObjectResult = v8Runtime.createV8ValueObject()) {
+                        result.writeTo(v8ValueObjectResult, true);
+                        v8ValueArrayResult.push(v8ValueObjectResult);
                     }
                 }
                 v8Scope.setEscapable();
+                return v8ValueArrayResult;
+            }
+        } catch (IOException e) {
+            throw new JaspilerParseException(e.getMessage(), e);
+        }
+    }
+
+    public V8Value transformSync(V8Value... v8Values) throws JavetException, JaspilerCheckedException {
+        try (var v8JaspilerOptions = new V8JaspilerOptions()) {
+            if (v8Values.length > 1) {
+                v8JaspilerOptions.deserialize(validateObject(FUNCTION_TRANSFORM_SYNC, v8Values, 1));
+            }
+            var results = transform(
+                    List.of(validateString(FUNCTION_TRANSFORM_SYNC, v8Values, 0)), v8JaspilerOptions);
+            try (V8Scope v8Scope = v8Runtime.getV8Scope()) {
+                var v8ValueObjectResult = v8Scope.createV8ValueObject();
+                results.get(0).writeTo(v8ValueObjectResult, false);
+                v8Scope.setEscapable();
                 return v8ValueObjectResult;
             }
         } catch (IOException e) {
@@ -318,6 +740,53 @@ public final class V8Jaspiler
                 MessageFormat.format("Argument type mismatches in {0}. Object is expected.", functionName));
     }
 
+    private List<String> validateSources(
+            String functionName, V8Value[] v8Values, int index, V8JaspilerOptions.SourceType sourceType)
+            throws JavetException, JaspilerArgumentException {
+        validateLength(functionName, v8Values, index);
+        V8Value v8Value = v8Values[index];
+        if (v8Value instanceof V8ValueArray v8ValueArray) {
+            final List<String> sources = new ArrayList<>();
+            v8ValueArray.forEach(v8ValueItem -> {
+                if (v8ValueItem instanceof V8ValueString v8ValueString) {
+                    sources.add(v8ValueString.getValue());
+                } else {
+                    throw new JaspilerArgumentException(
+                            MessageFormat.format("Argument type mismatches in {0}. String array is expected.", functionName));
+                }
+            });
+            return sources;
+        }
+        String source = validateString(functionName, v8Values, index);
+        if (sourceType != V8JaspilerOptions.SourceType.File) {
+            return List.of(source);
+        }
+        String pattern = source.replace('\\', '/');
+        int globIndex = StringUtils.indexOfAny(pattern, GLOB_CHARACTERS);
+        if (globIndex < 0) {
+            return List.of(source);
+        }
+        int separatorIndex = pattern.lastIndexOf('/', globIndex);
+        Path baseDirectory = Path.of(separatorIndex < 0 ? "" : pattern.substring(0, separatorIndex + 1));
+        String glob = pattern.substring(separatorIndex + 1);
+        if (glob.indexOf('{') < 0) {
+            // "**/" matches at least one directory, so it is made optional to match the files in the base directory too.
+            glob = glob.replace("**/", "{**/,}");
+        }
+        PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher(GLOB_SYNTAX + glob);
+        try (var stream = Files.walk(baseDirectory)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .filter(path -> pathMatcher.matches(baseDirectory.relativize(path)))
+                    .map(Path::toString)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new JaspilerArgumentException(
+                    MessageFormat.format("Failed to resolve [{0}] in {1}.", source, functionName), e);
+        }
+    }
+
     private String validateString(
             String functionName, V8Value[] v8Values, int index)
             throws JaspilerArgumentException {
@@ -329,4 +798,48 @@ public final class V8Jaspiler
         throw new JaspilerArgumentException(
                 MessageFormat.format("Argument type mismatches in {0}. String is expected.", functionName));
     }
+
+    record TransformResult(
+            String sourceFile, JTCompilationUnit ast, String code, Boolean cached, Boolean changed, String error,
+            Double transformTime, List<Map<String, Object>> edits, String diff, String sourceMap, String outputFile,
+            String sourceMapFile) {
+        void writeTo(V8ValueObject v8ValueObject, boolean withSourceFile) throws JavetException {
+            if (withSourceFile && sourceFile != null) {
+                v8ValueObject.set(PROPERTY_SOURCE_FILE, sourceFile);
+            }
+            if (ast != null) {
+                v8ValueObject.set(PROPERTY_AST, ast);
+            }
+            if (code != null) {
+                v8ValueObject.set(PROPERTY_CODE, code);
+            }
+            if (cached != null) {
+                v8ValueObject.set(PROPERTY_CACHED, cached);
+            }
+            if (changed != null) {
+                v8ValueObject.set(PROPERTY_CHANGED, changed);
+            }
+            if (error != null) {
+                v8ValueObject.set(PROPERTY_ERROR, error);
+            }
+            if (transformTime != null) {
+                v8ValueObject.set(PROPERTY_TRANSFORM_TIME, transformTime);
+            }
+            if (edits != null) {
+                v8ValueObject.set(PROPERTY_EDITS, edits);
+            }
+            if (diff != null) {
+                v8ValueObject.set(PROPERTY_DIFF, diff);
+            }
+            if (sourceMap != null) {
+                v8ValueObject.set(PROPERTY_SOURCE_MAP, sourceMap);
+            }
+            if (outputFile != null) {
+                v8ValueObject.set(PROPERTY_OUTPUT_FILE, outputFile);
+            }
+            if (sourceMapFile != null) {
+                v8ValueObject.set(PROPERTY_SOURCE_MAP_FILE, sourceMapFile);
+            }
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.caoccao.jaspiler.v8;
 
+import com.caoccao.jaspiler.JaspilerContract;
 import com.caoccao.jaspiler.styles.StyleOptions;
 import com.caoccao.javet.exceptions.JavetException;
 import com.caoccao.javet.interfaces.IJavetClosable;
@@ -30,7 +31,9 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -40,30 +43,61 @@ import java.util.function.Supplier;
 public final class V8JaspilerOptions implements IJavetClosable {
     private static final String DEFAULT_FILE_NAME = "Dummy";
     private static final String PROPERTY_AST = "ast";
+    private static final String PROPERTY_CACHE_DIRECTORY = "cacheDirectory";
     private static final String PROPERTY_CODE = "code";
     private static final String PROPERTY_CONTEXT = "context";
     private static final String PROPERTY_CONTINUATION_INDENT_SIZE = "continuationIndentSize";
+    private static final String PROPERTY_DIFF = "diff";
+    private static final String PROPERTY_EDITS = "edits";
+    private static final String PROPERTY_ERROR_MODE = "errorMode";
     private static final String PROPERTY_FILE_NAME = "fileName";
     private static final String PROPERTY_INDENT_SIZE = "indentSize";
+    private static final String PROPERTY_MODULE = "module";
+    private static final String PROPERTY_NATIVE_CONTRACTS = "nativeContracts";
+    private static final String PROPERTY_OUTPUT_DIRECTORY = "outputDirectory";
     private static final String PROPERTY_PLUGINS = "plugins";
     private static final String PROPERTY_PRESERVE_COPYRIGHTS = "preserveCopyrights";
+    private static final String PROPERTY_RUNTIME_POOL = "runtimePool";
+    private static final String PROPERTY_SIZE = "size";
+    private static final String PROPERTY_SOURCE_MAP = "sourceMap";
     private static final String PROPERTY_SOURCE_TYPE = "sourceType";
     private static final String PROPERTY_STYLE = "style";
+    private static final String PROPERTY_WARM_UP = "warmUp";
     private static final String PROPERTY_WORD_WRAP_COLUMN = "wordWrapColumn";
     private final List<Plugin> plugins;
     private boolean ast;
+    private String cacheDirectory;
     private boolean code;
     private V8ValueObject context;
+    private boolean diff;
+    private boolean edits;
+    private ErrorMode errorMode;
     private String fileName;
+    private boolean nativeContracts;
+    private String outputDirectory;
+    private String runtimePoolModule;
+    private int runtimePoolSize;
+    private boolean runtimePoolWarmUp;
+    private boolean sourceMap;
     private SourceType sourceType;
     private StyleOptions styleOptions;
 
     public V8JaspilerOptions() {
         ast = false;
+        cacheDirectory = null;
         code = true;
         context = null;
+        diff = false;
+        edits = false;
+        errorMode = ErrorMode.Collect;
         fileName = null;
+        nativeContracts = false;
+        outputDirectory = null;
         plugins = new ArrayList<>();
+        runtimePoolModule = null;
+        runtimePoolSize = 0;
+        runtimePoolWarmUp = true;
+        sourceMap = false;
         sourceType = SourceType.File;
         styleOptions = StyleOptions.Default;
     }
@@ -78,9 +112,17 @@ public final class V8JaspilerOptions implements IJavetClosable {
 
     public V8JaspilerOptions deserialize(V8ValueObject v8ValueObject) throws JavetException {
         deserializeAst(v8ValueObject);
+        deserializeCacheDirectory(v8ValueObject);
         deserializeCode(v8ValueObject);
         deserializeContext(v8ValueObject);
+        deserializeDiff(v8ValueObject);
+        deserializeEdits(v8ValueObject);
+        deserializeErrorMode(v8ValueObject);
+        deserializeNativeContracts(v8ValueObject);
+        deserializeOutputDirectory(v8ValueObject);
         deserializePlugins(v8ValueObject);
+        deserializeRuntimePool(v8ValueObject);
+        deserializeSourceMap(v8ValueObject);
         deserializeSourceTypeAndFileName(v8ValueObject);
         deserializeStyle(v8ValueObject);
         return this;
@@ -94,6 +136,14 @@ public final class V8JaspilerOptions implements IJavetClosable {
         }
     }
 
+    private void deserializeCacheDirectory(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_CACHE_DIRECTORY)) {
+            if (v8Value instanceof V8ValueString v8ValueString) {
+                cacheDirectory = StringUtils.trimToNull(v8ValueString.getValue());
+            }
+        }
+    }
+
     private void deserializeCode(V8ValueObject v8ValueObject) throws JavetException {
         try (V8Value v8Value = v8ValueObject.get(PROPERTY_CODE)) {
             if (v8Value instanceof V8ValueBoolean v8ValueBoolean) {
@@ -110,6 +160,46 @@ public final class V8JaspilerOptions implements IJavetClosable {
         }
     }
 
+    private void deserializeDiff(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_DIFF)) {
+            if (v8Value instanceof V8ValueBoolean v8ValueBoolean) {
+                diff = v8ValueBoolean.getValue();
+            }
+        }
+    }
+
+    private void deserializeEdits(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_EDITS)) {
+            if (v8Value instanceof V8ValueBoolean v8ValueBoolean) {
+                edits = v8ValueBoolean.getValue();
+            }
+        }
+    }
+
+    private void deserializeErrorMode(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_ERROR_MODE)) {
+            if (v8Value instanceof V8ValueString v8ValueString) {
+                errorMode = ErrorMode.parse(v8ValueString.getValue());
+            }
+        }
+    }
+
+    private void deserializeNativeContracts(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_NATIVE_CONTRACTS)) {
+            if (v8Value instanceof V8ValueBoolean v8ValueBoolean) {
+                nativeContracts = v8ValueBoolean.getValue();
+            }
+        }
+    }
+
+    private void deserializeOutputDirectory(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_OUTPUT_DIRECTORY)) {
+            if (v8Value instanceof V8ValueString v8ValueString) {
+                outputDirectory = StringUtils.trimToNull(v8ValueString.getValue());
+            }
+        }
+    }
+
     private void deserializePlugins(V8ValueObject v8ValueObject) throws JavetException {
         try (V8Value v8Value = v8ValueObject.get(PROPERTY_PLUGINS)) {
             if (v8Value instanceof V8ValueArray v8ValueArray) {
@@ -122,6 +212,25 @@ public final class V8JaspilerOptions implements IJavetClosable {
         }
     }
 
+    private void deserializeRuntimePool(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_RUNTIME_POOL)) {
+            if (v8Value instanceof V8ValueObject v8ValueObjectRuntimePool) {
+                runtimePoolModule = StringUtils.trimToNull(v8ValueObjectRuntimePool.getString(PROPERTY_MODULE));
+                runtimePoolSize = Math.max(1, Optional.ofNullable(v8ValueObjectRuntimePool.getInteger(PROPERTY_SIZE))
+                        .orElseGet(() -> Runtime.getRuntime().availableProcessors()));
+                Optional.ofNullable(v8ValueObjectRuntimePool.getBoolean(PROPERTY_WARM_UP)).ifPresent(this::setRuntimePoolWarmUp);
+            }
+        }
+    }
+
+    private void deserializeSourceMap(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8Value v8Value = v8ValueObject.get(PROPERTY_SOURCE_MAP)) {
+            if (v8Value instanceof V8ValueBoolean v8ValueBoolean) {
+                sourceMap = v8ValueBoolean.getValue();
+            }
+        }
+    }
+
     private void deserializeSourceTypeAndFileName(V8ValueObject v8ValueObject) throws JavetException {
         try (V8Value v8Value = v8ValueObject.get(PROPERTY_SOURCE_TYPE)) {
             if (v8Value instanceof V8ValueString v8ValueString) {
@@ -157,18 +266,64 @@ public final class V8JaspilerOptions implements IJavetClosable {
         }
     }
 
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
     public V8ValueObject getContext() {
         return context;
     }
 
+    public ErrorMode getErrorMode() {
+        return errorMode;
+    }
+
     public String getFileName() {
         return fileName;
     }
 
+    public String getOutputDirectory() {
+        return outputDirectory;
+    }
+
     public List<Plugin> getPlugins() {
         return plugins;
     }
 
+    public String getRuntimePoolModule() {
+        return runtimePoolModule;
+    }
+
+    public int getRuntimePoolSize() {
+        return runtimePoolSize;
+    }
+
+    /**
+     * Gets the script key from the Jaspiler version, the module key, the source code of the plugins and the context.
+     * It identifies the transform in the incremental transform cache.
+     *
+     * @param moduleKey the hash of the script and module files that define the plugins
+     * @return the script key
+     * @throws JavetException the javet exception
+     */
+    public String getScriptKey(String moduleKey) throws JavetException {
+        final var stringBuilder = new StringBuilder();
+        stringBuilder.append(JaspilerContract.VERSION).append('\n');
+        stringBuilder.append(Objects.requireNonNullElse(moduleKey, "")).append('\n');
+        for (var plugin : plugins) {
+            if (plugin.getVisitor() != null) {
+                stringBuilder.append(plugin.getVisitor().getSourceCode()).append('\n');
+            }
+        }
+        if (nativeContracts) {
+            stringBuilder.append(PROPERTY_NATIVE_CONTRACTS).append('\n');
+        }
+        if (context != null) {
+            stringBuilder.append(context.toJsonString());
+        }
+        return stringBuilder.toString();
+    }
+
     public SourceType getSourceType() {
         return sourceType;
     }
@@ -190,10 +345,34 @@ public final class V8JaspilerOptions implements IJavetClosable {
         return code;
     }
 
+    public boolean isDiff() {
+        return diff;
+    }
+
+    public boolean isEdits() {
+        return edits;
+    }
+
+    public boolean isNativeContracts() {
+        return nativeContracts;
+    }
+
+    public boolean isRuntimePoolWarmUp() {
+        return runtimePoolWarmUp;
+    }
+
+    public boolean isSourceMap() {
+        return sourceMap;
+    }
+
     public void setAst(boolean ast) {
         this.ast = ast;
     }
 
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
     public void setCode(boolean code) {
         this.code = code;
     }
@@ -202,10 +381,46 @@ public final class V8JaspilerOptions implements IJavetClosable {
         this.context = context;
     }
 
+    public void setDiff(boolean diff) {
+        this.diff = diff;
+    }
+
+    public void setEdits(boolean edits) {
+        this.edits = edits;
+    }
+
+    public void setErrorMode(ErrorMode errorMode) {
+        this.errorMode = Objects.requireNonNull(errorMode);
+    }
+
     public void setFileName(String fileName) {
         this.fileName = fileName;
     }
 
+    public void setNativeContracts(boolean nativeContracts) {
+        this.nativeContracts = nativeContracts;
+    }
+
+    public void setOutputDirectory(String outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public void setRuntimePoolModule(String runtimePoolModule) {
+        this.runtimePoolModule = runtimePoolModule;
+    }
+
+    public void setRuntimePoolSize(int runtimePoolSize) {
+        this.runtimePoolSize = runtimePoolSize;
+    }
+
+    public void setRuntimePoolWarmUp(boolean runtimePoolWarmUp) {
+        this.runtimePoolWarmUp = runtimePoolWarmUp;
+    }
+
+    public void setSourceMap(boolean sourceMap) {
+        this.sourceMap = sourceMap;
+    }
+
     public void setSourceType(SourceType sourceType) {
         this.sourceType = sourceType;
     }
@@ -214,6 +429,33 @@ public final class V8JaspilerOptions implements IJavetClosable {
         this.styleOptions = styleOptions;
     }
 
+    /**
+     * The enum Error mode tells what a transform does when a plugin throws.
+     */
+    public enum ErrorMode {
+        /**
+         * Visit all the files and throw the first error at the end.
+         */
+        Collect,
+        /**
+         * Abort the transform on the first error.
+         */
+        FailFast,
+        /**
+         * Abort the file on its first error, report it in the result of the file and continue with the rest.
+         */
+        Quarantine;
+
+        public static ErrorMode parse(String name) {
+            for (ErrorMode errorMode : values()) {
+                if (StringUtils.equalsIgnoreCase(errorMode.name(), name)) {
+                    return errorMode;
+                }
+            }
+            return Collect;
+        }
+    }
+
     public enum SourceType {
         File,
         String,
@@ -261,8 +503,81 @@ public final class V8JaspilerOptions implements IJavetClosable {
         }
     }
 
+    /**
+     * The type Visitor holds the enter functions, e.g. Class, and the exit functions, e.g. ClassExit.
+     * The exit functions are called after the children are scanned.
+     */
     public static final class Visitor implements IJavetClosable {
-        private final List<String> properties;
+        private static final String EXIT_SUFFIX = "Exit";
+        private static final List<String> PROPERTIES = List.of(
+                "Scan",
+                "AnnotatedType",
+                "Annotation",
+                "ArrayAccess",
+                "ArrayType",
+                "Assert",
+                "Assignment",
+                "Binary",
+                "BindingPattern",
+                "Block",
+                "Break",
+                "Case",
+                "Catch",
+                "Class",
+                "CompilationUnit",
+                "CompoundAssignment",
+                "ConditionalExpression",
+                "Continue",
+                "DefaultCaseLabel",
+                "DoWhileLoop",
+                "EmptyStatement",
+                "EnhancedForLoop",
+                "Erroneous",
+                "Exports",
+                "ExpressionStatement",
+                "ForLoop",
+                "GuardedPattern",
+                "Identifier",
+                "If",
+                "Import",
+                "InstanceOf",
+                "IntersectionType",
+                "LabeledStatement",
+                "LambdaExpression",
+                "Literal",
+                "MemberReference",
+                "MemberSelect",
+                "Method",
+                "MethodInvocation",
+                "Modifiers",
+                "Module",
+                "NewArray",
+                "NewClass",
+                "Opens",
+                "Other",
+                "Package",
+                "ParameterizedType",
+                "Parenthesized",
+                "ParenthesizedPattern",
+                "PrimitiveType",
+                "Provides",
+                "Requires",
+                "Return",
+                "Switch",
+                "SwitchExpression",
+                "Synchronized",
+                "Throw",
+                "Try",
+                "TypeCast",
+                "TypeParameter",
+                "Unary",
+                "UnionType",
+                "Uses",
+                "Variable",
+                "WhileLoop",
+                "Wildcard",
+                "Yield");
+        private final V8ValueFunction[] exitFunctions;
         private final List<Supplier<V8ValueFunction>> propertyGetters;
         private final List<Consumer<V8ValueFunction>> propertySetters;
         private V8ValueFunction scan;
@@ -334,74 +649,7 @@ public final class V8JaspilerOptions implements IJavetClosable {
         private V8ValueFunction visitYield;
 
         public Visitor() {
-            properties = List.of(
-                    "Scan",
-                    "AnnotatedType",
-                    "Annotation",
-                    "ArrayAccess",
-                    "ArrayType",
-                    "Assert",
-                    "Assignment",
-                    "Binary",
-                    "BindingPattern",
-                    "Block",
-                    "Break",
-                    "Case",
-                    "Catch",
-                    "Class",
-                    "CompilationUnit",
-                    "CompoundAssignment",
-                    "ConditionalExpression",
-                    "Continue",
-                    "DefaultCaseLabel",
-                    "DoWhileLoop",
-                    "EmptyStatement",
-                    "EnhancedForLoop",
-                    "Erroneous",
-                    "Exports",
-                    "ExpressionStatement",
-                    "ForLoop",
-                    "GuardedPattern",
-                    "Identifier",
-                    "If",
-                    "Import",
-                    "InstanceOf",
-                    "IntersectionType",
-                    "LabeledStatement",
-                    "LambdaExpression",
-                    "Literal",
-                    "MemberReference",
-                    "MemberSelect",
-                    "Method",
-                    "MethodInvocation",
-                    "Modifiers",
-                    "Module",
-                    "NewArray",
-                    "NewClass",
-                    "Opens",
-                    "Other",
-                    "Package",
-                    "ParameterizedType",
-                    "Parenthesized",
-                    "ParenthesizedPattern",
-                    "PrimitiveType",
-                    "Provides",
-                    "Requires",
-                    "Return",
-                    "Switch",
-                    "SwitchExpression",
-                    "Synchronized",
-                    "Throw",
-                    "Try",
-                    "TypeCast",
-                    "TypeParameter",
-                    "Unary",
-                    "UnionType",
-                    "Uses",
-                    "Variable",
-                    "WhileLoop",
-                    "Wildcard",
-                    "Yield");
+            exitFunctions = new V8ValueFunction[PROPERTIES.size()];
             propertyGetters = List.of(
                     this::getScan,
                     this::getVisitAnnotatedType,
@@ -544,24 +792,30 @@ public final class V8JaspilerOptions implements IJavetClosable {
         @Override
         public void close() {
             JavetResourceUtils.safeClose(propertyGetters.stream().map(Supplier::get).toArray());
+            JavetResourceUtils.safeClose((Object[]) exitFunctions);
             reset();
         }
 
         public Visitor deserialize(V8ValueObject v8ValueObject) throws JavetException {
-            final int length = properties.size();
-            V8Value[] v8ValueKeys = new V8Value[length];
-            V8Value[] v8ValueValues = new V8Value[length];
+            final int length = PROPERTIES.size();
+            V8Value[] v8ValueKeys = new V8Value[length * 2];
+            V8Value[] v8ValueValues = new V8Value[length * 2];
             try {
                 var v8Runtime = v8ValueObject.getV8Runtime();
                 for (int i = 0; i < length; i++) {
-                    v8ValueKeys[i] = v8Runtime.createV8ValueString(properties.get(i));
+                    v8ValueKeys[i] = v8Runtime.createV8ValueString(PROPERTIES.get(i));
+                    v8ValueKeys[length + i] = v8Runtime.createV8ValueString(PROPERTIES.get(i) + EXIT_SUFFIX);
                 }
-                v8ValueObject.batchGet(v8ValueKeys, v8ValueValues, length);
+                v8ValueObject.batchGet(v8ValueKeys, v8ValueValues, length * 2);
                 for (int i = 0; i < length; i++) {
                     if (v8ValueValues[i] instanceof V8ValueFunction v8ValueFunction) {
                         propertySetters.get(i).accept(v8ValueFunction);
                         v8ValueValues[i] = null;
                     }
+                    if (v8ValueValues[length + i] instanceof V8ValueFunction v8ValueFunction) {
+                        exitFunctions[i] = v8ValueFunction;
+                        v8ValueValues[length + i] = null;
+                    }
                 }
             } finally {
                 JavetResourceUtils.safeClose(v8ValueKeys);
@@ -570,10 +824,46 @@ public final class V8JaspilerOptions implements IJavetClosable {
             return this;
         }
 
+        public V8ValueFunction getExitFunction(int index) {
+            return exitFunctions[index];
+        }
+
+        public V8ValueFunction getFunction(int index) {
+            return propertyGetters.get(index).get();
+        }
+
+        public static int getPropertyCount() {
+            return PROPERTIES.size();
+        }
+
+        public static int getPropertyIndex(String property) {
+            int index = PROPERTIES.indexOf(property);
+            if (index < 0) {
+                throw new IllegalArgumentException(MessageFormat.format("Visitor property {0} is not found.", property));
+            }
+            return index;
+        }
+
         public V8ValueFunction getScan() {
             return scan;
         }
 
+        public String getSourceCode() throws JavetException {
+            final var stringBuilder = new StringBuilder();
+            final int length = PROPERTIES.size();
+            for (int i = 0; i < length; i++) {
+                V8ValueFunction v8ValueFunction = propertyGetters.get(i).get();
+                if (v8ValueFunction != null) {
+                    stringBuilder.append(PROPERTIES.get(i)).append(':').append(v8ValueFunction.getSourceCode()).append('\n');
+                }
+                if (exitFunctions[i] != null) {
+                    stringBuilder.append(PROPERTIES.get(i)).append(EXIT_SUFFIX).append(':')
+                            .append(exitFunctions[i].getSourceCode()).append('\n');
+                }
+            }
+            return stringBuilder.toString();
+        }
+
         public V8ValueFunction getVisitAnnotatedType() {
             return visitAnnotatedType;
         }
@@ -840,7 +1130,8 @@ public final class V8JaspilerOptions implements IJavetClosable {
 
         @Override
         public boolean isClosed() {
-            return propertyGetters.stream().map(Supplier::get).allMatch(Objects::isNull);
+            return propertyGetters.stream().map(Supplier::get).allMatch(Objects::isNull)
+                    && Arrays.stream(exitFunctions).allMatch(Objects::isNull);
         }
 
         public boolean isValid() {
@@ -849,6 +1140,7 @@ public final class V8JaspilerOptions implements IJavetClosable {
 
         private void reset() {
             propertySetters.forEach(setter -> setter.accept(null));
+            Arrays.fill(exitFunctions, null);
         }
 
         public void setScan(V8ValueFunction scan) {
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.v8;
+
+import com.caoccao.jaspiler.trees.JTTree;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.interop.converters.JavetProxyConverter;
+import com.caoccao.javet.utils.JavetResourceUtils;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueReference;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The type V8 jaspiler proxy converter converts the same tree to the same proxy within a transform scope,
+ * so that re-reading a property does not allocate a new proxy and === works in the plugins.
+ * The cached handles are weak, so the proxies unreachable in V8 can still be garbage collected.
+ * <p>
+ * The lists are converted to live proxies instead of arrays, so that the child trees are read and written
+ * element by element. The tree lists keep the parent trees and the change tracking consistent on mutation.
+ */
+public class V8JaspilerProxyConverter extends JavetProxyConverter {
+    private final Map<JTTree<?, ?>, V8ValueReference> proxyMap;
+    private long hitCount;
+    private long missCount;
+    private int scopeCount;
+
+    public V8JaspilerProxyConverter() {
+        super();
+        getConfig().setProxyListEnabled(true);
+        proxyMap = new IdentityHashMap<>();
+        hitCount = 0;
+        missCount = 0;
+        scopeCount = 0;
+    }
+
+    private synchronized void closeScope() {
+        if (scopeCount > 0 && --scopeCount == 0) {
+            proxyMap.values().forEach(JavetResourceUtils::safeClose);
+            proxyMap.clear();
+        }
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized int getSize() {
+        return proxyMap.size();
+    }
+
+    /**
+     * Open a transform scope. The proxies are cached until the outermost scope is closed.
+     *
+     * @return the scope
+     */
+    public synchronized Scope openScope() {
+        ++scopeCount;
+        return new Scope();
+    }
+
+    public synchronized V8JaspilerProxyConverter resetCounters() {
+        hitCount = 0;
+        missCount = 0;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends V8Value> T toV8Value(V8Runtime v8Runtime, Object object, int depth) throws JavetException {
+        if (object instanceof JTTree<?, ?> jtTree) {
+            synchronized (this) {
+                if (scopeCount > 0) {
+                    V8ValueReference v8ValueReference = proxyMap.get(jtTree);
+                    if (v8ValueReference != null && !v8ValueReference.isClosed()) {
+                        ++hitCount;
+                        return (T) v8ValueReference.toClone();
+                    }
+                    ++missCount;
+                    T v8Value = super.toV8Value(v8Runtime, object, depth);
+                    if (v8Value instanceof V8ValueReference v8ValueReferenceNew) {
+                        V8ValueReference v8ValueReferenceWeak = v8ValueReferenceNew.toClone();
+                        v8ValueReferenceWeak.setWeak();
+                        JavetResourceUtils.safeClose(proxyMap.put(jtTree, v8ValueReferenceWeak));
+                    }
+                    return v8Value;
+                }
+            }
+        }
+        return super.toV8Value(v8Runtime, object, depth);
+    }
+
+    /**
+     * The type Scope releases the cached proxies when the transform ends.
+     */
+    public final class Scope implements AutoCloseable {
+        private boolean closed;
+
+        private Scope() {
+            closed = false;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                closeScope();
+            }
+        }
+    }
+}
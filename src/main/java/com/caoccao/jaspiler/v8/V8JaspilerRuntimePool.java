@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.v8;
+
+import com.caoccao.jaspiler.exceptions.JaspilerArgumentException;
+import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
+import com.caoccao.jaspiler.exceptions.JaspilerExecutionException;
+import com.caoccao.jaspiler.utils.BaseLoggingObject;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.NodeRuntime;
+import com.caoccao.javet.interop.V8Host;
+import com.caoccao.javet.node.modules.NodeModuleModule;
+import com.caoccao.javet.utils.JavetResourceUtils;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueArray;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The type V8 jaspiler runtime pool loads the same plugin module into a pool of Node.js runtimes,
+ * so that the plugins of a batch transform run on multiple isolates and threads.
+ * Each runtime is owned by a dedicated thread and the chunks of the sources are pulled from a shared queue.
+ */
+public final class V8JaspilerRuntimePool extends BaseLoggingObject implements AutoCloseable {
+    private static final int CHUNKS_PER_RUNTIME = 4;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30L;
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+    private static final String PROPERTY_FILE_COUNT = "fileCount";
+    private static final String PROPERTY_INDEX = "index";
+    private static final String PROPERTY_PLUGINS = "plugins";
+    private static final String PROPERTY_TASK_COUNT = "taskCount";
+    private static final String PROPERTY_TRANSFORM_TIME = "transformTime";
+    private static final String PROPERTY_WARM_UP_TIME = "warmUpTime";
+    private static final String SCRIPT_REQUIRE = "(path) => require(path)";
+    private static final String WARM_UP_CODE = """
+            public class Dummy {
+                void f() {
+                }
+            }
+            """;
+    private static final String WARM_UP_OPTIONS = "{\"sourceType\":\"string\"}";
+    private final File moduleFile;
+    private final List<Worker> workers;
+
+    public V8JaspilerRuntimePool(List<String> argv, File moduleFile, int size, boolean warmUp)
+            throws JaspilerCheckedException {
+        super();
+        this.moduleFile = Objects.requireNonNull(moduleFile).getAbsoluteFile();
+        final String[] args = argv.toArray(String[]::new);
+        workers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            workers.add(new Worker(i));
+        }
+        final List<Future<Void>> futures = new ArrayList<>(size);
+        for (var worker : workers) {
+            futures.add(worker.submit(() -> {
+                worker.open(args, warmUp);
+                return null;
+            }));
+        }
+        try {
+            join(futures);
+        } catch (IOException e) {
+            close();
+            throw new JaspilerExecutionException(e.getMessage(), e);
+        } catch (JaspilerCheckedException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.forEach(Worker::close);
+        workers.forEach(worker -> logger.info(
+                "Runtime {} of [{}]: {} files in {} tasks, {} ms transform, {} ms warm-up.",
+                worker.index,
+                moduleFile.getPath(),
+                worker.fileCount.get(),
+                worker.taskCount.get(),
+                worker.transformTime.get() / NANOS_PER_MILLI,
+                worker.warmUpTime.get() / NANOS_PER_MILLI));
+        workers.clear();
+    }
+
+    public File getModuleFile() {
+        return moduleFile;
+    }
+
+    public int getSize() {
+        return workers.size();
+    }
+
+    /**
+     * Gets the statistics per runtime.
+     * The times are in milliseconds and the counts are doubles so that they are numbers in V8.
+     *
+     * @return the statistics
+     */
+    public List<Map<String, Object>> getStatistics() {
+        return workers.stream()
+                .map(worker -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put(PROPERTY_INDEX, worker.index);
+                    map.put(PROPERTY_FILE_COUNT, (double) worker.fileCount.get());
+                    map.put(PROPERTY_TASK_COUNT, (double) worker.taskCount.get());
+                    map.put(PROPERTY_TRANSFORM_TIME, worker.transformTime.get() / NANOS_PER_MILLI);
+                    map.put(PROPERTY_WARM_UP_TIME, worker.warmUpTime.get() / NANOS_PER_MILLI);
+                    return map;
+                })
+                .toList();
+    }
+
+    private <T> List<T> join(List<Future<T>> futures) throws IOException, JaspilerCheckedException {
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (var future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JaspilerExecutionException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof JaspilerCheckedException jaspilerCheckedException) {
+                throw jaspilerCheckedException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new JaspilerExecutionException(cause.getMessage(), cause);
+        }
+        return results;
+    }
+
+    /**
+     * Transform the sources in the runtimes and return the results in the order of the sources.
+     * The plugins in the options are replaced by the plugins exported by the module,
+     * and the options are passed to the runtimes as JSON so that the functions in the context are dropped.
+     *
+     * @param sources     the sources
+     * @param optionsJson the options in JSON
+     * @return the results
+     * @throws IOException              the io exception
+     * @throws JaspilerCheckedException the jaspiler checked exception
+     */
+    List<V8Jaspiler.TransformResult> transform(List<String> sources, String optionsJson)
+            throws IOException, JaspilerCheckedException {
+        final int chunkCount = Math.min(sources.size(), workers.size() * CHUNKS_PER_RUNTIME);
+        if (chunkCount == 0) {
+            return List.of();
+        }
+        final var chunkResults = new AtomicReferenceArray<List<V8Jaspiler.TransformResult>>(chunkCount);
+        final var nextChunkIndex = new AtomicInteger();
+        final int workerCount = Math.min(chunkCount, workers.size());
+        final List<Future<Void>> futures = new ArrayList<>(workerCount);
+        for (var worker : workers.subList(0, workerCount)) {
+            futures.add(worker.submit(() -> {
+                int chunkIndex;
+                while ((chunkIndex = nextChunkIndex.getAndIncrement()) < chunkCount) {
+                    final var chunkSources = sources.subList(
+                            sources.size() * chunkIndex / chunkCount,
+                            sources.size() * (chunkIndex + 1) / chunkCount);
+                    final long startTime = System.nanoTime();
+                    chunkResults.set(chunkIndex, worker.transform(chunkSources, optionsJson));
+                    worker.transformTime.addAndGet(System.nanoTime() - startTime);
+                    worker.fileCount.addAndGet(chunkSources.size());
+                    worker.taskCount.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        join(futures);
+        final List<V8Jaspiler.TransformResult> results = new ArrayList<>(sources.size());
+        for (int i = 0; i < chunkCount; i++) {
+            results.addAll(chunkResults.get(i));
+        }
+        return results;
+    }
+
+    private final class Worker {
+        private final ExecutorService executorService;
+        private final AtomicLong fileCount;
+        private final int index;
+        private final AtomicLong taskCount;
+        private final AtomicLong transformTime;
+        private final AtomicLong warmUpTime;
+        private NodeRuntime nodeRuntime;
+        private V8Value plugins;
+        private V8Jaspiler v8Jaspiler;
+
+        Worker(int index) {
+            executorService = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jaspiler-runtime-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+            fileCount = new AtomicLong();
+            this.index = index;
+            nodeRuntime = null;
+            plugins = null;
+            taskCount = new AtomicLong();
+            transformTime = new AtomicLong();
+            v8Jaspiler = null;
+            warmUpTime = new AtomicLong();
+        }
+
+        void close() {
+            try {
+                submit(() -> {
+                    JavetResourceUtils.safeClose(plugins);
+                    plugins = null;
+                    if (nodeRuntime != null) {
+                        try {
+                            nodeRuntime.getGlobalObject().delete(V8Jaspiler.NAME);
+                            nodeRuntime.lowMemoryNotification();
+                        } finally {
+                            JavetResourceUtils.safeClose(v8Jaspiler, nodeRuntime);
+                            v8Jaspiler = null;
+                            nodeRuntime = null;
+                        }
+                    }
+                    return null;
+                }).get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("Failed to close runtime {} of [{}].", index, moduleFile.getPath(), e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        void open(String[] args, boolean warmUp) throws JavetException, JaspilerCheckedException, IOException {
+            final long startTime = System.nanoTime();
+            nodeRuntime = V8Host.getNodeInstance().createV8Runtime();
+            nodeRuntime.setConverter(new V8JaspilerProxyConverter());
+            v8Jaspiler = new V8Jaspiler(args, nodeRuntime);
+            nodeRuntime.getGlobalObject().set(V8Jaspiler.NAME, v8Jaspiler);
+            nodeRuntime.getNodeModule(NodeModuleModule.class).setRequireRootDirectory(
+                    moduleFile.getParentFile().getAbsolutePath() + File.separator);
+            try (V8ValueFunction v8ValueFunction = nodeRuntime.getExecutor(SCRIPT_REQUIRE).execute()) {
+                plugins = v8ValueFunction.call(null, moduleFile.getAbsolutePath());
+            }
+            if (!(plugins instanceof V8ValueArray)) {
+                throw new JaspilerArgumentException(MessageFormat.format(
+                        "Module {0} must export an array of plugins.", moduleFile.getPath()));
+            }
+            if (warmUp) {
+                transform(List.of(WARM_UP_CODE), WARM_UP_OPTIONS);
+            }
+            warmUpTime.set(System.nanoTime() - startTime);
+        }
+
+        <T> Future<T> submit(Callable<T> callable) {
+            return executorService.submit(callable);
+        }
+
+        List<V8Jaspiler.TransformResult> transform(List<String> sources, String optionsJson)
+                throws IOException, JavetException, JaspilerCheckedException {
+            try (V8ValueObject v8ValueObject = nodeRuntime.getExecutor("(" + optionsJson + ")").execute();
+                 var v8JaspilerOptions = new V8JaspilerOptions()) {
+                v8ValueObject.set(PROPERTY_PLUGINS, plugins);
+                v8JaspilerOptions.deserialize(v8ValueObject);
+                return v8Jaspiler.transform(sources, v8JaspilerOptions);
+            }
+        }
+    }
+}
@@ -17,53 +17,232 @@
 package com.caoccao.jaspiler.v8;
 
 import com.caoccao.jaspiler.contexts.JaspilerTransformContext;
+import com.caoccao.jaspiler.exceptions.JaspilerAbortException;
+import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
+import com.caoccao.jaspiler.exceptions.JaspilerExecutionException;
+import com.caoccao.jaspiler.trees.JTTree;
 import com.caoccao.jaspiler.visiters.BaseJaspilerTransformScanner;
+import com.caoccao.jaspiler.visiters.JaspilerContractProcessor;
 import com.caoccao.javet.exceptions.BaseJavetScriptingException;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.utils.JavetResourceUtils;
+import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
 import com.sun.source.tree.*;
-import org.apache.commons.collections4.CollectionUtils;
 
+import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.stream.IntStream;
 
 @SuppressWarnings("preview")
 public class V8JaspilerTransformScanner
         extends BaseJaspilerTransformScanner<V8JaspilerTransformScanner>
         implements AutoCloseable {
+    /**
+     * The visitor properties that are never called inside a method body or an initializer,
+     * except for the local and anonymous classes.
+     */
+    private static final BitSet BODY_PRUNING_PROPERTIES = new BitSet();
+    private static final V8ValueFunction[] EMPTY_FUNCTIONS = new V8ValueFunction[0];
+    private static final String FUNCTION_RUN_SCRIPT_IN_CONTEXT = "runScriptInContext";
+    private static final int SCAN = V8JaspilerOptions.Visitor.getPropertyIndex("Scan");
+    private static final String PROPERTY_TYPE = "type";
+    /**
+     * The fallback contract evaluator if jaspiler.js is not loaded.
+     * The compiled scripts are only cached in the transform.
+     */
+    private static final String SCRIPT_CONTRACT_EVALUATOR = """
+            (() => {
+              const vm = require('vm');
+              const compiledScripts = new Map();
+              return (script, context) => {
+                if (!(context instanceof Object)) {
+                  context = {};
+                }
+                if (!vm.isContext(context)) {
+                  vm.createContext(context);
+                }
+                let compiledScript = compiledScripts.get(script);
+                if (!compiledScript) {
+                  compiledScript = new vm.Script(script);
+                  compiledScripts.set(script, compiledScript);
+                }
+                return compiledScript.runInContext(context);
+              };
+            })()""";
+    /**
+     * The visitor properties that are never called inside a class.
+     */
+    private static final BitSet TYPE_DECL_PRUNING_PROPERTIES = new BitSet();
+    private static final int VISIT_ANNOTATED_TYPE = V8JaspilerOptions.Visitor.getPropertyIndex("AnnotatedType");
+    private static final int VISIT_ANNOTATION = V8JaspilerOptions.Visitor.getPropertyIndex("Annotation");
+    private static final int VISIT_ARRAY_ACCESS = V8JaspilerOptions.Visitor.getPropertyIndex("ArrayAccess");
+    private static final int VISIT_ARRAY_TYPE = V8JaspilerOptions.Visitor.getPropertyIndex("ArrayType");
+    private static final int VISIT_ASSERT = V8JaspilerOptions.Visitor.getPropertyIndex("Assert");
+    private static final int VISIT_ASSIGNMENT = V8JaspilerOptions.Visitor.getPropertyIndex("Assignment");
+    private static final int VISIT_BINARY = V8JaspilerOptions.Visitor.getPropertyIndex("Binary");
+    private static final int VISIT_BINDING_PATTERN = V8JaspilerOptions.Visitor.getPropertyIndex("BindingPattern");
+    private static final int VISIT_BLOCK = V8JaspilerOptions.Visitor.getPropertyIndex("Block");
+    private static final int VISIT_BREAK = V8JaspilerOptions.Visitor.getPropertyIndex("Break");
+    private static final int VISIT_CASE = V8JaspilerOptions.Visitor.getPropertyIndex("Case");
+    private static final int VISIT_CATCH = V8JaspilerOptions.Visitor.getPropertyIndex("Catch");
+    private static final int VISIT_CLASS = V8JaspilerOptions.Visitor.getPropertyIndex("Class");
+    private static final int VISIT_COMPILATION_UNIT = V8JaspilerOptions.Visitor.getPropertyIndex("CompilationUnit");
+    private static final int VISIT_COMPOUND_ASSIGNMENT = V8JaspilerOptions.Visitor.getPropertyIndex("CompoundAssignment");
+    private static final int VISIT_CONDITIONAL_EXPRESSION = V8JaspilerOptions.Visitor.getPropertyIndex("ConditionalExpression");
+    private static final int VISIT_CONTINUE = V8JaspilerOptions.Visitor.getPropertyIndex("Continue");
+    private static final int VISIT_DEFAULT_CASE_LABEL = V8JaspilerOptions.Visitor.getPropertyIndex("DefaultCaseLabel");
+    private static final int VISIT_DO_WHILE_LOOP = V8JaspilerOptions.Visitor.getPropertyIndex("DoWhileLoop");
+    private static final int VISIT_EMPTY_STATEMENT = V8JaspilerOptions.Visitor.getPropertyIndex("EmptyStatement");
+    private static final int VISIT_ENHANCED_FOR_LOOP = V8JaspilerOptions.Visitor.getPropertyIndex("EnhancedForLoop");
+    private static final int VISIT_ERRONEOUS = V8JaspilerOptions.Visitor.getPropertyIndex("Erroneous");
+    private static final int VISIT_EXPORTS = V8JaspilerOptions.Visitor.getPropertyIndex("Exports");
+    private static final int VISIT_EXPRESSION_STATEMENT = V8JaspilerOptions.Visitor.getPropertyIndex("ExpressionStatement");
+    private static final int VISIT_FOR_LOOP = V8JaspilerOptions.Visitor.getPropertyIndex("ForLoop");
+    private static final int VISIT_GUARDED_PATTERN = V8JaspilerOptions.Visitor.getPropertyIndex("GuardedPattern");
+    private static final int VISIT_IDENTIFIER = V8JaspilerOptions.Visitor.getPropertyIndex("Identifier");
+    private static final int VISIT_IF = V8JaspilerOptions.Visitor.getPropertyIndex("If");
+    private static final int VISIT_IMPORT = V8JaspilerOptions.Visitor.getPropertyIndex("Import");
+    private static final int VISIT_INSTANCE_OF = V8JaspilerOptions.Visitor.getPropertyIndex("InstanceOf");
+    private static final int VISIT_INTERSECTION_TYPE = V8JaspilerOptions.Visitor.getPropertyIndex("IntersectionType");
+    private static final int VISIT_LABELED_STATEMENT = V8JaspilerOptions.Visitor.getPropertyIndex("LabeledStatement");
+    private static final int VISIT_LAMBDA_EXPRESSION = V8JaspilerOptions.Visitor.getPropertyIndex("LambdaExpression");
+    private static final int VISIT_LITERAL = V8JaspilerOptions.Visitor.getPropertyIndex("Literal");
+    private static final int VISIT_MEMBER_REFERENCE = V8JaspilerOptions.Visitor.getPropertyIndex("MemberReference");
+    private static final int VISIT_MEMBER_SELECT = V8JaspilerOptions.Visitor.getPropertyIndex("MemberSelect");
+    private static final int VISIT_METHOD = V8JaspilerOptions.Visitor.getPropertyIndex("Method");
+    private static final int VISIT_METHOD_INVOCATION = V8JaspilerOptions.Visitor.getPropertyIndex("MethodInvocation");
+    private static final int VISIT_MODIFIERS = V8JaspilerOptions.Visitor.getPropertyIndex("Modifiers");
+    private static final int VISIT_MODULE = V8JaspilerOptions.Visitor.getPropertyIndex("Module");
+    private static final int VISIT_NEW_ARRAY = V8JaspilerOptions.Visitor.getPropertyIndex("NewArray");
+    private static final int VISIT_NEW_CLASS = V8JaspilerOptions.Visitor.getPropertyIndex("NewClass");
+    private static final int VISIT_OPENS = V8JaspilerOptions.Visitor.getPropertyIndex("Opens");
+    private static final int VISIT_OTHER = V8JaspilerOptions.Visitor.getPropertyIndex("Other");
+    private static final int VISIT_PACKAGE = V8JaspilerOptions.Visitor.getPropertyIndex("Package");
+    private static final int VISIT_PARAMETERIZED_TYPE = V8JaspilerOptions.Visitor.getPropertyIndex("ParameterizedType");
+    private static final int VISIT_PARENTHESIZED = V8JaspilerOptions.Visitor.getPropertyIndex("Parenthesized");
+    private static final int VISIT_PARENTHESIZED_PATTERN = V8JaspilerOptions.Visitor.getPropertyIndex("ParenthesizedPattern");
+    private static final int VISIT_PRIMITIVE_TYPE = V8JaspilerOptions.Visitor.getPropertyIndex("PrimitiveType");
+    private static final int VISIT_PROVIDES = V8JaspilerOptions.Visitor.getPropertyIndex("Provides");
+    private static final int VISIT_REQUIRES = V8JaspilerOptions.Visitor.getPropertyIndex("Requires");
+    private static final int VISIT_RETURN = V8JaspilerOptions.Visitor.getPropertyIndex("Return");
+    private static final int VISIT_SWITCH = V8JaspilerOptions.Visitor.getPropertyIndex("Switch");
+    private static final int VISIT_SWITCH_EXPRESSION = V8JaspilerOptions.Visitor.getPropertyIndex("SwitchExpression");
+    private static final int VISIT_SYNCHRONIZED = V8JaspilerOptions.Visitor.getPropertyIndex("Synchronized");
+    private static final int VISIT_THROW = V8JaspilerOptions.Visitor.getPropertyIndex("Throw");
+    private static final int VISIT_TRY = V8JaspilerOptions.Visitor.getPropertyIndex("Try");
+    private static final int VISIT_TYPE_CAST = V8JaspilerOptions.Visitor.getPropertyIndex("TypeCast");
+    private static final int VISIT_TYPE_PARAMETER = V8JaspilerOptions.Visitor.getPropertyIndex("TypeParameter");
+    private static final int VISIT_UNARY = V8JaspilerOptions.Visitor.getPropertyIndex("Unary");
+    private static final int VISIT_UNION_TYPE = V8JaspilerOptions.Visitor.getPropertyIndex("UnionType");
+    private static final int VISIT_USES = V8JaspilerOptions.Visitor.getPropertyIndex("Uses");
+    private static final int VISIT_VARIABLE = V8JaspilerOptions.Visitor.getPropertyIndex("Variable");
+    private static final int VISIT_WHILE_LOOP = V8JaspilerOptions.Visitor.getPropertyIndex("WhileLoop");
+    private static final int VISIT_WILDCARD = V8JaspilerOptions.Visitor.getPropertyIndex("Wildcard");
+    private static final int VISIT_YIELD = V8JaspilerOptions.Visitor.getPropertyIndex("Yield");
+
+    static {
+        IntStream.of(
+                VISIT_COMPILATION_UNIT, VISIT_EXPORTS, VISIT_IMPORT, VISIT_MODULE, VISIT_OPENS,
+                VISIT_PACKAGE, VISIT_PROVIDES, VISIT_REQUIRES, VISIT_USES).forEach(TYPE_DECL_PRUNING_PROPERTIES::set);
+        BODY_PRUNING_PROPERTIES.or(TYPE_DECL_PRUNING_PROPERTIES);
+        IntStream.of(VISIT_CLASS, VISIT_METHOD, VISIT_TYPE_PARAMETER).forEach(BODY_PRUNING_PROPERTIES::set);
+    }
+
     protected final List<Throwable> exceptions;
+    protected final V8Runtime v8Runtime;
+    protected V8ValueFunction contractEvaluator;
+    protected JaspilerContractProcessor contractProcessor;
     protected V8JaspilerOptions options;
-
-    public V8JaspilerTransformScanner(V8JaspilerOptions options) {
+    protected V8ValueFunction[][] pluginExitFunctionsTable;
+    protected V8ValueFunction[][] pluginFunctionsTable;
+    protected boolean pruneBodies;
+    protected boolean pruneTypeDecls;
+    protected V8ValueObject sharedContractEvaluator;
+    protected JaspilerTransformContext transformContext;
+
+    public V8JaspilerTransformScanner(V8Runtime v8Runtime, V8JaspilerOptions options) {
+        this(v8Runtime, options, null);
+    }
+
+    /**
+     * Instantiates a new V8 jaspiler transform scanner.
+     *
+     * @param v8Runtime               the V8 runtime
+     * @param options                 the options
+     * @param sharedContractEvaluator the contract evaluator registered by jaspiler.js, or null if it is not loaded
+     */
+    public V8JaspilerTransformScanner(
+            V8Runtime v8Runtime, V8JaspilerOptions options, V8ValueObject sharedContractEvaluator) {
+        contractEvaluator = null;
+        contractProcessor = null;
         exceptions = new ArrayList<>();
         this.options = Objects.requireNonNull(options);
+        pluginExitFunctionsTable = null;
+        pluginFunctionsTable = null;
+        pruneBodies = false;
+        pruneTypeDecls = false;
+        this.sharedContractEvaluator = sharedContractEvaluator;
+        transformContext = null;
+        this.v8Runtime = Objects.requireNonNull(v8Runtime);
     }
 
     @Override
     public void close() {
+        JavetResourceUtils.safeClose(contractEvaluator);
+        contractEvaluator = null;
+        contractProcessor = null;
         exceptions.clear();
+        pluginExitFunctionsTable = null;
+        pluginFunctionsTable = null;
+        pruneBodies = false;
+        pruneTypeDecls = false;
+        sharedContractEvaluator = null;
+        transformContext = null;
+    }
+
+    private V8Value evaluateContractScript(String script) throws JaspilerCheckedException {
+        try {
+            if (contractEvaluator == null) {
+                // The scripts share the compiled script cache and the memoized results of jaspiler.js if it is loaded.
+                contractEvaluator = sharedContractEvaluator == null
+                        ? v8Runtime.getExecutor(SCRIPT_CONTRACT_EVALUATOR).execute()
+                        : sharedContractEvaluator.get(FUNCTION_RUN_SCRIPT_IN_CONTEXT);
+            }
+            return contractEvaluator.call(null, script, options.getContext());
+        } catch (JavetException e) {
+            throw new JaspilerExecutionException(e.getMessage(), e);
+        }
     }
 
-    protected <Node extends Tree> void forEachPlugin(
-            Node node,
-            Function<V8JaspilerOptions.Plugin, V8ValueFunction> functionGetter) {
-        if (CollectionUtils.isNotEmpty(options.getPlugins())) {
-            options.getPlugins().stream()
-                    .map(functionGetter)
-                    .filter(Objects::nonNull)
-                    .forEach(v8ValueFunction -> {
-                        try {
-                            v8ValueFunction.call(null, node, options.getContext());
-                        } catch (Throwable t) {
-                            getExceptions().add(t);
-                            if (t instanceof BaseJavetScriptingException baseJavetScriptingException) {
-                                logger.warn(baseJavetScriptingException.getScriptingError().toString(), t);
-                            } else {
-                                logger.warn(t.getMessage(), t);
-                            }
-                        }
-                    });
+    protected <Node extends Tree> void forEachPlugin(Node node, int propertyIndex) {
+        forEachPluginFunction(node, getPluginFunctionsTable()[propertyIndex]);
+    }
+
+    /**
+     * Call the exit functions of the plugins after the children of the node are scanned.
+     *
+     * @param <Node>        the type parameter
+     * @param node          the node
+     * @param propertyIndex the property index
+     */
+    protected <Node extends Tree> void forEachPluginExit(Node node, int propertyIndex) {
+        getPluginFunctionsTable();
+        forEachPluginFunction(node, pluginExitFunctionsTable[propertyIndex]);
+    }
+
+    private <Node extends Tree> void forEachPluginFunction(Node node, V8ValueFunction[] v8ValueFunctions) {
+        for (V8ValueFunction v8ValueFunction : v8ValueFunctions) {
+            try {
+                v8ValueFunction.call(null, node, options.getContext());
+            } catch (Throwable t) {
+                onException(t);
+            }
         }
     }
 
@@ -71,411 +250,677 @@ public class V8JaspilerTransformScanner
         return exceptions;
     }
 
+    /**
+     * Gets the plugin functions table which maps the visitor property index to the functions of the plugins.
+     * It is built once per transform together with the exit functions table,
+     * so that visiting a node without any plugin function costs nothing.
+     *
+     * @return the plugin functions table
+     */
+    protected V8ValueFunction[][] getPluginFunctionsTable() {
+        if (pluginFunctionsTable == null) {
+            final int propertyCount = V8JaspilerOptions.Visitor.getPropertyCount();
+            pluginExitFunctionsTable = new V8ValueFunction[propertyCount][];
+            pluginFunctionsTable = new V8ValueFunction[propertyCount][];
+            final List<V8ValueFunction> v8ValueExitFunctions = new ArrayList<>();
+            final List<V8ValueFunction> v8ValueFunctions = new ArrayList<>();
+            // The native contracts may ignore the variables and the annotated types in the method bodies.
+            pruneBodies = !options.isNativeContracts();
+            pruneTypeDecls = pruneBodies;
+            contractProcessor = options.isNativeContracts() ? new JaspilerContractProcessor(new ContractEvaluator()) : null;
+            for (int i = 0; i < propertyCount; i++) {
+                v8ValueExitFunctions.clear();
+                v8ValueFunctions.clear();
+                for (var plugin : options.getPlugins()) {
+                    if (plugin.getVisitor() != null) {
+                        V8ValueFunction v8ValueFunction = plugin.getVisitor().getFunction(i);
+                        if (v8ValueFunction != null) {
+                            v8ValueFunctions.add(v8ValueFunction);
+                        }
+                        V8ValueFunction v8ValueExitFunction = plugin.getVisitor().getExitFunction(i);
+                        if (v8ValueExitFunction != null) {
+                            v8ValueExitFunctions.add(v8ValueExitFunction);
+                        }
+                    }
+                }
+                pluginExitFunctionsTable[i] = v8ValueExitFunctions.isEmpty()
+                        ? EMPTY_FUNCTIONS
+                        : v8ValueExitFunctions.toArray(V8ValueFunction[]::new);
+                pluginFunctionsTable[i] = v8ValueFunctions.isEmpty()
+                        ? EMPTY_FUNCTIONS
+                        : v8ValueFunctions.toArray(V8ValueFunction[]::new);
+                if (!v8ValueFunctions.isEmpty() || !v8ValueExitFunctions.isEmpty()) {
+                    pruneBodies = pruneBodies && BODY_PRUNING_PROPERTIES.get(i);
+                    pruneTypeDecls = pruneTypeDecls && TYPE_DECL_PRUNING_PROPERTIES.get(i);
+                }
+            }
+        }
+        return pluginFunctionsTable;
+    }
+
+    /**
+     * Whether the subtree can be skipped because none of the visited kinds can be in it.
+     * E.g. if the plugins only visit the classes and methods, the method bodies are skipped
+     * unless there are local or anonymous classes in them.
+     *
+     * @param tree the tree
+     * @return true : prunable, false : not prunable
+     */
+    protected boolean isPrunable(Tree tree) {
+        getPluginFunctionsTable();
+        if (tree instanceof ClassTree) {
+            return pruneTypeDecls;
+        }
+        if (pruneBodies && (tree instanceof StatementTree || tree instanceof ExpressionTree)) {
+            return tree instanceof JTTree<?, ?> jtTree && !jtTree.isClassDeclInDescendants();
+        }
+        return false;
+    }
+
+    protected void onException(Throwable t) {
+        getExceptions().add(t);
+        if (transformContext != null) {
+            transformContext.getExceptions().add(t);
+        }
+        if (t instanceof BaseJavetScriptingException baseJavetScriptingException) {
+            logger.warn(baseJavetScriptingException.getScriptingError().toString(), t);
+        } else {
+            logger.warn(t.getMessage(), t);
+        }
+        if (options.getErrorMode() != V8JaspilerOptions.ErrorMode.Collect) {
+            String sourceFile = transformContext == null
+                    ? null
+                    : transformContext.getCompilationUnitTree().getSourceFile().getName();
+            throw new JaspilerAbortException(
+                    MessageFormat.format("Failed to transform [{0}]. {1}", sourceFile, t.getMessage()), t);
+        }
+    }
+
     @Override
     public V8JaspilerTransformScanner scan(Tree tree, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(tree, plugin -> plugin.getVisitor().getScan());
-        return super.scan(tree, jaspilerTransformContext);
+        if (transformContext == null && jaspilerTransformContext != null) {
+            // The traversal of a compilation unit starts here.
+            transformContext = jaspilerTransformContext;
+            try {
+                return scan(tree, jaspilerTransformContext);
+            } catch (JaspilerAbortException e) {
+                if (options.getErrorMode() != V8JaspilerOptions.ErrorMode.Quarantine) {
+                    throw e;
+                }
+                return null;
+            } finally {
+                transformContext = null;
+            }
+        }
+        if (isPrunable(tree)) {
+            return null;
+        }
+        if (contractProcessor != null) {
+            try {
+                contractProcessor.process(tree);
+            } catch (Throwable t) {
+                onException(t);
+            }
+        }
+        forEachPlugin(tree, SCAN);
+        V8JaspilerTransformScanner scanner = super.scan(tree, jaspilerTransformContext);
+        forEachPluginExit(tree, SCAN);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitAnnotatedType(AnnotatedTypeTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitAnnotatedType());
-        return super.visitAnnotatedType(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ANNOTATED_TYPE);
+        V8JaspilerTransformScanner scanner = super.visitAnnotatedType(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ANNOTATED_TYPE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitAnnotation(AnnotationTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitAnnotation());
-        return super.visitAnnotation(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ANNOTATION);
+        V8JaspilerTransformScanner scanner = super.visitAnnotation(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ANNOTATION);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitArrayAccess(ArrayAccessTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitArrayAccess());
-        return super.visitArrayAccess(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ARRAY_ACCESS);
+        V8JaspilerTransformScanner scanner = super.visitArrayAccess(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ARRAY_ACCESS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitArrayType(ArrayTypeTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitArrayType());
-        return super.visitArrayType(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ARRAY_TYPE);
+        V8JaspilerTransformScanner scanner = super.visitArrayType(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ARRAY_TYPE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitAssert(AssertTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitAssert());
-        return super.visitAssert(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ASSERT);
+        V8JaspilerTransformScanner scanner = super.visitAssert(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ASSERT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitAssignment(AssignmentTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitAssignment());
-        return super.visitAssignment(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ASSIGNMENT);
+        V8JaspilerTransformScanner scanner = super.visitAssignment(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ASSIGNMENT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitBinary(BinaryTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitBinary());
-        return super.visitBinary(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_BINARY);
+        V8JaspilerTransformScanner scanner = super.visitBinary(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_BINARY);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitBindingPattern(BindingPatternTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitBindingPattern());
-        return super.visitBindingPattern(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_BINDING_PATTERN);
+        V8JaspilerTransformScanner scanner = super.visitBindingPattern(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_BINDING_PATTERN);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitBlock(BlockTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitBlock());
-        return super.visitBlock(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_BLOCK);
+        V8JaspilerTransformScanner scanner = super.visitBlock(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_BLOCK);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitBreak(BreakTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitBreak());
-        return super.visitBreak(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_BREAK);
+        V8JaspilerTransformScanner scanner = super.visitBreak(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_BREAK);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitCase(CaseTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitCase());
-        return super.visitCase(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_CASE);
+        V8JaspilerTransformScanner scanner = super.visitCase(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_CASE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitCatch(CatchTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitCatch());
-        return super.visitCatch(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_CATCH);
+        V8JaspilerTransformScanner scanner = super.visitCatch(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_CATCH);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitClass(
             ClassTree node,
             JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitClass());
-        return super.visitClass(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_CLASS);
+        V8JaspilerTransformScanner scanner = super.visitClass(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_CLASS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitCompilationUnit(
             CompilationUnitTree node,
             JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitCompilationUnit());
-        return super.visitCompilationUnit(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_COMPILATION_UNIT);
+        V8JaspilerTransformScanner scanner = super.visitCompilationUnit(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_COMPILATION_UNIT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitCompoundAssignment(CompoundAssignmentTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitCompoundAssignment());
-        return super.visitCompoundAssignment(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_COMPOUND_ASSIGNMENT);
+        V8JaspilerTransformScanner scanner = super.visitCompoundAssignment(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_COMPOUND_ASSIGNMENT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitConditionalExpression(ConditionalExpressionTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitConditionalExpression());
-        return super.visitConditionalExpression(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_CONDITIONAL_EXPRESSION);
+        V8JaspilerTransformScanner scanner = super.visitConditionalExpression(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_CONDITIONAL_EXPRESSION);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitContinue(ContinueTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitContinue());
-        return super.visitContinue(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_CONTINUE);
+        V8JaspilerTransformScanner scanner = super.visitContinue(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_CONTINUE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitDefaultCaseLabel(DefaultCaseLabelTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitDefaultCaseLabel());
-        return super.visitDefaultCaseLabel(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_DEFAULT_CASE_LABEL);
+        V8JaspilerTransformScanner scanner = super.visitDefaultCaseLabel(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_DEFAULT_CASE_LABEL);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitDoWhileLoop(DoWhileLoopTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitDoWhileLoop());
-        return super.visitDoWhileLoop(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_DO_WHILE_LOOP);
+        V8JaspilerTransformScanner scanner = super.visitDoWhileLoop(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_DO_WHILE_LOOP);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitEmptyStatement(EmptyStatementTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitEmptyStatement());
-        return super.visitEmptyStatement(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_EMPTY_STATEMENT);
+        V8JaspilerTransformScanner scanner = super.visitEmptyStatement(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_EMPTY_STATEMENT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitEnhancedForLoop(EnhancedForLoopTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitEnhancedForLoop());
-        return super.visitEnhancedForLoop(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ENHANCED_FOR_LOOP);
+        V8JaspilerTransformScanner scanner = super.visitEnhancedForLoop(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ENHANCED_FOR_LOOP);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitErroneous(ErroneousTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitErroneous());
-        return super.visitErroneous(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_ERRONEOUS);
+        V8JaspilerTransformScanner scanner = super.visitErroneous(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_ERRONEOUS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitExports(ExportsTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitExports());
-        return super.visitExports(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_EXPORTS);
+        V8JaspilerTransformScanner scanner = super.visitExports(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_EXPORTS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitExpressionStatement(ExpressionStatementTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitExpressionStatement());
-        return super.visitExpressionStatement(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_EXPRESSION_STATEMENT);
+        V8JaspilerTransformScanner scanner = super.visitExpressionStatement(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_EXPRESSION_STATEMENT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitForLoop(ForLoopTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitForLoop());
-        return super.visitForLoop(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_FOR_LOOP);
+        V8JaspilerTransformScanner scanner = super.visitForLoop(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_FOR_LOOP);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitGuardedPattern(GuardedPatternTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitGuardedPattern());
-        return super.visitGuardedPattern(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_GUARDED_PATTERN);
+        V8JaspilerTransformScanner scanner = super.visitGuardedPattern(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_GUARDED_PATTERN);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitIdentifier(
             IdentifierTree node,
             JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitIdentifier());
-        return super.visitIdentifier(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_IDENTIFIER);
+        V8JaspilerTransformScanner scanner = super.visitIdentifier(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_IDENTIFIER);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitIf(IfTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitIf());
-        return super.visitIf(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_IF);
+        V8JaspilerTransformScanner scanner = super.visitIf(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_IF);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitImport(ImportTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitImport());
-        return super.visitImport(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_IMPORT);
+        V8JaspilerTransformScanner scanner = super.visitImport(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_IMPORT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitInstanceOf(InstanceOfTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitInstanceOf());
-        return super.visitInstanceOf(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_INSTANCE_OF);
+        V8JaspilerTransformScanner scanner = super.visitInstanceOf(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_INSTANCE_OF);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitIntersectionType(IntersectionTypeTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitIntersectionType());
-        return super.visitIntersectionType(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_INTERSECTION_TYPE);
+        V8JaspilerTransformScanner scanner = super.visitIntersectionType(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_INTERSECTION_TYPE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitLabeledStatement(LabeledStatementTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitLabeledStatement());
-        return super.visitLabeledStatement(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_LABELED_STATEMENT);
+        V8JaspilerTransformScanner scanner = super.visitLabeledStatement(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_LABELED_STATEMENT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitLambdaExpression(LambdaExpressionTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitLambdaExpression());
-        return super.visitLambdaExpression(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_LAMBDA_EXPRESSION);
+        V8JaspilerTransformScanner scanner = super.visitLambdaExpression(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_LAMBDA_EXPRESSION);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitLiteral(LiteralTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitLiteral());
-        return super.visitLiteral(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_LITERAL);
+        V8JaspilerTransformScanner scanner = super.visitLiteral(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_LITERAL);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitMemberReference(MemberReferenceTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitMemberReference());
-        return super.visitMemberReference(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_MEMBER_REFERENCE);
+        V8JaspilerTransformScanner scanner = super.visitMemberReference(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_MEMBER_REFERENCE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitMemberSelect(MemberSelectTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitMemberSelect());
-        return super.visitMemberSelect(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_MEMBER_SELECT);
+        V8JaspilerTransformScanner scanner = super.visitMemberSelect(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_MEMBER_SELECT);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitMethod(MethodTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitMethod());
-        return super.visitMethod(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_METHOD);
+        V8JaspilerTransformScanner scanner = super.visitMethod(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_METHOD);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitMethodInvocation(MethodInvocationTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitMethodInvocation());
-        return super.visitMethodInvocation(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_METHOD_INVOCATION);
+        V8JaspilerTransformScanner scanner = super.visitMethodInvocation(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_METHOD_INVOCATION);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitModifiers(ModifiersTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitModifiers());
-        return super.visitModifiers(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_MODIFIERS);
+        V8JaspilerTransformScanner scanner = super.visitModifiers(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_MODIFIERS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitModule(ModuleTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitModule());
-        return super.visitModule(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_MODULE);
+        V8JaspilerTransformScanner scanner = super.visitModule(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_MODULE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitNewArray(NewArrayTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitNewArray());
-        return super.visitNewArray(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_NEW_ARRAY);
+        V8JaspilerTransformScanner scanner = super.visitNewArray(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_NEW_ARRAY);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitNewClass(NewClassTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitNewClass());
-        return super.visitNewClass(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_NEW_CLASS);
+        V8JaspilerTransformScanner scanner = super.visitNewClass(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_NEW_CLASS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitOpens(OpensTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitOpens());
-        return super.visitOpens(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_OPENS);
+        V8JaspilerTransformScanner scanner = super.visitOpens(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_OPENS);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitOther(Tree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitOther());
-        return super.visitOther(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_OTHER);
+        V8JaspilerTransformScanner scanner = super.visitOther(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_OTHER);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitPackage(PackageTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitPackage());
-        return super.visitPackage(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_PACKAGE);
+        V8JaspilerTransformScanner scanner = super.visitPackage(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_PACKAGE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitParameterizedType(ParameterizedTypeTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitParameterizedType());
-        return super.visitParameterizedType(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_PARAMETERIZED_TYPE);
+        V8JaspilerTransformScanner scanner = super.visitParameterizedType(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_PARAMETERIZED_TYPE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitParenthesized(ParenthesizedTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitParenthesized());
-        return super.visitParenthesized(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_PARENTHESIZED);
+        V8JaspilerTransformScanner scanner = super.visitParenthesized(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_PARENTHESIZED);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitParenthesizedPattern(ParenthesizedPatternTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitParenthesizedPattern());
-        return super.visitParenthesizedPattern(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_PARENTHESIZED_PATTERN);
+        V8JaspilerTransformScanner scanner = super.visitParenthesizedPattern(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_PARENTHESIZED_PATTERN);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitPrimitiveType(PrimitiveTypeTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitPrimitiveType());
-        return super.visitPrimitiveType(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_PRIMITIVE_TYPE);
+        V8JaspilerTransformScanner scanner = super.visitPrimitiveType(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_PRIMITIVE_TYPE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitProvides(ProvidesTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitProvides());
-        return super.visitProvides(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_PROVIDES);
+        V8JaspilerTransformScanner scanner = super.visitProvides(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_PROVIDES);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitRequires(RequiresTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitRequires());
-        return super.visitRequires(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_REQUIRES);
+        V8JaspilerTransformScanner scanner = super.visitRequires(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_REQUIRES);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitReturn(ReturnTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitReturn());
-        return super.visitReturn(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_RETURN);
+        V8JaspilerTransformScanner scanner = super.visitReturn(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_RETURN);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitSwitch(SwitchTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitSwitch());
-        return super.visitSwitch(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_SWITCH);
+        V8JaspilerTransformScanner scanner = super.visitSwitch(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_SWITCH);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitSwitchExpression(SwitchExpressionTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitSwitchExpression());
-        return super.visitSwitchExpression(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_SWITCH_EXPRESSION);
+        V8JaspilerTransformScanner scanner = super.visitSwitchExpression(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_SWITCH_EXPRESSION);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitSynchronized(SynchronizedTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitSynchronized());
-        return super.visitSynchronized(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_SYNCHRONIZED);
+        V8JaspilerTransformScanner scanner = super.visitSynchronized(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_SYNCHRONIZED);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitThrow(ThrowTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitThrow());
-        return super.visitThrow(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_THROW);
+        V8JaspilerTransformScanner scanner = super.visitThrow(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_THROW);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitTry(TryTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitTry());
-        return super.visitTry(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_TRY);
+        V8JaspilerTransformScanner scanner = super.visitTry(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_TRY);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitTypeCast(TypeCastTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitTypeCast());
-        return super.visitTypeCast(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_TYPE_CAST);
+        V8JaspilerTransformScanner scanner = super.visitTypeCast(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_TYPE_CAST);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitTypeParameter(TypeParameterTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitTypeParameter());
-        return super.visitTypeParameter(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_TYPE_PARAMETER);
+        V8JaspilerTransformScanner scanner = super.visitTypeParameter(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_TYPE_PARAMETER);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitUnary(UnaryTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitUnary());
-        return super.visitUnary(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_UNARY);
+        V8JaspilerTransformScanner scanner = super.visitUnary(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_UNARY);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitUnionType(UnionTypeTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitUnionType());
-        return super.visitUnionType(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_UNION_TYPE);
+        V8JaspilerTransformScanner scanner = super.visitUnionType(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_UNION_TYPE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitUses(UsesTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitUses());
-        return super.visitUses(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_USES);
+        V8JaspilerTransformScanner scanner = super.visitUses(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_USES);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitVariable(VariableTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitVariable());
-        return super.visitVariable(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_VARIABLE);
+        V8JaspilerTransformScanner scanner = super.visitVariable(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_VARIABLE);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitWhileLoop(WhileLoopTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitWhileLoop());
-        return super.visitWhileLoop(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_WHILE_LOOP);
+        V8JaspilerTransformScanner scanner = super.visitWhileLoop(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_WHILE_LOOP);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitWildcard(WildcardTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitWildcard());
-        return super.visitWildcard(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_WILDCARD);
+        V8JaspilerTransformScanner scanner = super.visitWildcard(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_WILDCARD);
+        return scanner;
     }
 
     @Override
     public V8JaspilerTransformScanner visitYield(YieldTree node, JaspilerTransformContext jaspilerTransformContext) {
-        forEachPlugin(node, plugin -> plugin.getVisitor().getVisitYield());
-        return super.visitYield(node, jaspilerTransformContext);
+        forEachPlugin(node, VISIT_YIELD);
+        V8JaspilerTransformScanner scanner = super.visitYield(node, jaspilerTransformContext);
+        forEachPluginExit(node, VISIT_YIELD);
+        return scanner;
+    }
+
+    private final class ContractEvaluator implements JaspilerContractProcessor.IEvaluator {
+        @Override
+        public boolean evaluateCondition(String script) throws JaspilerCheckedException {
+            try (V8Value v8Value = evaluateContractScript(script)) {
+                return v8Value != null && v8Value.asBoolean();
+            } catch (JavetException e) {
+                throw new JaspilerExecutionException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String evaluateInstructionType(String script) throws JaspilerCheckedException {
+            try (V8Value v8Value = evaluateContractScript(script)) {
+                return v8Value instanceof V8ValueObject v8ValueObject
+                        ? v8ValueObject.getString(PROPERTY_TYPE)
+                        : null;
+            } catch (JavetException e) {
+                throw new JaspilerExecutionException(e.getMessage(), e);
+            }
+        }
     }
 }
@@ -17,10 +17,14 @@
 package com.caoccao.jaspiler.visiters;
 
 import com.caoccao.jaspiler.contexts.JaspilerTransformContext;
+import com.caoccao.jaspiler.trees.JTTreeList;
+import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePathScanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ConcurrentModificationException;
+
 public abstract class BaseJaspilerTransformScanner<Scanner extends BaseJaspilerTransformScanner<Scanner>>
         extends TreePathScanner<Scanner, JaspilerTransformContext> {
     protected final Logger logger;
@@ -29,4 +33,24 @@ public abstract class BaseJaspilerTransformScanner<Scanner extends BaseJaspilerT
         super();
         logger = LoggerFactory.getLogger(getClass());
     }
+
+    @Override
+    public Scanner scan(Iterable<? extends Tree> nodes, JaspilerTransformContext jaspilerTransformContext) {
+        // The child lists of the JT trees are scanned by index without an iterator,
+        // and fail fast like the iterator if a visitor modifies the list being scanned.
+        if (nodes instanceof JTTreeList<?> list) {
+            final int expectedModCount = list.getModCount();
+            final int size = list.size();
+            Scanner scanner = null;
+            for (int i = 0; i < size; i++) {
+                Scanner result = scan(list.get(i), jaspilerTransformContext);
+                if (list.getModCount() != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                scanner = i == 0 ? result : reduce(result, scanner);
+            }
+            return scanner;
+        }
+        return super.scan(nodes, jaspilerTransformContext);
+    }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.visiters;
+
+import com.caoccao.jaspiler.JaspilerContract;
+import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
+import com.caoccao.jaspiler.trees.*;
+import com.sun.source.tree.Tree;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
+import java.util.Objects;
+
+/**
+ * The type Jaspiler contract processor applies JaspilerContract.Ignore and JaspilerContract.Change
+ * to the trees in Java as the native equivalent of PluginContractIgnore and PluginContractChangeMethod
+ * in jaspiler.js. Only the condition and instruction scripts are passed to the evaluator.
+ */
+public final class JaspilerContractProcessor {
+    public static final String ATTRIBUTE_CONDITION = "condition";
+    public static final String ATTRIBUTE_INSTRUCTION = "instruction";
+    public static final String INSTRUCTION_TYPE_CLEAR = "clear";
+    private final IEvaluator evaluator;
+
+    public JaspilerContractProcessor(IEvaluator evaluator) {
+        this.evaluator = Objects.requireNonNull(evaluator);
+    }
+
+    private static Tree.Kind getDefaultLiteralKind(TypeKind primitiveTypeKind) {
+        if (primitiveTypeKind == null) {
+            return Tree.Kind.NULL_LITERAL;
+        }
+        return switch (primitiveTypeKind) {
+            case BOOLEAN -> Tree.Kind.BOOLEAN_LITERAL;
+            case CHAR -> Tree.Kind.CHAR_LITERAL;
+            case DOUBLE -> Tree.Kind.DOUBLE_LITERAL;
+            case FLOAT -> Tree.Kind.FLOAT_LITERAL;
+            case INT -> Tree.Kind.INT_LITERAL;
+            case LONG -> Tree.Kind.LONG_LITERAL;
+            default -> Tree.Kind.NULL_LITERAL;
+        };
+    }
+
+    private static String getScript(JTAnnotation annotation, String attributeName) {
+        if (annotation.getArgumentValue(attributeName) instanceof JTLiteral jtLiteral
+                && jtLiteral.getKind() == Tree.Kind.STRING_LITERAL
+                && jtLiteral.getValue() instanceof String script) {
+            return script;
+        }
+        return null;
+    }
+
+    private boolean canBeIgnored(IJTAnnotatable annotatable) throws JaspilerCheckedException {
+        if (annotatable != null) {
+            JTAnnotation annotation = annotatable.find(JaspilerContract.ANNOTATION_IGNORE);
+            if (annotation != null) {
+                String script = getScript(annotation, ATTRIBUTE_CONDITION);
+                return script == null || evaluator.evaluateCondition(script);
+            }
+        }
+        return false;
+    }
+
+    private void changeMethod(JTMethodDecl jtMethodDecl) throws JaspilerCheckedException {
+        if (jtMethodDecl.getModifiers() == null) {
+            return;
+        }
+        JTAnnotation annotation = jtMethodDecl.getModifiers().find(JaspilerContract.ANNOTATION_CHANGE);
+        if (annotation == null) {
+            return;
+        }
+        String script = getScript(annotation, ATTRIBUTE_CONDITION);
+        if (script != null && !evaluator.evaluateCondition(script)) {
+            return;
+        }
+        script = getScript(annotation, ATTRIBUTE_INSTRUCTION);
+        if (script == null) {
+            return;
+        }
+        if (INSTRUCTION_TYPE_CLEAR.equals(evaluator.evaluateInstructionType(script))) {
+            clearMethod(jtMethodDecl);
+        }
+    }
+
+    private void clearMethod(JTMethodDecl jtMethodDecl) {
+        // There is no need to clear the method if the body is absent.
+        if (jtMethodDecl.getBody() == null) {
+            return;
+        }
+        final var jtBlock = new JTBlock();
+        final TypeKind primitiveTypeKind = jtMethodDecl.getReturnType() instanceof JTPrimitiveType jtPrimitiveType
+                ? jtPrimitiveType.getPrimitiveTypeKind()
+                : null;
+        if (primitiveTypeKind != TypeKind.VOID) {
+            final var jtLiteral = JTTreeFactory.createLiteral(null).setKind(getDefaultLiteralKind(primitiveTypeKind));
+            jtBlock.getStatements().add(new JTReturn().setExpression(jtLiteral));
+        }
+        jtMethodDecl.setBody(jtBlock);
+    }
+
+    /**
+     * Process the tree before the tree is visited by the plugins.
+     *
+     * @param tree the tree
+     * @throws JaspilerCheckedException the jaspiler checked exception
+     */
+    public void process(Tree tree) throws JaspilerCheckedException {
+        if (tree instanceof JTCompilationUnit jtCompilationUnit) {
+            for (var typeDecl : jtCompilationUnit.getTypeDecls()) {
+                if (typeDecl instanceof JTClassDecl jtClassDecl
+                        && jtClassDecl.getModifiers() != null
+                        && jtClassDecl.getModifiers().getFlags().contains(Modifier.PUBLIC)
+                        && canBeIgnored(jtClassDecl.getModifiers())) {
+                    jtCompilationUnit.setActionIgnore();
+                    break;
+                }
+            }
+        } else if (tree instanceof JTClassDecl jtClassDecl) {
+            if (canBeIgnored(jtClassDecl.getModifiers())) {
+                jtClassDecl.setActionIgnore();
+            }
+        } else if (tree instanceof JTMethodDecl jtMethodDecl) {
+            if (canBeIgnored(jtMethodDecl.getModifiers())) {
+                jtMethodDecl.setActionIgnore();
+            }
+            changeMethod(jtMethodDecl);
+        } else if (tree instanceof JTVariableDecl jtVariableDecl) {
+            if (canBeIgnored(jtVariableDecl.getModifiers())) {
+                jtVariableDecl.setActionIgnore();
+            }
+        } else if (tree instanceof IJTAnnotatable annotatable
+                && !(tree instanceof JTModifiers)
+                && canBeIgnored(annotatable)) {
+            ((JTTree<?, ?>) tree).setActionIgnore();
+        }
+    }
+
+    /**
+     * The interface Evaluator evaluates the scripts in the contract annotations.
+     */
+    public interface IEvaluator {
+        /**
+         * Evaluate the condition script.
+         *
+         * @param script the script
+         * @return true : the result is truthy, false : the result is falsy
+         * @throws JaspilerCheckedException the jaspiler checked exception
+         */
+        boolean evaluateCondition(String script) throws JaspilerCheckedException;
+
+        /**
+         * Evaluate the instruction script and get the type of the instruction.
+         *
+         * @param script the script
+         * @return the type of the instruction, or null if it is absent
+         * @throws JaspilerCheckedException the jaspiler checked exception
+         */
+        String evaluateInstructionType(String script) throws JaspilerCheckedException;
+    }
+}
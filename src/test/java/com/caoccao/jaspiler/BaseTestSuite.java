@@ -20,8 +20,10 @@ import com.caoccao.jaspiler.contexts.JaspilerDocContext;
 import com.caoccao.jaspiler.contexts.JaspilerTransformContext;
 import com.caoccao.jaspiler.styles.StandardStyleWriter;
 import com.caoccao.jaspiler.styles.StyleOptions;
+import com.caoccao.jaspiler.trees.JTCompilationUnit;
 import com.caoccao.jaspiler.utils.BaseLoggingObject;
 import com.caoccao.jaspiler.utils.MockUtils;
+import com.caoccao.jaspiler.visiters.DummyTransformScanner;
 import com.sun.source.util.DocTreeScanner;
 import com.sun.source.util.TreePathScanner;
 import org.junit.jupiter.api.AfterEach;
@@ -42,6 +44,20 @@ public abstract class BaseTestSuite extends BaseLoggingObject {
         compiler = new JaspilerCompiler();
     }
 
+    protected JTCompilationUnit parse(Class<?> clazz) throws IOException {
+        compiler.clearJavaFileObject();
+        compiler.addJavaFileObjects(MockUtils.getSourcePath(clazz));
+        compiler.transform(new DummyTransformScanner(), null);
+        return compiler.getTransformContexts().get(0).getCompilationUnitTree();
+    }
+
+    protected JTCompilationUnit parse(String name, String code) throws IOException {
+        compiler.clearJavaFileObject();
+        compiler.addJavaFileStringObject(name, code);
+        compiler.transform(new DummyTransformScanner(), null);
+        return compiler.getTransformContexts().get(0).getCompilationUnitTree();
+    }
+
     protected <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>>
     String transform(
             TransformScanner transformScanner,
@@ -50,6 +66,18 @@ public abstract class BaseTestSuite extends BaseLoggingObject {
         return transform(transformScanner, null, clazz);
     }
 
+    protected <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>>
+    String transform(
+            TransformScanner transformScanner,
+            String name,
+            String code)
+            throws IOException {
+        compiler.clearJavaFileObject();
+        compiler.addJavaFileStringObject(name, code);
+        compiler.transform(transformScanner, null);
+        return serialize();
+    }
+
     protected <TransformScanner extends TreePathScanner<TransformScanner, JaspilerTransformContext>,
             DocScanner extends DocTreeScanner<DocScanner, JaspilerDocContext>>
     String transform(
@@ -60,6 +88,10 @@ public abstract class BaseTestSuite extends BaseLoggingObject {
         compiler.clearJavaFileObject();
         compiler.addJavaFileObjects(MockUtils.getSourcePath(clazz));
         compiler.transform(transformScanner, docScanner);
+        return serialize();
+    }
+
+    private String serialize() {
         var writer = new StandardStyleWriter(StyleOptions.Default);
         compiler.getTransformContexts().get(0).getCompilationUnitTree().serialize(writer);
         return writer.toString();
@@ -20,10 +20,16 @@ import com.caoccao.jaspiler.contexts.BaseJaspilerContext;
 import com.caoccao.jaspiler.contexts.JaspilerDocContext;
 import com.caoccao.jaspiler.contexts.JaspilerTransformContext;
 import com.caoccao.jaspiler.mock.MockAllInOnePublicClass;
+import com.caoccao.jaspiler.mock.MockForScan;
+import com.caoccao.jaspiler.mock.MockIgnorePublicClass;
+import com.caoccao.jaspiler.mock.MockPublicAnnotation;
+import com.caoccao.jaspiler.styles.StandardStyleWriter;
+import com.caoccao.jaspiler.styles.StyleOptions;
 import com.caoccao.jaspiler.trees.JTCompilationUnit;
 import com.caoccao.jaspiler.trees.JTImport;
 import com.caoccao.jaspiler.trees.JTPackageDecl;
 import com.caoccao.jaspiler.trees.JTTreeFactory;
+import com.caoccao.jaspiler.utils.MockUtils;
 import com.caoccao.jaspiler.utils.SystemUtils;
 import com.caoccao.jaspiler.visiters.BaseJaspilerDocScanner;
 import com.caoccao.jaspiler.visiters.BaseJaspilerTransformScanner;
@@ -41,10 +47,48 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestJaspilerCompiler extends BaseTestSuite {
+    private List<String> serialize(List<JaspilerTransformContext> transformContexts) {
+        return transformContexts.stream()
+                .map(BaseJaspilerContext::getCompilationUnitTree)
+                .map(compilationUnit -> {
+                    var writer = new StandardStyleWriter(StyleOptions.Default);
+                    compilationUnit.serialize(writer);
+                    return compilationUnit.getSourceFile().getName() + "\n" + writer;
+                })
+                .toList();
+    }
+
+    /**
+     * Add the mock files and transform them sequentially.
+     *
+     * @return the expected codes
+     * @throws IOException the io exception
+     */
+    private List<String> transformMockFiles() throws IOException {
+        var paths = Stream.of(
+                        MockAllInOnePublicClass.class,
+                        MockForScan.class,
+                        MockIgnorePublicClass.class,
+                        MockPublicAnnotation.class)
+                .map(MockUtils::getSourcePath)
+                .toArray(Path[]::new);
+        compiler.addJavaFileObjects(paths);
+        compiler.transform(new DummyTransformScanner(), new DummyDocScanner());
+        var expectedCodes = serialize(compiler.getTransformContexts());
+        assertEquals(paths.length, expectedCodes.size());
+        compiler.getTransformContexts().forEach(transformContext -> {
+            assertTrue(transformContext.getTransformTime() > 0);
+            assertTrue(transformContext.getExceptions().isEmpty());
+        });
+        return expectedCodes;
+    }
+
     @Test
     public void testTransform() throws IOException {
         class TestDocScanner extends BaseJaspilerDocScanner<TestDocScanner> {
@@ -100,6 +144,67 @@ public class TestJaspilerCompiler extends BaseTestSuite {
         }
     }
 
+    @Test
+    public void testTransformInParallel() throws IOException {
+        var expectedCodes = transformMockFiles();
+        for (int parallelism : new int[]{2, 3, 8}) {
+            compiler.setParallelism(parallelism);
+            compiler.transformInParallel(DummyTransformScanner::new, DummyDocScanner::new);
+            assertEquals(expectedCodes, serialize(compiler.getTransformContexts()));
+            assertEquals(expectedCodes.size(), compiler.getDocContexts().size());
+        }
+        compiler.setParallelism(0);
+        assertEquals(1, compiler.getParallelism());
+    }
+
+    @Test
+    public void testTransformStreaming() throws IOException {
+        var expectedCodes = transformMockFiles();
+        for (int parallelism : new int[]{1, 2}) {
+            List<String> codes = new ArrayList<>();
+            compiler.setParallelism(parallelism).setBatchSize(1).setQueueCapacity(2);
+            compiler.transformStreaming(
+                    DummyTransformScanner::new,
+                    DummyDocScanner::new,
+                    (transformContext, docContext) -> {
+                        assertNotNull(docContext);
+                        assertSame(transformContext.getCompilationUnitTree(), docContext.getCompilationUnitTree());
+                        codes.addAll(serialize(List.of(transformContext)));
+                    });
+            assertEquals(expectedCodes, codes);
+            assertTrue(compiler.getTransformContexts().isEmpty());
+            assertTrue(compiler.getDocContexts().isEmpty());
+        }
+    }
+
+    @Test
+    public void testTransformStreamingWithFailedSink() throws IOException {
+        var expectedCodes = transformMockFiles();
+        final int queueCapacity = 2;
+        var scannerCount = new AtomicInteger();
+        var sinkCount = new AtomicInteger();
+        compiler.setParallelism(2).setBatchSize(1).setQueueCapacity(queueCapacity);
+        var exception = assertThrows(IOException.class, () -> compiler.transformStreaming(
+                () -> {
+                    scannerCount.incrementAndGet();
+                    return new DummyTransformScanner();
+                },
+                null,
+                (transformContext, docContext) -> {
+                    assertNull(docContext);
+                    if (sinkCount.incrementAndGet() == 1) {
+                        throw new IOException("Sink failed.");
+                    }
+                }));
+        assertEquals("Sink failed.", exception.getMessage());
+        assertEquals(1, sinkCount.get());
+        // Only the batches in the bounded queue were transformed before the sink failed.
+        assertTrue(scannerCount.get() <= queueCapacity);
+        assertTrue(queueCapacity < expectedCodes.size());
+        assertTrue(compiler.getTransformContexts().isEmpty());
+        assertTrue(compiler.getDocContexts().isEmpty());
+    }
+
     @Test
     @Tag("manual")
     public void testUnsupported() {
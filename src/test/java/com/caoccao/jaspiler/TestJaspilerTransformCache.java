@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler;
+
+import com.caoccao.jaspiler.styles.StyleOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJaspilerTransformCache {
+    @Test
+    public void testComputeKey() {
+        var transformCache = new JaspilerTransformCache(Path.of("cache"));
+        String key = transformCache.computeKey("A.java", "class A {}", "script", StyleOptions.Default);
+        assertEquals(64, key.length());
+        assertEquals(key, transformCache.computeKey("A.java", "class A {}", "script", StyleOptions.Default));
+        assertNotEquals(key, transformCache.computeKey("A.java", "class B {}", "script", StyleOptions.Default));
+        assertNotEquals(key, transformCache.computeKey("A.java", "class A {}", "another script", StyleOptions.Default));
+        assertNotEquals(key, transformCache.computeKey(
+                "A.java", "class A {}", "script", new StyleOptions().setIndentSize(2).seal()));
+        assertNotEquals(key, transformCache.computeKey("B.java", "class A {}", "script", StyleOptions.Default));
+    }
+
+    @Test
+    public void testComputeKeyOfIdenticalFiles() throws IOException {
+        Path directory = Files.createTempDirectory("jaspiler-source");
+        try {
+            var transformCache = new JaspilerTransformCache(directory.resolve("cache"));
+            final String code = "package a;\npublic class A {}\n";
+            Path path1 = Files.writeString(
+                    Files.createDirectories(directory.resolve("a")).resolve("A.java"), code);
+            Path path2 = Files.writeString(
+                    Files.createDirectories(directory.resolve("b")).resolve("A.java"), code);
+            String key1 = transformCache.computeKey(
+                    path1.toAbsolutePath().normalize().toString(), Files.readString(path1), "script", StyleOptions.Default);
+            String key2 = transformCache.computeKey(
+                    path2.toAbsolutePath().normalize().toString(), Files.readString(path2), "script", StyleOptions.Default);
+            assertNotEquals(key1, key2);
+            transformCache.put(key1, new JaspilerTransformCache.Entry(true, true, "// a\n" + code));
+            assertNull(transformCache.get(key2));
+            assertEquals("// a\n" + code, transformCache.get(key1).code());
+        } finally {
+            try (Stream<Path> stream = Files.walk(directory)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void testComputeModuleKey() throws IOException {
+        Path directory = Files.createTempDirectory("jaspiler-module");
+        try {
+            var transformCache = new JaspilerTransformCache(directory);
+            Path scriptPath = Files.writeString(directory.resolve("script.js"), "const a = 1;");
+            Path modulePath = Files.writeString(directory.resolve("module.js"), "module.exports = {};");
+            String key = transformCache.computeModuleKey(List.of(scriptPath, modulePath));
+            assertEquals(64, key.length());
+            assertEquals(key, transformCache.computeModuleKey(List.of(modulePath, scriptPath)));
+            assertEquals(key, transformCache.computeModuleKey(
+                    List.of(scriptPath, modulePath, directory.resolve("missing.js"))));
+            assertNotEquals(key, transformCache.computeModuleKey(List.of(scriptPath)));
+            Files.writeString(modulePath, "module.exports = { b: 2 };");
+            assertNotEquals(key, transformCache.computeModuleKey(List.of(scriptPath, modulePath)));
+        } finally {
+            try (Stream<Path> stream = Files.walk(directory)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void testGetAndPut() throws IOException {
+        Path directory = Files.createTempDirectory("jaspiler-cache");
+        try {
+            var transformCache = new JaspilerTransformCache(directory);
+            String key = transformCache.computeKey("A.java", "class A {}", null, StyleOptions.Default);
+            assertNull(transformCache.get(key));
+            transformCache.put(key, new JaspilerTransformCache.Entry(true, true, "class B {}\n"));
+            var entry = transformCache.get(key);
+            assertNotNull(entry);
+            assertTrue(entry.changed());
+            assertTrue(entry.serialized());
+            assertEquals("class B {}\n", entry.code());
+            transformCache.put(key, new JaspilerTransformCache.Entry(false, false, null));
+            entry = new JaspilerTransformCache(directory).get(key);
+            assertNotNull(entry);
+            assertFalse(entry.changed());
+            assertFalse(entry.serialized());
+            assertEquals("", entry.code());
+            assertEquals(1, transformCache.getHitCount());
+            assertEquals(1, transformCache.getMissCount());
+            transformCache.resetCounters();
+            assertEquals(0, transformCache.getHitCount());
+            assertEquals(0, transformCache.getMissCount());
+        } finally {
+            try (Stream<Path> stream = Files.walk(directory)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
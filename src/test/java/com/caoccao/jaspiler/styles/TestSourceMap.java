@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.caoccao.jaspiler.styles;
+
+import com.caoccao.jaspiler.BaseTestSuite;
+import com.caoccao.jaspiler.trees.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSourceMap extends BaseTestSuite {
+    private static final String BASE64_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    private static final String CODE = """
+            package a;
+            public class A {
+                int x = 1;
+                void f() {
+                    int y = 2;
+                }
+                void g() {
+                    int z = 3;
+                }
+            }
+            """;
+
+    /**
+     * Decode the mappings to the original lines of the first segment of each generated line.
+     */
+    private static List<Integer> decodeOriginalLines(String mappings) {
+        List<Integer> originalLines = new ArrayList<>();
+        int originalLine = 0;
+        for (String line : mappings.split(";", -1)) {
+            Integer firstOriginalLine = null;
+            if (!line.isEmpty()) {
+                for (String segment : line.split(",")) {
+                    int[] values = new int[4];
+                    int index = 0;
+                    int value = 0;
+                    int shift = 0;
+                    for (char c : segment.toCharArray()) {
+                        int digit = BASE64_DIGITS.indexOf(c);
+                        value += (digit & 31) << shift;
+                        if ((digit & 32) == 0) {
+                            values[index++] = (value & 1) == 1 ? -(value >>> 1) : value >>> 1;
+                            value = 0;
+                            shift = 0;
+                        } else {
+                            shift += 5;
+                        }
+                    }
+                    assertEquals(4, index);
+                    originalLine += values[2];
+                    if (firstOriginalLine == null) {
+                        firstOriginalLine = originalLine;
+                    }
+                }
+            }
+            originalLines.add(firstOriginalLine);
+        }
+        return originalLines;
+    }
+
+    @Test
+    public void testChange() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        var jtMethodDeclF = (JTMethodDecl) jtClassDecl.getMembers().get(1);
+        var jtVariableDecl = (JTVariableDecl) jtMethodDeclF.getBody().getStatements().get(0);
+        jtVariableDecl.setInitializer(JTTreeFactory.createLiteral(4));
+        var sourceMap = new SourceMap("A.java", "A.java");
+        var writer = new StandardStyleWriter(StyleOptions.Default).setSourceMap(sourceMap);
+        assertTrue(writer.serialize(jtCompilationUnit));
+        String[] generatedLines = writer.toString().split("\n", -1);
+        List<Integer> originalLines = decodeOriginalLines(sourceMap.getMappings());
+        assertTrue(originalLines.size() <= generatedLines.length);
+        String[] lines = CODE.split("\n", -1);
+        for (int i = 0; i < originalLines.size(); i++) {
+            Integer originalLine = originalLines.get(i);
+            if (originalLine != null) {
+                String expectedLine = lines[originalLine].trim().replace("int y = 2;", "int y = 4;");
+                assertEquals(expectedLine, generatedLines[i].trim(), "Line " + i);
+            }
+        }
+        assertTrue(originalLines.contains(4));
+        assertTrue(originalLines.contains(7));
+        var jsonNode = new ObjectMapper().readTree(sourceMap.toJson());
+        assertEquals(3, jsonNode.get("version").asInt());
+        assertEquals("A.java", jsonNode.get("file").asText());
+        assertEquals("A.java", jsonNode.get("sources").get(0).asText());
+        assertEquals(sourceMap.getMappings(), jsonNode.get("mappings").asText());
+    }
+
+    @Test
+    public void testNoChange() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var sourceMap = new SourceMap(null, "A.java");
+        var writer = new StandardStyleWriter(StyleOptions.Default).setSourceMap(sourceMap);
+        assertTrue(writer.serialize(jtCompilationUnit));
+        assertEquals(CODE, writer.toString());
+        List<Integer> originalLines = decodeOriginalLines(sourceMap.getMappings());
+        assertEquals(CODE.split("\n", -1).length, originalLines.size());
+        for (int i = 0; i < originalLines.size(); i++) {
+            assertEquals(i, originalLines.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testVlq() {
+        var stringBuilder = new StringBuilder();
+        SourceMap.appendVlq(stringBuilder, 0);
+        SourceMap.appendVlq(stringBuilder, 1);
+        SourceMap.appendVlq(stringBuilder, -1);
+        SourceMap.appendVlq(stringBuilder, 16);
+        SourceMap.appendVlq(stringBuilder, 123);
+        assertEquals("ACDgB2H", stringBuilder.toString());
+        var sourceMap = new SourceMap(null, "A.java")
+                .addMapping(0, 0, 0, 0)
+                .addMapping(0, 0, 1, 1)
+                .addMapping(0, 4, 0, 4)
+                .addMapping(2, 2, 1, 0);
+        assertEquals(3, sourceMap.getMappingCount());
+        assertEquals("AAAA,IAAI;;EACJ", sourceMap.getMappings());
+    }
+}
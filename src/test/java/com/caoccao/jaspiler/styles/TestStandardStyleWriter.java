@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.caoccao.jaspiler.styles;
+
+import com.caoccao.jaspiler.BaseTestSuite;
+import com.caoccao.jaspiler.trees.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestStandardStyleWriter extends BaseTestSuite {
+    private static final int NESTED_DEPTH = 8;
+
+    private static String createNestedCode(int memberCount) {
+        return IntStream.range(0, memberCount)
+                .mapToObj(i -> "    void m" + i + "() {"
+                        + "{".repeat(NESTED_DEPTH) + " int v" + i + " = " + i + "; " + "}".repeat(NESTED_DEPTH)
+                        + " }\n")
+                .collect(Collectors.joining("", "package a;\npublic class A {\n", "}\n"));
+    }
+
+    private JTCompilationUnit parseNested(int depth) throws Exception {
+        var jtCompilationUnit = parse("A", createNestedCode(depth));
+        // The innermost statements are changed so that all the nested blocks are reprinted.
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        jtClassDecl.getMembers().forEach(member -> {
+            JTTree<?, ?> tree = ((JTMethodDecl) member).getBody();
+            while (tree instanceof JTBlock jtBlock) {
+                tree = (JTTree<?, ?>) jtBlock.getStatements().get(0);
+            }
+            tree.setActionChange();
+        });
+        return jtCompilationUnit;
+    }
+
+    @Test
+    public void testAppendIndent() {
+        var options = new StyleOptions().setContinuationIndentSize(3).setIndentSize(100).seal();
+        var writer = new StandardStyleWriter(options);
+        writer.appendIndent(0).append("a").appendIndent(3).append("b").appendContinuationIndent().append("c");
+        assertEquals("a" + " ".repeat(300) + "b" + " ".repeat(3) + "c", writer.toString());
+        assertEquals(306, writer.length());
+    }
+
+    @Test
+    public void testNestedBlocks() throws Exception {
+        var jtCompilationUnit = parseNested(2);
+        var writer = new StandardStyleWriter(StyleOptions.Default);
+        assertTrue(jtCompilationUnit.serialize(writer));
+        String code = writer.toString();
+        assertTrue(code.contains("\n" + " ".repeat(4 * (NESTED_DEPTH + 2)) + "int v1 = 1;\n"), code);
+        assertTrue(code.contains("\n" + " ".repeat(4 * (NESTED_DEPTH + 1)) + "}\n"), code);
+    }
+
+    @Test
+    @Tag("manual")
+    public void testIndentPerformance() throws Exception {
+        var jtCompilationUnit = parseNested(4000);
+        final int warmUpIterations = 10;
+        final int iterations = 50;
+        for (int i = 0; i < warmUpIterations; ++i) {
+            assertTrue(jtCompilationUnit.serialize(new StandardStyleWriter(StyleOptions.Default)));
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            assertTrue(jtCompilationUnit.serialize(new StandardStyleWriter(StyleOptions.Default)));
+        }
+        long elapsedTime = (System.nanoTime() - startTime) / iterations / 1000L;
+        logger.info("{} nested members: {} us per serialization.", 4000, elapsedTime);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.styles;
+
+import com.caoccao.jaspiler.BaseTestSuite;
+import com.caoccao.jaspiler.mock.MockAllInOnePublicClass;
+import com.caoccao.jaspiler.mock.MockPublicAnnotation;
+import com.caoccao.jaspiler.trees.JTCompilationUnit;
+import com.caoccao.jaspiler.trees.JTTree;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestStreamingStyleWriter extends BaseTestSuite {
+    private JTCompilationUnit parseChanged(Class<?> clazz) throws Exception {
+        var jtCompilationUnit = parse(clazz);
+        // The changed trees are serialized line by line.
+        jtCompilationUnit.getTypeDecls().forEach(tree -> ((JTTree<?, ?>) tree).setActionChange());
+        return jtCompilationUnit;
+    }
+
+    @Test
+    public void testFileChannel() throws Exception {
+        var jtCompilationUnit = parseChanged(MockAllInOnePublicClass.class);
+        var standardStyleWriter = new StandardStyleWriter(StyleOptions.Default);
+        assertTrue(jtCompilationUnit.serialize(standardStyleWriter));
+        var path = Files.createTempFile("jaspiler", ".java");
+        try {
+            try (var streamingStyleWriter = StreamingStyleWriter.of(
+                    StyleOptions.Default, FileChannel.open(path, StandardOpenOption.WRITE))) {
+                assertTrue(jtCompilationUnit.serialize(streamingStyleWriter));
+            }
+            assertEquals(standardStyleWriter.toString(), Files.readString(path, StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testUnchangedCompilationUnit() throws Exception {
+        var jtCompilationUnit = parse(MockAllInOnePublicClass.class);
+        assertFalse(jtCompilationUnit.isActionChange());
+        var standardStyleWriter = new StandardStyleWriter(StyleOptions.Default)
+                .setSourceMap(new SourceMap("a.java", "a.java"));
+        assertTrue(standardStyleWriter.serialize(jtCompilationUnit));
+        String code = standardStyleWriter.toString();
+        assertTrue(code.lines().count() > 10);
+        var stringWriter = new StringWriter();
+        var streamingStyleWriter = new StreamingStyleWriter(StyleOptions.Default, stringWriter);
+        streamingStyleWriter.setSourceMap(new SourceMap("a.java", "a.java"));
+        assertTrue(streamingStyleWriter.serialize(jtCompilationUnit));
+        // The original code is written line by line instead of piling up in the pending line.
+        assertFalse(streamingStyleWriter.toString().contains("\n"));
+        assertEquals(code.length(), streamingStyleWriter.length());
+        assertEquals(standardStyleWriter.getSourceMap().toJson(), streamingStyleWriter.getSourceMap().toJson());
+        streamingStyleWriter.close();
+        assertEquals(code, stringWriter.toString());
+    }
+
+    @Test
+    public void testWriter() throws Exception {
+        for (var clazz : new Class<?>[]{MockAllInOnePublicClass.class, MockPublicAnnotation.class}) {
+            var jtCompilationUnit = parseChanged(clazz);
+            var standardStyleWriter = new StandardStyleWriter(StyleOptions.Default);
+            assertTrue(jtCompilationUnit.serialize(standardStyleWriter));
+            var stringWriter = new StringWriter();
+            // The small buffer splits the lines into chunks.
+            var streamingStyleWriter = new StreamingStyleWriter(StyleOptions.Default, stringWriter, 7);
+            assertTrue(jtCompilationUnit.serialize(streamingStyleWriter));
+            assertTrue(streamingStyleWriter.toString().length() < stringWriter.toString().length());
+            assertEquals(standardStyleWriter.length(), streamingStyleWriter.length());
+            streamingStyleWriter.close();
+            assertTrue(streamingStyleWriter.isClosed());
+            assertTrue(streamingStyleWriter.toString().isEmpty());
+            assertEquals(standardStyleWriter.toString(), stringWriter.toString());
+            assertThrows(IllegalStateException.class, streamingStyleWriter::appendLineSeparator);
+        }
+    }
+}
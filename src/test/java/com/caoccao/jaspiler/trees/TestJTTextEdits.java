@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.caoccao.jaspiler.trees;
+
+import com.caoccao.jaspiler.BaseTestSuite;
+import com.caoccao.jaspiler.styles.StandardStyleWriter;
+import com.caoccao.jaspiler.styles.StyleOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJTTextEdits extends BaseTestSuite {
+    private static final String CODE = """
+            package a;
+            public class A {
+                int x = 1;
+                void f() {
+                    int y = 2;
+                }
+                void g() {
+                }
+            }
+            """;
+
+    private String serialize(JTCompilationUnit jtCompilationUnit) {
+        var writer = new StandardStyleWriter(StyleOptions.Default);
+        jtCompilationUnit.serialize(writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void testDiffPath() throws Exception {
+        assertEquals("src/a/A.java", JTTextEdits.getDiffPath("src/a/A.java"));
+        assertEquals("root/project/a/A.java", JTTextEdits.getDiffPath("/root/project/a/A.java"));
+        assertEquals("src/a/A.java", JTTextEdits.getDiffPath("C:\\src\\a\\A.java"));
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        jtClassDecl.getMembers().remove(2);
+        var jtTextEdits = JTTextEdits.of(jtCompilationUnit, StyleOptions.Default);
+        assertNotNull(jtTextEdits);
+        String diff = jtTextEdits.toUnifiedDiff("/root/project/A.java", 0);
+        assertTrue(diff.startsWith("--- a/root/project/A.java\n+++ b/root/project/A.java\n"), diff);
+    }
+
+    @Test
+    public void testNoChange() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtTextEdits = JTTextEdits.of(jtCompilationUnit, StyleOptions.Default);
+        assertNotNull(jtTextEdits);
+        assertTrue(jtTextEdits.isEmpty());
+        assertEquals(CODE, jtTextEdits.apply());
+        assertEquals("", jtTextEdits.toUnifiedDiff("a/A.java", JTTextEdits.DEFAULT_CONTEXT_LINES));
+        jtCompilationUnit.setActionIgnore();
+        assertNull(JTTextEdits.of(jtCompilationUnit, StyleOptions.Default));
+    }
+
+    @Test
+    public void testStatementChange() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        var jtMethodDeclF = (JTMethodDecl) jtClassDecl.getMembers().get(1);
+        var jtVariableDecl = (JTVariableDecl) jtMethodDeclF.getBody().getStatements().get(0);
+        jtVariableDecl.setInitializer(JTTreeFactory.createLiteral(3));
+        var jtTextEdits = JTTextEdits.of(jtCompilationUnit, StyleOptions.Default);
+        assertNotNull(jtTextEdits);
+        assertEquals(1, jtTextEdits.getEdits().size());
+        var edit = jtTextEdits.getEdits().get(0);
+        assertEquals(CODE.indexOf("int y = 2;"), edit.offset());
+        assertEquals("int y = 3;", edit.replacement());
+        assertEquals(CODE.replace("int y = 2;", "int y = 3;"), jtTextEdits.apply());
+        assertNotEquals(serialize(jtCompilationUnit), jtTextEdits.apply());
+        assertEquals("""
+                --- a/A.java
+                +++ b/A.java
+                @@ -4,3 +4,3 @@
+                     void f() {
+                -        int y = 2;
+                +        int y = 3;
+                     }
+                """, jtTextEdits.toUnifiedDiff("A.java", 1));
+    }
+
+    @Test
+    public void testTreeListChange() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        jtClassDecl.getMembers().remove(2);
+        var jtTextEdits = JTTextEdits.of(jtCompilationUnit, StyleOptions.Default);
+        assertNotNull(jtTextEdits);
+        assertEquals(1, jtTextEdits.getEdits().size());
+        assertEquals(CODE.indexOf("public class A"), jtTextEdits.getEdits().get(0).offset());
+        assertEquals("""
+                package a;
+                public class A {
+                    int x = 1;
+
+                    void f() {
+                        int y = 2;
+                    }
+                }
+                """, jtTextEdits.apply());
+    }
+}
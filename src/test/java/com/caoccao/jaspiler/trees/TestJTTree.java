@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.trees;
+
+import com.caoccao.jaspiler.BaseTestSuite;
+import com.caoccao.jaspiler.contexts.JaspilerTransformContext;
+import com.caoccao.jaspiler.styles.StandardStyleWriter;
+import com.caoccao.jaspiler.styles.StyleOptions;
+import com.caoccao.jaspiler.visiters.BaseJaspilerTransformScanner;
+import com.caoccao.javet.values.reference.builtin.V8ValueBuiltInSymbol;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.source.tree.MethodTree;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJTTree extends BaseTestSuite {
+    private static final String CODE = """
+            package a;
+            public class A {
+                int x = 1;
+                void f() {
+                    int y = 2;
+                }
+                void g() {
+                }
+            }
+            """;
+
+    private String serialize(JTCompilationUnit jtCompilationUnit) {
+        var writer = new StandardStyleWriter(StyleOptions.Default);
+        jtCompilationUnit.serialize(writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void testActionChangeInDescendants() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        var jtMethodDeclF = (JTMethodDecl) jtClassDecl.getMembers().get(1);
+        var jtMethodDeclG = (JTMethodDecl) jtClassDecl.getMembers().get(2);
+        var jtVariableDecl = (JTVariableDecl) jtMethodDeclF.getBody().getStatements().get(0);
+        assertFalse(jtCompilationUnit.isActionChange());
+        assertEquals(CODE, serialize(jtCompilationUnit));
+        jtVariableDecl.setActionChange();
+        assertTrue(jtVariableDecl.isActionChange());
+        assertFalse(jtVariableDecl.isActionChangeInDescendants());
+        assertTrue(jtMethodDeclF.getBody().isActionChange());
+        assertTrue(jtMethodDeclF.isActionChange());
+        assertTrue(jtClassDecl.isActionChange());
+        assertTrue(jtCompilationUnit.isActionChange());
+        assertFalse(jtMethodDeclG.isActionChange());
+        assertFalse(jtClassDecl.getMembers().get(0).isActionChange());
+        assertTrue(jtCompilationUnit.getAction().isNoChange());
+        assertTrue(serialize(jtCompilationUnit).contains("int y = 2;"));
+        jtMethodDeclG.setActionIgnore();
+        assertFalse(jtMethodDeclG.isActionChange());
+        assertFalse(serialize(jtCompilationUnit).contains("void g()"));
+        // The flags are cleared once the descendants are reset to NoChange.
+        jtVariableDecl.setActionNoChange();
+        assertFalse(jtMethodDeclF.isActionChange());
+        assertFalse(jtMethodDeclF.isActionChangeInDescendants());
+        assertTrue(jtClassDecl.isActionChange());
+        jtMethodDeclG.setActionNoChange();
+        assertFalse(jtClassDecl.isActionChangeInDescendants());
+        assertFalse(jtCompilationUnit.isActionChangeInDescendants());
+        assertFalse(jtCompilationUnit.isActionChange());
+        assertEquals(CODE, serialize(jtCompilationUnit));
+        // A changed ancestor keeps its parent flagged.
+        jtMethodDeclF.setActionChange();
+        jtVariableDecl.setActionChange();
+        jtVariableDecl.setActionNoChange();
+        assertFalse(jtMethodDeclF.isActionChangeInDescendants());
+        assertTrue(jtMethodDeclF.isActionChange());
+        assertTrue(jtClassDecl.isActionChangeInDescendants());
+        assertTrue(jtCompilationUnit.isActionChange());
+        jtMethodDeclF.setActionNoChange();
+        assertFalse(jtCompilationUnit.isActionChange());
+        assertEquals(CODE, serialize(jtCompilationUnit));
+    }
+
+    @Test
+    public void testClassDeclInDescendants() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        var jtMethodDeclF = (JTMethodDecl) jtClassDecl.getMembers().get(1);
+        var jtMethodDeclG = (JTMethodDecl) jtClassDecl.getMembers().get(2);
+        assertTrue(jtCompilationUnit.isClassDeclInDescendants());
+        assertFalse(jtClassDecl.isClassDeclInDescendants());
+        assertFalse(jtMethodDeclF.getBody().isClassDeclInDescendants());
+        jtMethodDeclG.getBody().getStatements().add(new JTClassDecl());
+        assertTrue(jtMethodDeclG.getBody().isClassDeclInDescendants());
+        assertTrue(jtMethodDeclG.isClassDeclInDescendants());
+        assertTrue(jtClassDecl.isClassDeclInDescendants());
+        assertFalse(jtMethodDeclF.isClassDeclInDescendants());
+        jtCompilationUnit = parse("A", CODE.replace("int y = 2;", "Object y = new Object() {};"));
+        jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        jtMethodDeclF = (JTMethodDecl) jtClassDecl.getMembers().get(1);
+        jtMethodDeclG = (JTMethodDecl) jtClassDecl.getMembers().get(2);
+        assertTrue(jtMethodDeclF.getBody().getStatements().get(0).isClassDeclInDescendants());
+        assertFalse(jtMethodDeclG.isClassDeclInDescendants());
+    }
+
+    @Test
+    public void testForEachChild() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        List<JTTree<?, ?>> children = new ArrayList<>();
+        jtClassDecl.forEachChild(children::add);
+        assertEquals(4, children.size());
+        assertSame(jtClassDecl.getModifiers(), children.get(0));
+        assertEquals(jtClassDecl.getMembers(), children.subList(1, 4));
+        children.forEach(child -> assertSame(jtClassDecl, child.getParentTree()));
+        var jtInstanceOf = new JTInstanceOf()
+                .setExpression(JTTreeFactory.createIdent("a"))
+                .setPattern(JTTreeFactory.createIdent("B"));
+        children.clear();
+        jtInstanceOf.forEachChild(children::add);
+        assertEquals(List.of(jtInstanceOf.getExpression(), jtInstanceOf.getType()), children);
+    }
+
+    @Test
+    public void testOriginalPosition() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        var jtMethodDeclF = (JTMethodDecl) jtClassDecl.getMembers().get(1);
+        var position = jtMethodDeclF.getOriginalPosition();
+        assertTrue(position.isValid());
+        assertEquals(CODE.indexOf("void f()"), position.startPosition());
+        assertEquals(4, position.lineNumber());
+        assertEquals(5, position.columnNumber());
+        assertEquals(position, jtCompilationUnit.getOriginalPosition(jtMethodDeclF.getOriginalTree()));
+        assertEquals(position, new JTPosition(position.startPosition(), position.endPosition(), 4, 5));
+        var reparsedClassDecl = (JTClassDecl) parse("A", CODE).getTypeDecls().get(0);
+        var reparsedPosition = ((JTMethodDecl) reparsedClassDecl.getMembers().get(1)).getOriginalPosition();
+        assertEquals(position, reparsedPosition);
+        assertEquals(position.hashCode(), reparsedPosition.hashCode());
+        assertFalse(new JTMethodDecl().getOriginalPosition().isValid());
+        assertEquals(-1, JTPosition.Invalid.lineNumber());
+        assertEquals(-1, JTPosition.Invalid.columnNumber());
+    }
+
+    @Test
+    public void testProxyTable() {
+        var jtClassDecl = new JTClassDecl();
+        assertSame(jtClassDecl.getProxyTable(), new JTClassDecl().getProxyTable());
+        var getterNames = jtClassDecl.getProxyTable().getStringGetterNames();
+        assertTrue(getterNames.containsAll(List.of("isActionChange", "kind", "members", "parentTree")));
+        var setterNames = jtClassDecl.getProxyTable().getStringSetterNames();
+        assertTrue(setterNames.containsAll(List.of("kind", "members")));
+        assertFalse(setterNames.contains("parentTree"));
+        assertFalse(JTTree.PROXY_TABLE.getStringGetterNames().contains("members"));
+        assertTrue(jtClassDecl.getProxyTable().getSymbolGetterNames().contains(V8ValueBuiltInSymbol.PROPERTY_TO_PRIMITIVE));
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var objectMapper = new ObjectMapper();
+        var jsonNode = objectMapper.readTree(JTSnapshot.toJson(jtCompilationUnit, JTSnapshot.DEPTH_UNLIMITED));
+        assertEquals("COMPILATION_UNIT", jsonNode.get("kind").asText());
+        assertEquals("JTCompilationUnit", jsonNode.get("classSimpleName").asText());
+        assertFalse(jsonNode.has("parentTree"));
+        var jsonNodeClassDecl = jsonNode.get("typeDecls").get(0);
+        assertEquals("A", jsonNodeClassDecl.get("simpleName").get("value").asText());
+        assertEquals(3, jsonNodeClassDecl.get("members").size());
+        assertEquals("x", jsonNodeClassDecl.get("members").get(0).get("name").get("value").asText());
+        jsonNode = objectMapper.readTree(JTSnapshot.toJson(jtCompilationUnit, 0));
+        assertEquals(1, jsonNode.get("typeDecls").size());
+        assertTrue(jsonNode.get("typeDecls").get(0).isNull());
+        jsonNode = objectMapper.readTree(JTSnapshot.toJson(jtCompilationUnit, 1));
+        jsonNodeClassDecl = jsonNode.get("typeDecls").get(0);
+        assertEquals("A", jsonNodeClassDecl.get("simpleName").get("value").asText());
+        assertTrue(jsonNodeClassDecl.get("members").get(0).isNull());
+    }
+
+    @Test
+    public void testOriginalPositionOfDetachedTree() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        var jtMethodDeclG = jtClassDecl.getMembers().remove(2);
+        var originalPosition = jtMethodDeclG.getOriginalPosition();
+        assertTrue(originalPosition.isValid());
+        jtMethodDeclG.setParentTree(null);
+        assertNull(jtMethodDeclG.getParentTree());
+        assertEquals(originalPosition.startPosition(), jtMethodDeclG.getOriginalPosition().startPosition());
+        assertEquals(originalPosition.endPosition(), jtMethodDeclG.getOriginalPosition().endPosition());
+        assertEquals("void g() {\n    }", jtMethodDeclG.getOriginalCode().substring(
+                (int) originalPosition.startPosition(), (int) originalPosition.endPosition()));
+        // The tree that was never parsed has no original position.
+        assertFalse(new JTImport().getOriginalPosition().isValid());
+        // The tree moved to another compilation unit keeps its original position and code.
+        var jtCompilationUnitB = parse("B", CODE.replace("void g()", "void h()"));
+        var jtClassDeclB = (JTClassDecl) jtCompilationUnitB.getTypeDecls().get(0);
+        var jtMethodDeclH = jtClassDeclB.getMembers().remove(2);
+        jtClassDecl.getMembers().add(jtMethodDeclH);
+        assertSame(jtCompilationUnit, jtMethodDeclH.getCompilationUnit());
+        assertTrue(serialize(jtCompilationUnit).contains("void h() {"));
+    }
+
+    @Test
+    public void testTreeList() throws Exception {
+        var jtCompilationUnit = parse("A", CODE);
+        var jtImport = new JTImport().setQualifiedIdentifier(JTTreeFactory.createFieldAccess("b", "B"));
+        jtCompilationUnit.getImports().add(jtImport);
+        assertSame(jtCompilationUnit, jtImport.getParentTree());
+        assertTrue(jtCompilationUnit.isActionChange());
+        assertTrue(serialize(jtCompilationUnit).contains("import b.B;"));
+        jtCompilationUnit = parse("A", CODE);
+        var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+        jtClassDecl.getMembers().remove(2);
+        assertTrue(jtClassDecl.getAction().isChange());
+        assertFalse(serialize(jtCompilationUnit).contains("void g()"));
+    }
+
+    @Test
+    public void testTreeListScanModification() {
+        final class RemovingScanner extends BaseJaspilerTransformScanner<RemovingScanner> {
+            @Override
+            public RemovingScanner visitMethod(MethodTree node, JaspilerTransformContext jaspilerTransformContext) {
+                ((JTClassDecl) ((JTMethodDecl) node).getParentTree()).getMembers().remove(node);
+                return super.visitMethod(node, jaspilerTransformContext);
+            }
+        }
+        compiler.clearJavaFileObject();
+        compiler.addJavaFileStringObject("A", CODE);
+        assertThrows(ConcurrentModificationException.class, () -> compiler.transform(new RemovingScanner(), null));
+    }
+
+    @Test
+    public void testTreeListViews() throws Exception {
+        {
+            // Clear a sub list.
+            var jtClassDecl = (JTClassDecl) parse("A", CODE).getTypeDecls().get(0);
+            jtClassDecl.getMembers().subList(1, 3).clear();
+            assertEquals(1, jtClassDecl.getMembers().size());
+            assertTrue(jtClassDecl.isActionChange());
+            assertFalse(serialize((JTCompilationUnit) jtClassDecl.getParentTree()).contains("void f()"));
+        }
+        {
+            // Remove by the iterator.
+            var jtClassDecl = (JTClassDecl) parse("A", CODE).getTypeDecls().get(0);
+            var iterator = jtClassDecl.getMembers().iterator();
+            iterator.next();
+            iterator.remove();
+            assertEquals(2, jtClassDecl.getMembers().size());
+            assertTrue(jtClassDecl.isActionChange());
+            assertFalse(serialize((JTCompilationUnit) jtClassDecl.getParentTree()).contains("int x = 1;"));
+        }
+        {
+            // Set and add by the list iterator.
+            var jtCompilationUnit = parse("A", CODE);
+            var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+            var jtMethodDeclG = jtClassDecl.getMembers().get(2);
+            var listIterator = jtClassDecl.getMembers().listIterator(1);
+            listIterator.next();
+            listIterator.set(jtMethodDeclG);
+            assertTrue(jtClassDecl.isActionChange());
+            assertFalse(serialize(jtCompilationUnit).contains("void f()"));
+            var jtImport = new JTImport().setQualifiedIdentifier(JTTreeFactory.createFieldAccess("b", "B"));
+            jtCompilationUnit.getImports().listIterator().add(jtImport);
+            assertSame(jtCompilationUnit, jtImport.getParentTree());
+            assertTrue(serialize(jtCompilationUnit).contains("import b.B;"));
+        }
+        {
+            // Add to and remove from a sub list.
+            var jtCompilationUnit = parse("A", CODE);
+            var jtImport = new JTImport().setQualifiedIdentifier(JTTreeFactory.createFieldAccess("b", "B"));
+            var subList = jtCompilationUnit.getImports().subList(0, 0);
+            subList.add(jtImport);
+            assertSame(jtCompilationUnit, jtImport.getParentTree());
+            assertTrue(jtCompilationUnit.isActionChange());
+            assertEquals(List.of(jtImport), jtCompilationUnit.getImports());
+            var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+            assertTrue(jtClassDecl.getMembers().subList(1, 3).removeIf(tree -> tree instanceof JTMethodDecl));
+            assertTrue(jtClassDecl.isActionChange());
+            assertEquals(1, jtClassDecl.getMembers().size());
+        }
+        {
+            // Remove and add through the list while iterating keeps the size, but is still detected.
+            var jtClassDecl = (JTClassDecl) parse("A", CODE).getTypeDecls().get(0);
+            var members = jtClassDecl.getMembers();
+            var iterator = members.iterator();
+            var subList = members.subList(0, 2);
+            iterator.next();
+            members.add(members.remove(0));
+            assertEquals(3, members.size());
+            assertThrows(ConcurrentModificationException.class, iterator::next);
+            assertThrows(ConcurrentModificationException.class, () -> subList.get(0));
+        }
+    }
+
+    @Test
+    @Tag("manual")
+    public void testActionChangePerformance() throws Exception {
+        final int[] memberCounts = new int[]{1000, 2000, 4000, 8000};
+        final long[] elapsedTimes = new long[memberCounts.length];
+        for (int index = 0; index < memberCounts.length; ++index) {
+            final int memberCount = memberCounts[index];
+            String code = IntStream.range(0, memberCount)
+                    .mapToObj(i -> "    void m" + i + "() { int v" + i + " = " + i + "; }\n")
+                    .collect(Collectors.joining("", "package a;\npublic class A {\n", "}\n"));
+            var jtCompilationUnit = parse("A", code);
+            var jtClassDecl = (JTClassDecl) jtCompilationUnit.getTypeDecls().get(0);
+            var jtMethodDecl = (JTMethodDecl) jtClassDecl.getMembers().get(memberCount - 1);
+            jtMethodDecl.getBody().getStatements().get(0).setActionChange();
+            final int warmUpIterations = 3;
+            for (int i = 0; i < warmUpIterations; ++i) {
+                assertFalse(serialize(jtCompilationUnit).isEmpty());
+            }
+            // The fastest run is taken to reduce the noise from the garbage collection.
+            final int iterations = 10;
+            long elapsedTime = Long.MAX_VALUE;
+            for (int i = 0; i < iterations; ++i) {
+                long startTime = System.nanoTime();
+                assertFalse(serialize(jtCompilationUnit).isEmpty());
+                elapsedTime = Math.min(elapsedTime, System.nanoTime() - startTime);
+            }
+            elapsedTimes[index] = Math.max(elapsedTime, 1L);
+            logger.info("{} members: {} us per serialization.", memberCount, elapsedTime / 1000L);
+        }
+        // The member count grows 8 times, so the serialization time grows about 8 times if it is linear
+        // and about 64 times if it is quadratic.
+        final double ratio = (double) elapsedTimes[memberCounts.length - 1] / elapsedTimes[0];
+        logger.info("Growth ratio from {} to {} members: {}.",
+                memberCounts[0], memberCounts[memberCounts.length - 1], ratio);
+        assertTrue(ratio < 20D, "The serialization time should grow linearly, but the ratio is " + ratio);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.jaspiler.visiters;
+
+import com.caoccao.jaspiler.BaseTestSuite;
+import com.caoccao.jaspiler.contexts.JaspilerTransformContext;
+import com.caoccao.jaspiler.exceptions.JaspilerCheckedException;
+import com.sun.source.tree.Tree;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJaspilerContractProcessor extends BaseTestSuite {
+    private final List<String> scripts = new ArrayList<>();
+
+    private String transformContract(String code) throws Exception {
+        var processor = new JaspilerContractProcessor(new JaspilerContractProcessor.IEvaluator() {
+            @Override
+            public boolean evaluateCondition(String script) {
+                scripts.add(script);
+                return Boolean.parseBoolean(script);
+            }
+
+            @Override
+            public String evaluateInstructionType(String script) {
+                scripts.add(script);
+                return script;
+            }
+        });
+        return transform(new ContractTransformScanner(processor), "A", code);
+    }
+
+    @Test
+    public void testChangeMethod() throws Exception {
+        String code = transformContract("""
+                public class A {
+                    @JaspilerContract.Change(condition = "true", instruction = "clear")
+                    int a() {
+                        return 1;
+                    }
+                    @JaspilerContract.Change(condition = "false", instruction = "clear")
+                    int b() {
+                        return 2;
+                    }
+                    @JaspilerContract.Change(instruction = "clear")
+                    void c() {
+                        System.out.println();
+                    }
+                    @JaspilerContract.Change(instruction = "clear")
+                    String d() {
+                        return "d";
+                    }
+                }
+                """);
+        assertTrue(code.contains("int a() {\n        return 0;\n    }"), code);
+        assertTrue(code.contains("return 2;"), code);
+        assertFalse(code.contains("System.out.println();"), code);
+        assertTrue(code.contains("String d() {\n        return null;\n    }"), code);
+        assertEquals(List.of("true", "clear", "false", "clear", "clear"), scripts);
+    }
+
+    @Test
+    public void testIgnore() throws Exception {
+        String code = transformContract("""
+                public class A {
+                    @JaspilerContract.Ignore
+                    int a;
+                    @JaspilerContract.Ignore(condition = "false")
+                    int b;
+                    @JaspilerContract.Ignore(condition = "true")
+                    void c() {
+                    }
+                    void d() {
+                        @JaspilerContract.Ignore
+                        int e = 1;
+                    }
+                    @JaspilerContract.Ignore
+                    class F {
+                    }
+                }
+                """);
+        assertFalse(code.contains("int a;"), code);
+        assertTrue(code.contains("int b;"), code);
+        assertFalse(code.contains("void c()"), code);
+        assertTrue(code.contains("void d()"), code);
+        assertFalse(code.contains("int e = 1;"), code);
+        assertFalse(code.contains("class F"), code);
+        assertTrue(StringUtils.isEmpty(transformContract("""
+                @JaspilerContract.Ignore
+                public class A {
+                }
+                """)));
+    }
+
+    private static final class ContractTransformScanner
+            extends BaseJaspilerTransformScanner<ContractTransformScanner> {
+        private final JaspilerContractProcessor processor;
+
+        private ContractTransformScanner(JaspilerContractProcessor processor) {
+            super();
+            this.processor = processor;
+        }
+
+        @Override
+        public ContractTransformScanner scan(Tree tree, JaspilerTransformContext jaspilerTransformContext) {
+            try {
+                processor.process(tree);
+            } catch (JaspilerCheckedException e) {
+                fail(e);
+            }
+            return super.scan(tree, jaspilerTransformContext);
+        }
+    }
+}